@@ -1,13 +1,27 @@
 package application;
 
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import db.DB;
+import db.SchemaMigrator;
 import gui.util.Alerts; 
+import gui.util.ViewRegistry;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import model.services.AsyncServices;
 
 /**
  * Classe principal do aplicativo ClinicaVet.
@@ -21,18 +35,133 @@ public class Main extends Application {
      */
     private static Scene mainScene;
 
+    /**
+     * Views carregadas (em memória) durante a inicialização: o menu principal e as telas
+     * acessíveis diretamente a partir dele.
+     */
+    private static final String[] STARTUP_VIEWS = {
+        "/gui/MainView.fxml",
+        "/gui/ClienteList.fxml",
+        "/gui/FuncionarioList.fxml",
+        "/gui/About.fxml",
+        "/gui/LoginCliente.fxml",
+        "/gui/LoginFuncionario.fxml",
+        "/gui/LoginVeterinario.fxml"
+    };
+
+    /**
+     * Classes da camada de serviço e de acesso a dados, carregadas durante a inicialização para que
+     * a primeira ação do usuário não pague o carregamento de classes.
+     */
+    private static final String[] STARTUP_CLASSES = {
+        "model.dao.DaoFactory",
+        "model.dao.impl.AnimalDaoJDBC",
+        "model.dao.impl.CachingClienteDao",
+        "model.dao.impl.CachingVeterinarioDao",
+        "model.dao.impl.ClienteDaoJDBC",
+        "model.dao.impl.ConsultaDaoJDBC",
+        "model.dao.impl.FuncionarioDaoJDBC",
+        "model.dao.impl.RelatorioDaoJDBC",
+        "model.dao.impl.VeterinarioDaoJDBC",
+        "model.services.AnimalService",
+        "model.services.ClienteService",
+        "model.services.ConsultaService",
+        "model.services.FuncionarioService",
+        "model.services.RelatorioService",
+        "model.services.VeterinarioService"
+    };
+
     /**
      * Método principal do ciclo de vida da aplicação JavaFX.
-     * Inicializa a interface gráfica carregando o arquivo FXML e configura a cena principal.
+     * <p>
+     * Exibe imediatamente uma tela de abertura e, em paralelo, lê o `db.properties`, abre o pool de
+     * conexões e prepara o esquema do banco, carrega os arquivos FXML das telas principais e as classes
+     * de serviço. Quando tudo termina, a tela principal é exibida e o tempo de cada fase é impresso no
+     * console. Se faltar alguma tabela ou índice no banco, a aplicação exibe o erro e é encerrada.
      *
      * @param primaryStage O estágio principal fornecido pelo JavaFX.
      */
     @Override
     public void start(Stage primaryStage) {
-        try {
-            // Carrega a MainView.fxml e associa o FXMLLoader
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/MainView.fxml"));
-            ScrollPane scrollPane = loader.load();
+        StartupTimings timings = new StartupTimings();
+        Stage splash = showSplash();
+
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService startup = Executors.newFixedThreadPool(3, runnable -> {
+            Thread thread = new Thread(runnable, "clinicavet-startup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<Void> database = CompletableFuture.runAsync(() -> {
+            if (timings.time("db.properties", DB::getBatchSize) && timings.time("pool", DB::getDataSource)) {
+                timings.time("schema", SchemaMigrator::bootstrap);
+            }
+        }, startup);
+        CompletableFuture<Void> views = CompletableFuture.runAsync(() -> timings.time("fxml", () -> {
+            for (String fxmlPath : STARTUP_VIEWS) {
+                ViewRegistry.warmUp(fxmlPath);
+            }
+        }), startup);
+        CompletableFuture<Void> classes = CompletableFuture.runAsync(() -> timings.time("classes", () -> {
+            for (String className : STARTUP_CLASSES) {
+                Class.forName(className, true, Main.class.getClassLoader());
+            }
+        }), startup);
+
+        CompletableFuture.allOf(database, views, classes).whenComplete((ignored, error) -> {
+            startup.shutdown();
+            Platform.runLater(() -> {
+                Exception schemaError = timings.failure("schema");
+                if (schemaError != null) {
+                    // Sem as tabelas e índices esperados a aplicação não deve operar: encerra logo na abertura
+                    splash.close();
+                    timings.print();
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Erro");
+                    alert.setHeaderText("Esquema do banco de dados inválido");
+                    alert.setContentText(schemaError.getMessage());
+                    alert.showAndWait();
+                    Platform.exit();
+                    return;
+                }
+                showMainView(primaryStage, timings);
+                splash.close();
+                timings.print();
+            });
+        });
+    }
+
+    /**
+     * Exibe a janela de abertura, mostrada enquanto a inicialização acontece em segundo plano.
+     *
+     * @return A janela de abertura, a ser fechada quando a tela principal for exibida.
+     */
+    private Stage showSplash() {
+        Label title = new Label("Clinica Vet");
+        title.setStyle("-fx-font-size: 20px; -fx-font-weight: bold;");
+        ProgressBar progress = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+        progress.setPrefWidth(220);
+
+        VBox box = new VBox(12, title, new Label("Carregando..."), progress);
+        box.setAlignment(Pos.CENTER);
+        box.setPadding(new Insets(24));
+
+        Stage splash = new Stage(StageStyle.UNDECORATED);
+        splash.setScene(new Scene(box));
+        splash.centerOnScreen();
+        splash.show();
+        return splash;
+    }
+
+    /**
+     * Carrega a MainView.fxml e exibe a janela principal.
+     *
+     * @param primaryStage O estágio principal fornecido pelo JavaFX.
+     * @param timings O registro das fases da inicialização.
+     */
+    private void showMainView(Stage primaryStage, StartupTimings timings) {
+        boolean loaded = timings.time("mainView", () -> {
+            ScrollPane scrollPane = ViewRegistry.load("/gui/MainView.fxml").getRoot();
 
             // Configura o ScrollPane para se ajustar corretamente
             scrollPane.setFitToHeight(true);
@@ -45,15 +174,24 @@ public class Main extends Application {
 
             // Exibe a janela principal
             primaryStage.show();
-        } catch (IOException e) {
-            // Tratamento de exceção para falhas de IO
-            Alerts.showAlert("IO Exception", "Erro ao carregar a interface", e.getMessage(), javafx.scene.control.Alert.AlertType.ERROR);
-        } catch (Exception e) {
-            // Tratamento de exceção genérica para outras falhas
-            Alerts.showAlert("Unexpected Exception", "Erro inesperado", e.getMessage(), javafx.scene.control.Alert.AlertType.ERROR);
+        });
+        if (!loaded) {
+            Alerts.showAlert("Erro", "Erro ao carregar a interface",
+                    "Não foi possível carregar a tela principal. Veja o console para detalhes.",
+                    Alert.AlertType.ERROR);
         }
     }
 
+    /**
+     * Método chamado pelo JavaFX ao encerrar a aplicação.
+     * Interrompe as tarefas em segundo plano e fecha o pool de conexões com o banco de dados.
+     */
+    @Override
+    public void stop() {
+        AsyncServices.shutdown();
+        DB.closeConnection();
+    }
+
     /**
      * Obtém a cena principal da aplicação.
      *
@@ -0,0 +1,80 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra a duração de cada fase da inicialização da aplicação e imprime um resumo ao final,
+ * permitindo acompanhar o tempo até a primeira tela interativa entre versões.
+ * <p>
+ * As fases podem ser executadas em paralelo; os métodos são seguros para uso por várias threads.
+ */
+final class StartupTimings {
+
+    /**
+     * Trabalho de uma fase da inicialização.
+     */
+    @FunctionalInterface
+    interface Phase {
+        void run() throws Exception;
+    }
+
+    private final long start = System.nanoTime();
+    private final List<String> entries = new ArrayList<>();
+    private final Map<String, Exception> failures = new HashMap<>();
+
+    /**
+     * Executa a fase e registra sua duração. Uma falha é registrada e impressa, mas não interrompe
+     * a inicialização: a funcionalidade afetada voltará a ser tentada quando for usada.
+     *
+     * @param name O nome da fase, exibido no resumo.
+     * @param phase O trabalho da fase.
+     * @return {@code true} se a fase terminou sem erro.
+     */
+    boolean time(String name, Phase phase) {
+        long phaseStart = System.nanoTime();
+        try {
+            phase.run();
+            record(name, phaseStart, null);
+            return true;
+        } catch (Exception e) {
+            record(name, phaseStart, e);
+            System.err.println("Falha na fase de inicialização '" + name + "': " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @param name O nome da fase.
+     * @return O erro que fez a fase falhar, ou {@code null} se ela não falhou (ou não foi executada).
+     */
+    synchronized Exception failure(String name) {
+        return failures.get(name);
+    }
+
+    /**
+     * Imprime o resumo das fases e o tempo total desde a criação deste objeto.
+     */
+    synchronized void print() {
+        StringBuilder sb = new StringBuilder("Inicialização concluída em ").append(millis(start)).append(" ms");
+        for (String entry : entries) {
+            sb.append("\n  ").append(entry);
+        }
+        System.out.println(sb);
+    }
+
+    private synchronized void record(String name, long phaseStart, Exception error) {
+        String entry = String.format("%-14s %6d ms  [%s]", name, millis(phaseStart), Thread.currentThread().getName());
+        entries.add(error == null ? entry : entry + "  FALHOU: " + error.getMessage());
+        if (error != null) {
+            failures.put(name, error);
+        }
+    }
+
+    private static long millis(long since) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
+    }
+}
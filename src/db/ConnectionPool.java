@@ -0,0 +1,530 @@
+package db;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * Pool limitado de conexões com o banco de dados.
+ * <p>
+ * Cada chamada a {@link #getConnection()} empresta uma conexão física do pool; ao chamar
+ * {@code close()} na conexão recebida ela é devolvida ao pool em vez de ser fechada.
+ * O pool mantém um número mínimo de conexões abertas, limita o número máximo de empréstimos
+ * simultâneos, valida cada conexão antes de entregá-la, descarta conexões ociosas há muito tempo
+ * e avisa quando uma conexão fica emprestada por mais tempo que o limite de vazamento.
+ * <p>
+ * Cada conexão física mantém também um {@link StatementCache}: chamadas a {@code prepareStatement}
+ * com o mesmo SQL reutilizam o statement já preparado naquela conexão. Os statements entregues são
+ * instrumentados por {@link InstrumentedStatement}, que registra suas execuções em {@link QueryMetrics}
+ * e no {@link SlowQueryLog}.
+ * <p>
+ * As configurações são lidas do arquivo {@code db.properties} com o prefixo {@code pool.}:
+ * {@code pool.minSize}, {@code pool.maxSize}, {@code pool.leaseTimeoutMs},
+ * {@code pool.idleTimeoutMs}, {@code pool.leakDetectionMs}, {@code pool.validationTimeoutSec}
+ * e {@code pool.statementCacheSize}.
+ */
+public class ConnectionPool implements DataSource {
+
+    /**
+     * Prefixo das propriedades de configuração do pool no arquivo {@code db.properties}.
+     */
+    public static final String PROPERTY_PREFIX = "pool.";
+
+    private final String url;
+    private final Properties driverProps;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long leaseTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long leakDetectionMs;
+    private final int validationTimeoutSec;
+    private final int statementCacheSize;
+
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> leased = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    private volatile boolean closed;
+
+    /**
+     * Cria o pool a partir das propriedades de conexão.
+     * As propriedades com o prefixo {@code pool.} configuram o pool; as demais são repassadas ao driver JDBC.
+     *
+     * @param props As propriedades carregadas do arquivo {@code db.properties}.
+     * @throws DbException Se a URL do banco não estiver configurada ou as conexões iniciais não puderem ser abertas.
+     */
+    public ConnectionPool(Properties props) {
+        this.url = props.getProperty("dburl");
+        if (url == null || url.isBlank()) {
+            throw new DbException("Propriedade 'dburl' não configurada.");
+        }
+
+        this.driverProps = new Properties();
+        for (String key : props.stringPropertyNames()) {
+            if (!key.startsWith(PROPERTY_PREFIX) && !key.startsWith(QueryMetrics.PROPERTY_PREFIX)
+                    && !key.startsWith(SlowQueryLog.PROPERTY_PREFIX)) {
+                driverProps.setProperty(key, props.getProperty(key));
+            }
+        }
+
+        this.minSize = intProperty(props, "minSize", 2);
+        this.maxSize = Math.max(1, intProperty(props, "maxSize", 10));
+        this.leaseTimeoutMs = intProperty(props, "leaseTimeoutMs", 5000);
+        this.idleTimeoutMs = intProperty(props, "idleTimeoutMs", 600000);
+        this.leakDetectionMs = intProperty(props, "leakDetectionMs", 60000);
+        this.validationTimeoutSec = intProperty(props, "validationTimeoutSec", 2);
+        this.statementCacheSize = intProperty(props, "statementCacheSize", 50);
+
+        if (minSize > maxSize) {
+            throw new DbException("pool.minSize não pode ser maior que pool.maxSize.");
+        }
+
+        this.permits = new Semaphore(maxSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            fillToMinimum();
+        } catch (SQLException e) {
+            housekeeper.shutdownNow();
+            throw new DbException("Erro ao abrir conexões iniciais do pool: " + e.getMessage(), e);
+        }
+
+        long period = Math.max(1000, Math.min(idleTimeoutMs, leakDetectionMs > 0 ? leakDetectionMs : idleTimeoutMs) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Empresta uma conexão do pool. A conexão deve ser fechada pelo chamador para ser devolvida.
+     *
+     * @return Uma conexão válida emprestada do pool.
+     * @throws SQLTimeoutException Se nenhuma conexão ficar disponível dentro de {@code pool.leaseTimeoutMs}.
+     * @throws SQLException Se o pool estiver fechado ou não for possível abrir uma nova conexão.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("O pool de conexões está fechado.");
+        }
+
+        try {
+            if (!permits.tryAcquire(leaseTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Tempo esgotado aguardando uma conexão livre do pool ("
+                        + leaseTimeoutMs + " ms, " + leased.size() + "/" + maxSize + " em uso).");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando uma conexão do pool.", e);
+        }
+
+        try {
+            PooledConnection pc = takeValidConnection();
+            pc.leasedAt = System.currentTimeMillis();
+            pc.leaseSite = leakDetectionMs > 0 ? new Throwable("Conexão emprestada por " + Thread.currentThread().getName()) : null;
+            pc.leakReported = false;
+            leased.add(pc);
+            leases.incrementAndGet();
+            return pc.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtém uma conexão ociosa validada ou, se não houver, abre uma nova conexão física.
+     */
+    private PooledConnection takeValidConnection() throws SQLException {
+        while (true) {
+            PooledConnection pc;
+            synchronized (idle) {
+                pc = idle.pollFirst();
+            }
+            if (pc == null) {
+                return openPhysical();
+            }
+            if (isValid(pc)) {
+                return pc;
+            }
+            discard(pc);
+        }
+    }
+
+    /**
+     * Devolve uma conexão ao pool, desfazendo transações pendentes e restaurando o auto-commit.
+     */
+    private void release(PooledConnection pc) {
+        if (!leased.remove(pc)) {
+            return;
+        }
+        try {
+            pc.statements.closeOutstanding();
+            boolean reusable = !closed && !pc.physical.isClosed();
+            if (reusable && !pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            if (reusable) {
+                pc.physical.clearWarnings();
+                pc.lastUsed = System.currentTimeMillis();
+                synchronized (idle) {
+                    if (idle.size() + leased.size() < maxSize) {
+                        idle.addFirst(pc);
+                        pc = null;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Descartando conexão após erro na devolução ao pool: " + e.getMessage());
+        } finally {
+            if (pc != null) {
+                discard(pc);
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Tarefa periódica: remove conexões ociosas expiradas, reabastece o mínimo e reporta vazamentos.
+     */
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            if (idleTimeoutMs > 0) {
+                synchronized (idle) {
+                    Iterator<PooledConnection> it = idle.descendingIterator();
+                    while (it.hasNext() && idle.size() + leased.size() > minSize) {
+                        PooledConnection pc = it.next();
+                        if (now - pc.lastUsed > idleTimeoutMs) {
+                            it.remove();
+                            discard(pc);
+                        }
+                    }
+                }
+            }
+
+            if (leakDetectionMs > 0) {
+                for (PooledConnection pc : leased) {
+                    if (!pc.leakReported && now - pc.leasedAt > leakDetectionMs) {
+                        pc.leakReported = true;
+                        System.err.println("Possível vazamento de conexão: emprestada há "
+                                + (now - pc.leasedAt) + " ms sem devolução.");
+                        if (pc.leaseSite != null) {
+                            pc.leaseSite.printStackTrace();
+                        }
+                    }
+                }
+            }
+
+            fillToMinimum();
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Erro na manutenção do pool de conexões: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Abre conexões ociosas até atingir o tamanho mínimo do pool.
+     */
+    private void fillToMinimum() throws SQLException {
+        while (!closed) {
+            synchronized (idle) {
+                if (idle.size() + leased.size() >= minSize) {
+                    return;
+                }
+            }
+            PooledConnection pc = openPhysical();
+            pc.lastUsed = System.currentTimeMillis();
+            synchronized (idle) {
+                idle.addLast(pc);
+            }
+        }
+    }
+
+    private PooledConnection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, driverProps);
+        created.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private boolean isValid(PooledConnection pc) {
+        try {
+            return pc.physical.isValid(validationTimeoutSec);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        discarded.incrementAndGet();
+        pc.statements.closeAll();
+        try {
+            pc.physical.close();
+        } catch (SQLException e) {
+            // A conexão já está inutilizável; nada a fazer.
+        }
+    }
+
+    /**
+     * Fecha o pool e todas as conexões ociosas. Conexões ainda emprestadas são fechadas quando devolvidas.
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        synchronized (idle) {
+            for (PooledConnection pc : idle) {
+                discard(pc);
+            }
+            idle.clear();
+        }
+    }
+
+    /**
+     * Indica se o pool já foi fechado.
+     *
+     * @return {@code true} se o pool estiver fechado.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return O número de conexões emprestadas no momento.
+     */
+    public int getActiveCount() {
+        return leased.size();
+    }
+
+    /**
+     * @return O número de conexões ociosas disponíveis no pool.
+     */
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /**
+     * @return O número máximo de conexões do pool.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return O total de conexões físicas abertas desde a criação do pool.
+     */
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    /**
+     * @return O total de conexões físicas descartadas (inválidas, expiradas ou com erro).
+     */
+    public long getDiscardedCount() {
+        return discarded.get();
+    }
+
+    /**
+     * @return O total de empréstimos realizados desde a criação do pool.
+     */
+    public long getLeaseCount() {
+        return leases.get();
+    }
+
+    /**
+     * @return O total de statements reutilizados do cache de statements.
+     */
+    public long getStatementCacheHits() {
+        return statementHits.get();
+    }
+
+    /**
+     * @return O total de statements que precisaram ser preparados por não estarem no cache.
+     */
+    public long getStatementCacheMisses() {
+        return statementMisses.get();
+    }
+
+    /**
+     * @return A proporção de acertos do cache de statements, entre 0 e 1.
+     */
+    public double getStatementCacheHitRatio() {
+        long hits = statementHits.get();
+        long total = hits + statementMisses.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPool [ativas=" + getActiveCount() + ", ociosas=" + getIdleCount() + ", max=" + maxSize
+                + ", criadas=" + created.get() + ", descartadas=" + discarded.get() + ", emprestimos=" + leases.get()
+                + ", statementHits=" + statementHits.get() + ", statementMisses=" + statementMisses.get() + "]";
+    }
+
+    private static int intProperty(Properties props, String name, int defaultValue) {
+        String value = props.getProperty(PROPERTY_PREFIX + name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new DbException("Valor inválido para " + PROPERTY_PREFIX + name + ": " + value);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("O pool utiliza as credenciais de db.properties.");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Não é um wrapper de " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Conexão física mantida pelo pool, com os metadados do empréstimo atual.
+     */
+    private final class PooledConnection {
+
+        private final Connection physical;
+        private final StatementCache statements;
+        private volatile long lastUsed;
+        private volatile long leasedAt;
+        private volatile Throwable leaseSite;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new StatementCache(physical, statementCacheSize, statementHits, statementMisses);
+        }
+
+        /**
+         * Cria a conexão entregue ao chamador. Fechá-la devolve a conexão física ao pool.
+         */
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Handle());
+        }
+
+        private final class Handle implements InvocationHandler {
+
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!returned) {
+                            returned = true;
+                            release(PooledConnection.this);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned || physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledConnection[" + physical + (returned ? ", devolvida" : "") + "]";
+                    default:
+                        break;
+                }
+                if (returned) {
+                    throw new SQLException("Conexão já devolvida ao pool.");
+                }
+                Object result = null;
+                if (method.getName().equals("prepareStatement")) {
+                    Class<?>[] types = method.getParameterTypes();
+                    if (types.length == 1) {
+                        result = statements.prepare((Connection) proxy, (String) args[0], Statement.NO_GENERATED_KEYS);
+                    } else if (types.length == 2 && types[1] == int.class) {
+                        result = statements.prepare((Connection) proxy, (String) args[0], (Integer) args[1]);
+                    }
+                }
+                if (result == null) {
+                    try {
+                        result = method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+                if (result instanceof Statement && (QueryMetrics.isEnabled() || SlowQueryLog.isEnabled()
+                        || QueryCancellation.current() != null)) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                    return InstrumentedStatement.wrap((Statement) result, sql);
+                }
+                return result;
+            }
+        }
+    }
+}
@@ -3,7 +3,6 @@ package db;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -11,41 +10,77 @@ import java.util.Properties;
 
 /**
  * Classe responsável pela conexão com o banco de dados.
- * Esta classe gerencia a abertura e o fechamento da conexão, além de fornecer métodos auxiliares
+ * Esta classe gerencia o pool de conexões da aplicação, além de fornecer métodos auxiliares
  * para o gerenciamento de objetos relacionados ao banco de dados, como `Statement` e `ResultSet`.
  */
 public class DB {
 
     /**
-     * Conexão com o banco de dados.
+     * Pool de conexões compartilhado pela aplicação.
      */
-	private static Connection conn = null;
+	private static ConnectionPool pool = null;
+
+    /**
+     * Tamanho padrão dos blocos de inserção em lote, usado quando `batch.size` não está configurado.
+     */
+	private static final int DEFAULT_BATCH_SIZE = 500;
+	
+    /**
+     * Tamanho dos blocos de inserção em lote, lido de `db.properties` na primeira utilização.
+     */
+	private static Integer batchSize = null;
+	
+    /**
+     * Obtém o pool de conexões com o banco de dados. Caso ainda não exista, cria um novo
+     * a partir das propriedades do arquivo `db.properties`.
+     * 
+     * @return O pool de conexões com o banco de dados.
+     * @throws DbException Se ocorrer um erro ao abrir as conexões iniciais.
+     */
+	public static synchronized ConnectionPool getDataSource() {
+		if (pool == null || pool.isClosed()) {
+			Properties props = loadProperties();
+			pool = new ConnectionPool(props);
+			QueryMetrics.start(props);
+			SlowQueryLog.start(props, pool);
+		}
+		return pool;
+	}
 	
     /**
-     * Obtém a conexão com o banco de dados. Caso não exista uma conexão aberta, cria uma nova.
+     * Empresta uma conexão do pool. A conexão deve ser fechada pelo chamador
+     * (por exemplo, com `closeConnection(Connection)`) para ser devolvida ao pool.
      * 
-     * @return A conexão com o banco de dados.
-     * @throws DbException Se ocorrer um erro ao abrir a conexão.
+     * @return Uma conexão emprestada do pool.
+     * @throws DbException Se ocorrer um erro ao obter a conexão.
      */
 	public static Connection getConnection() {
 	    try {
-	        if (conn == null || conn.isClosed()) {  // Verifica se a conexão está fechada
-	            Properties props = loadProperties();
-	            String url = props.getProperty("dburl");
-	            conn = DriverManager.getConnection(url, props);
-	        }
+	        return getDataSource().getConnection();
 	    } catch (SQLException e) {
 	        throw new DbException("Erro ao abrir conexão: " + e.getMessage());
 	    }
-	    return conn;
 	}
 	
     /**
-     * Fecha a conexão com o banco de dados, caso esteja aberta.
+     * Fecha o pool de conexões com o banco de dados, caso esteja aberto.
+     */
+	public static synchronized void closeConnection() {
+		if (pool != null) {
+			SlowQueryLog.stop();
+			pool.close();
+			pool = null;
+			QueryMetrics.stop();
+		}
+	}
+	
+    /**
+     * Devolve ao pool uma conexão obtida por `getConnection()`, se estiver aberta.
      * 
+     * @param conn A conexão a ser devolvida.
      * @throws DbException Se ocorrer um erro ao fechar a conexão.
      */
-	public static void closeConnection() {
+	public static void closeConnection(Connection conn) {
 		if (conn != null) {
 			try {
 				conn.close();
@@ -55,13 +90,52 @@ public class DB {
 		}
 	}
 	
+    /**
+     * Retorna o número máximo de registros enviados ao banco por `executeBatch` nas inserções em lote,
+     * configurado pela propriedade `batch.size` do arquivo `db.properties`.
+     * 
+     * @return O tamanho dos blocos de inserção em lote.
+     */
+	public static synchronized int getBatchSize() {
+		if (batchSize == null) {
+			String value = loadProperties().getProperty("batch.size");
+			try {
+				batchSize = value != null ? Math.max(1, Integer.parseInt(value.trim())) : DEFAULT_BATCH_SIZE;
+			} catch (NumberFormatException e) {
+				System.err.println("Valor inválido para batch.size: " + value + ". Usando " + DEFAULT_BATCH_SIZE + ".");
+				batchSize = DEFAULT_BATCH_SIZE;
+			}
+		}
+		return batchSize;
+	}
+	
+    /**
+     * Lê uma propriedade numérica do arquivo `db.properties`.
+     * 
+     * @param name O nome da propriedade.
+     * @param defaultValue O valor usado quando a propriedade não está configurada ou é inválida.
+     * @return O valor da propriedade.
+     */
+	public static int getIntProperty(String name, int defaultValue) {
+		String value = loadProperties().getProperty(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			System.err.println("Valor inválido para " + name + ": " + value + ". Usando " + defaultValue + ".");
+			return defaultValue;
+		}
+	}
+	
     /**
      * Carrega as propriedades de configuração do banco de dados a partir de um arquivo `db.properties`.
      * 
      * @return As propriedades carregadas do arquivo de configuração.
      * @throws DbException Se ocorrer um erro ao carregar as propriedades.
      */
-	private static Properties loadProperties() {
+	static Properties loadProperties() {
 		try (FileInputStream fs = new FileInputStream("db.properties")) {
 			Properties props = new Properties();
 			props.load(fs);
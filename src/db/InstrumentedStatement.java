@@ -0,0 +1,180 @@
+package db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Envolve um {@link Statement} para registrar em {@link QueryMetrics} a latência e o resultado de cada
+ * execução ({@code execute}, {@code executeQuery}, {@code executeUpdate}, {@code executeBatch} e variantes).
+ * <p>
+ * O tempo medido é o da chamada de execução. As linhas lidas de um {@link ResultSet} devolvido pelo
+ * statement são contadas conforme o chamador avança com {@code next()}; para comandos de alteração,
+ * conta-se o número de linhas afetadas.
+ * <p>
+ * Com o {@link SlowQueryLog} ativo, os parâmetros definidos em um {@link PreparedStatement} são guardados
+ * para que uma execução lenta possa ser registrada com eles.
+ * <p>
+ * Se a thread estiver associada a um {@link QueryCancellation.Token}, cada execução é registrada nele,
+ * para que possa ser cancelada com {@link Statement#cancel()} ou limitada pelo prazo do token.
+ */
+final class InstrumentedStatement implements InvocationHandler {
+
+    private final Statement target;
+    private final String sql;
+    private final Map<Integer, Object> params;
+    private QueryMetrics.Stats lastStats;
+
+    private InstrumentedStatement(Statement target, String sql) {
+        this.target = target;
+        this.sql = sql;
+        this.params = sql != null && SlowQueryLog.isEnabled() ? new HashMap<>() : null;
+    }
+
+    /**
+     * Cria o statement instrumentado, com a mesma interface JDBC do original.
+     *
+     * @param <S> O tipo do statement.
+     * @param target O statement original.
+     * @param sql O SQL preparado, ou {@code null} para um {@link Statement} simples, cujo SQL é
+     *            conhecido apenas na execução.
+     * @return O statement instrumentado.
+     */
+    @SuppressWarnings("unchecked")
+    static <S extends Statement> S wrap(S target, String sql) {
+        Class<?> iface = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (S) Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[] { iface },
+                new InstrumentedStatement(target, sql));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.startsWith("execute")) {
+            String executed = sql != null ? sql
+                    : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0]
+                    : "(lote de comandos)";
+            return execute(proxy, method, args, executed);
+        }
+        if (params != null) {
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                params.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                params.clear();
+            }
+        }
+        switch (name) {
+            case "getResultSet":
+                return wrapResultSet(proxy, (ResultSet) invokeTarget(method, args));
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "InstrumentedStatement[" + target + "]";
+            default:
+                return invokeTarget(method, args);
+        }
+    }
+
+    private Object execute(Object proxy, Method method, Object[] args, String executed) throws Throwable {
+        QueryCancellation.Token token = QueryCancellation.current();
+        if (token == null) {
+            return timedExecute(proxy, method, args, executed);
+        }
+        int previousTimeout = token.begin(target);
+        try {
+            return timedExecute(proxy, method, args, executed);
+        } finally {
+            token.end(target, previousTimeout);
+        }
+    }
+
+    private Object timedExecute(Object proxy, Method method, Object[] args, String executed) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invokeTarget(method, args);
+        } catch (Throwable e) {
+            long elapsed = System.nanoTime() - start;
+            if (QueryMetrics.isEnabled()) {
+                QueryMetrics.record(executed, elapsed, 0, true);
+            }
+            SlowQueryLog.recordIfSlow(executed, elapsed, params);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (QueryMetrics.isEnabled()) {
+            lastStats = QueryMetrics.record(executed, elapsed, affectedRows(result), false);
+        }
+        SlowQueryLog.recordIfSlow(executed, elapsed, params);
+        if (result instanceof ResultSet) {
+            return wrapResultSet(proxy, (ResultSet) result);
+        }
+        return result;
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).longValue();
+        }
+        long total = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                total += Math.max(0, count);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                total += Math.max(0, count);
+            }
+        }
+        return total;
+    }
+
+    private Object wrapResultSet(Object statementProxy, ResultSet rs) {
+        if (rs == null || lastStats == null) {
+            return rs;
+        }
+        QueryMetrics.Stats stats = lastStats;
+        return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getStatement":
+                        return statementProxy;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                Object result;
+                try {
+                    result = method.invoke(rs, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                    stats.addRows(1);
+                }
+                return result;
+            });
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
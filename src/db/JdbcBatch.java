@@ -0,0 +1,139 @@
+package db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import javax.sql.DataSource;
+
+/**
+ * Utilitário para inserções em lote via JDBC ({@code addBatch}/{@code executeBatch}).
+ * <p>
+ * Os registros são enviados ao banco em blocos de tamanho configurável, todos dentro de uma única
+ * transação: ou todos são inseridos, ou nenhum é. As chaves geradas são lidas ao final de cada bloco,
+ * mas só são atribuídas aos objetos (na mesma ordem da coleção) depois que todos os blocos forem gravados
+ * e a transação confirmada; se o lote falhar, nenhum objeto recebe ID.
+ * <p>
+ * Se a conexão obtida já estiver em uma transação ({@code autoCommit} desligado, como nos DAOs criados
+ * com uma {@link Connection} explícita), o lote participa dessa transação e o commit/rollback fica a
+ * cargo de quem a abriu; as chaves são atribuídas quando o último bloco termina sem erro.
+ */
+public final class JdbcBatch {
+
+    private JdbcBatch() {
+    }
+
+    /**
+     * Preenche os parâmetros do statement para um objeto do lote.
+     *
+     * @param <T> O tipo do objeto inserido.
+     */
+    @FunctionalInterface
+    public interface Binder<T> {
+
+        /**
+         * @param st O statement de inserção.
+         * @param obj O objeto cujos dados serão inseridos.
+         * @throws SQLException Se ocorrer um erro ao definir os parâmetros.
+         */
+        void bind(PreparedStatement st, T obj) throws SQLException;
+    }
+
+    /**
+     * Insere todos os objetos em lote, em uma única transação.
+     *
+     * @param <T> O tipo dos objetos inseridos.
+     * @param dataSource A fonte da conexão utilizada.
+     * @param sql O comando INSERT parametrizado.
+     * @param objs Os objetos a serem inseridos.
+     * @param batchSize O número máximo de registros enviados por {@code executeBatch}.
+     * @param binder Preenche os parâmetros do INSERT para cada objeto.
+     * @param keySetter Recebe cada objeto e a chave gerada para ele, após a confirmação (pode ser {@code null}).
+     * @return As chaves geradas, na mesma ordem dos objetos.
+     * @throws DbException Se ocorrer um erro na inserção; nesse caso a transação é desfeita.
+     */
+    public static <T> List<Integer> insertAll(DataSource dataSource, String sql, Collection<? extends T> objs,
+                                              int batchSize, Binder<? super T> binder,
+                                              BiConsumer<? super T, Integer> keySetter) {
+        List<Integer> keys = new ArrayList<>(objs.size());
+        if (objs.isEmpty()) {
+            return keys;
+        }
+        int chunk = Math.max(1, batchSize);
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean ownTransaction = conn.getAutoCommit();
+            if (ownTransaction) {
+                conn.setAutoCommit(false);
+            }
+            try {
+                insertAll(conn, sql, objs, chunk, binder, keys);
+                if (ownTransaction) {
+                    conn.commit();
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (ownTransaction) {
+                    conn.rollback();
+                }
+                throw e;
+            } finally {
+                if (ownTransaction) {
+                    conn.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro na inserção em lote: " + e.getMessage(), e);
+        }
+        if (keySetter != null) {
+            int i = 0;
+            for (T obj : objs) {
+                keySetter.accept(obj, keys.get(i++));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Executa os blocos de inserção na conexão informada, sem controlar a transação.
+     */
+    private static <T> void insertAll(Connection conn, String sql, Collection<? extends T> objs, int chunk,
+                                      Binder<? super T> binder, List<Integer> keys) throws SQLException {
+        try (PreparedStatement st = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            int pending = 0;
+            for (T obj : objs) {
+                binder.bind(st, obj);
+                st.addBatch();
+                if (++pending == chunk) {
+                    flush(st, pending, keys);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                flush(st, pending, keys);
+            }
+        }
+    }
+
+    /**
+     * Envia o bloco pendente e acumula as chaves geradas para os registros do bloco.
+     */
+    private static void flush(PreparedStatement st, int pending, List<Integer> keys) throws SQLException {
+        st.executeBatch();
+        int i = 0;
+        try (ResultSet rs = st.getGeneratedKeys()) {
+            while (rs.next() && i < pending) {
+                keys.add(rs.getInt(1));
+                i++;
+            }
+        }
+        if (i != pending) {
+            throw new SQLException("O banco retornou " + i + " chaves geradas para " + pending + " registros.");
+        }
+    }
+}
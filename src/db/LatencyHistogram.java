@@ -0,0 +1,95 @@
+package db;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências com precisão relativa fixa, no estilo do HdrHistogram.
+ * <p>
+ * Os valores são registrados em microssegundos. Até {@value #SUB_BUCKETS} µs cada valor tem seu próprio
+ * intervalo; acima disso, cada potência de dois é dividida em {@value #SUB_BUCKETS} intervalos iguais, o que
+ * mantém o erro de qualquer percentil abaixo de ~3% com um número fixo de contadores (cerca de 1.100),
+ * independentemente de quantos valores forem registrados. O registro é seguro entre threads e não usa locks.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Maior expoente representado: 2^40 µs, cerca de 12 dias. Valores maiores são registrados no último intervalo.
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Registra uma latência.
+     *
+     * @param nanos A latência em nanossegundos.
+     */
+    void record(long nanos) {
+        counts.incrementAndGet(indexOf(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos))));
+    }
+
+    /**
+     * Calcula um percentil das latências registradas.
+     *
+     * @param percentile O percentil desejado, entre 0 e 100.
+     * @return O maior valor do intervalo que contém o percentil, em microssegundos (0 se não houver registros).
+     */
+    long percentileMicros(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= target) {
+                return highestValueOf(i);
+            }
+        }
+        return highestValueOf(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Zera todos os contadores.
+     */
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (micros >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lowest = (long) (SUB_BUCKETS + sub) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
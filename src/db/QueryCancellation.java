@@ -0,0 +1,168 @@
+package db;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancelamento e prazo das operações de banco de dados executadas por uma tarefa.
+ * <p>
+ * Uma tarefa associa um {@link Token} à sua thread com {@link Token#bind()}. Enquanto a associação vale,
+ * os statements criados pelas conexões do pool naquela thread registram no token cada execução em
+ * andamento: {@link Token#cancel()} chama {@link Statement#cancel()} nos comandos em execução (o MySQL
+ * interrompe o comando no servidor) e faz as execuções seguintes falharem imediatamente. Se o token tiver
+ * prazo, cada execução recebe um {@link Statement#setQueryTimeout(int) query timeout} com o tempo restante.
+ */
+public final class QueryCancellation {
+
+    private QueryCancellation() {
+    }
+
+    private static final ThreadLocal<Token> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Cria um token sem prazo.
+     *
+     * @return O token.
+     */
+    public static Token newToken() {
+        return new Token(0);
+    }
+
+    /**
+     * Cria um token com prazo.
+     *
+     * @param timeout O tempo máximo das operações, contado a partir de agora; 0 para nenhum.
+     * @param unit A unidade de {@code timeout}.
+     * @return O token.
+     */
+    public static Token newToken(long timeout, TimeUnit unit) {
+        return new Token(timeout > 0 ? System.nanoTime() + unit.toNanos(timeout) : 0);
+    }
+
+    /**
+     * @return O token associado à thread atual, ou {@code null} se não houver.
+     */
+    static Token current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Associação de um token a uma thread, desfeita por {@link #close()}.
+     */
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Controle de cancelamento de uma tarefa. Pode ser cancelado de qualquer thread.
+     */
+    public static final class Token {
+
+        private final long deadlineNanos;
+        private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        private Token(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Associa o token à thread atual até o fechamento do {@link Scope} devolvido.
+         *
+         * @return A associação, a ser fechada ao final da tarefa.
+         */
+        public Scope bind() {
+            Token previous = CURRENT.get();
+            CURRENT.set(this);
+            return () -> {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            };
+        }
+
+        /**
+         * Cancela o token e os comandos em execução. Chamadas repetidas não têm efeito.
+         */
+        public void cancel() {
+            cancelled = true;
+            for (Statement st : running) {
+                cancel(st);
+            }
+        }
+
+        /**
+         * @return {@code true} se o token foi cancelado.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Registra o início de uma execução.
+         *
+         * @param st O statement que vai executar.
+         * @return O query timeout anterior do statement, a ser restaurado por {@link #end}, ou -1 se não foi alterado.
+         * @throws SQLException Se o token já foi cancelado ou o prazo terminou.
+         */
+        int begin(Statement st) throws SQLException {
+            if (cancelled) {
+                throw new SQLException("Operação cancelada.");
+            }
+            int previousTimeout = -1;
+            if (deadlineNanos != 0) {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new SQLTimeoutException("Tempo esgotado antes da execução do comando.");
+                }
+                previousTimeout = st.getQueryTimeout();
+                int seconds = (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L));
+                if (previousTimeout == 0 || seconds < previousTimeout) {
+                    st.setQueryTimeout(seconds);
+                } else {
+                    previousTimeout = -1;
+                }
+            }
+            running.add(st);
+            if (cancelled) {
+                // Cancelado entre a verificação e o registro
+                cancel(st);
+            }
+            return previousTimeout;
+        }
+
+        /**
+         * Registra o fim de uma execução iniciada por {@link #begin}.
+         *
+         * @param st O statement.
+         * @param previousTimeout O valor devolvido por {@link #begin}.
+         */
+        void end(Statement st, int previousTimeout) {
+            running.remove(st);
+            if (previousTimeout >= 0) {
+                try {
+                    // Os próximos comandos do mesmo statement não herdam o prazo desta tarefa
+                    st.setQueryTimeout(previousTimeout);
+                } catch (SQLException e) {
+                    // O statement será descartado ao ser fechado.
+                }
+            }
+        }
+
+        private static void cancel(Statement st) {
+            try {
+                st.cancel();
+            } catch (SQLException e) {
+                // O comando já terminou ou o statement foi fechado.
+            }
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package db;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Métricas de execução dos comandos SQL, agrupadas por "impressão digital" (fingerprint) do comando.
+ * <p>
+ * O fingerprint é o SQL normalizado: espaços colapsados, literais substituídos por {@code ?} e listas
+ * {@code IN (?, ?, ...)} reduzidas a {@code IN (?...)}, de modo que execuções do mesmo comando com
+ * parâmetros diferentes sejam somadas juntas. Para cada fingerprint são registrados o número de
+ * execuções, de erros e de linhas retornadas (ou afetadas) e um {@link LatencyHistogram} com a
+ * latência de execução, do qual saem os percentis p50, p95 e p99.
+ * <p>
+ * Os statements do pool são instrumentados por {@link InstrumentedStatement}. As métricas ficam
+ * disponíveis via JMX ({@link QueryMetricsMXBean}) e são impressas periodicamente no console.
+ * Configuração no arquivo {@code db.properties}: {@code metrics.enabled} (padrão {@code true}),
+ * {@code metrics.jmx} (padrão {@code true}) e {@code metrics.dumpIntervalSec} (padrão 300; 0 desativa).
+ */
+public final class QueryMetrics {
+
+    private QueryMetrics() {
+    }
+
+    /**
+     * Prefixo das propriedades de configuração das métricas no arquivo {@code db.properties}.
+     */
+    public static final String PROPERTY_PREFIX = "metrics.";
+
+    /**
+     * Limite de comandos distintos acompanhados; os excedentes são somados em {@link #OVERFLOW}.
+     */
+    private static final int MAX_FINGERPRINTS = 500;
+
+    private static final String OVERFLOW = "(outros comandos)";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    /**
+     * Fingerprints já calculados, por SQL original.
+     */
+    private static final Map<String, String> FINGERPRINTS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = true;
+    private static ScheduledExecutorService dumper;
+    private static ObjectName objectName;
+
+    /**
+     * Aplica a configuração das métricas, registra o MBean e inicia a impressão periódica.
+     * Chamado quando o pool de conexões é criado.
+     *
+     * @param props As propriedades carregadas do arquivo {@code db.properties}.
+     */
+    static synchronized void start(Properties props) {
+        enabled = !"false".equalsIgnoreCase(props.getProperty(PROPERTY_PREFIX + "enabled", "true").trim());
+        if (!enabled) {
+            return;
+        }
+        if (!"false".equalsIgnoreCase(props.getProperty(PROPERTY_PREFIX + "jmx", "true").trim())) {
+            registerMBean();
+        }
+        long interval;
+        try {
+            interval = Long.parseLong(props.getProperty(PROPERTY_PREFIX + "dumpIntervalSec", "300").trim());
+        } catch (NumberFormatException e) {
+            throw new DbException("Valor inválido para " + PROPERTY_PREFIX + "dumpIntervalSec: "
+                    + props.getProperty(PROPERTY_PREFIX + "dumpIntervalSec"));
+        }
+        if (interval > 0 && dumper == null) {
+            dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "db-metrics-dump");
+                t.setDaemon(true);
+                return t;
+            });
+            dumper.scheduleWithFixedDelay(QueryMetrics::dump, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Interrompe a impressão periódica, imprime o relatório final e remove o MBean.
+     * Chamado quando o pool de conexões é fechado.
+     */
+    static synchronized void stop() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+        dump();
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                // O MBean já foi removido; nada a fazer.
+            }
+            objectName = null;
+        }
+    }
+
+    /**
+     * @return {@code true} se os statements devem ser instrumentados.
+     */
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registra uma execução.
+     *
+     * @param sql O comando SQL executado.
+     * @param nanos A duração da execução.
+     * @param rows As linhas afetadas (as linhas lidas de um {@code ResultSet} são somadas por {@link Stats#addRows}).
+     * @param failed {@code true} se a execução terminou com erro.
+     * @return As métricas do comando, para a contagem posterior de linhas lidas.
+     */
+    static Stats record(String sql, long nanos, long rows, boolean failed) {
+        Stats stats = statsFor(sql);
+        stats.calls.incrementAndGet();
+        stats.totalNanos.addAndGet(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        stats.histogram.record(nanos);
+        if (rows > 0) {
+            stats.rows.addAndGet(rows);
+        }
+        if (failed) {
+            stats.errors.incrementAndGet();
+        }
+        return stats;
+    }
+
+    /**
+     * Calcula o fingerprint de um comando SQL.
+     *
+     * @param sql O comando SQL.
+     * @return O comando normalizado.
+     */
+    public static String fingerprint(String sql) {
+        if (sql == null) {
+            return "(sem SQL)";
+        }
+        String cached = FINGERPRINTS.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (?...)");
+        if (FINGERPRINTS.size() < MAX_FINGERPRINTS * 4) {
+            FINGERPRINTS.put(sql, normalized);
+        }
+        return normalized;
+    }
+
+    /**
+     * @return As métricas atuais de cada comando, ordenadas pelo tempo total gasto, do maior para o menor.
+     */
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> list = new ArrayList<>();
+        for (Map.Entry<String, Stats> entry : STATS.entrySet()) {
+            list.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        list.sort(Comparator.comparingLong(Snapshot::getTotalMicros).reversed());
+        return list;
+    }
+
+    /**
+     * Monta o relatório em texto, uma linha por comando.
+     *
+     * @param limit O número máximo de comandos listados (os de maior tempo total).
+     * @return As linhas do relatório.
+     */
+    public static List<String> report(int limit) {
+        List<String> lines = new ArrayList<>();
+        for (Snapshot s : snapshot()) {
+            if (lines.size() >= limit) {
+                break;
+            }
+            lines.add(s.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Descarta todas as métricas registradas.
+     */
+    public static void reset() {
+        STATS.clear();
+    }
+
+    private static Stats statsFor(String sql) {
+        String key = fingerprint(sql);
+        Stats stats = STATS.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        if (STATS.size() >= MAX_FINGERPRINTS) {
+            key = OVERFLOW;
+        }
+        return STATS.computeIfAbsent(key, k -> new Stats());
+    }
+
+    private static void dump() {
+        List<String> lines = report(20);
+        if (lines.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder("Métricas SQL (por tempo total):");
+        for (String line : lines) {
+            sb.append("\n  ").append(line);
+        }
+        System.out.println(sb);
+    }
+
+    private static void registerMBean() {
+        if (objectName != null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("clinicavet:type=QueryMetrics");
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new StandardMBean(new MXBeanImpl(), QueryMetricsMXBean.class, true), name);
+            }
+            objectName = name;
+        } catch (JMException e) {
+            System.err.println("Não foi possível registrar as métricas SQL no JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Métricas acumuladas de um comando.
+     */
+    static final class Stats {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        /**
+         * Soma linhas lidas de um {@code ResultSet} produzido por este comando.
+         */
+        void addRows(long count) {
+            rows.addAndGet(count);
+        }
+
+        private Snapshot snapshot(String fingerprint) {
+            return new Snapshot(fingerprint, calls.get(), errors.get(), rows.get(),
+                    TimeUnit.NANOSECONDS.toMicros(totalNanos.get()), TimeUnit.NANOSECONDS.toMicros(maxNanos.get()),
+                    histogram.percentileMicros(50), histogram.percentileMicros(95), histogram.percentileMicros(99));
+        }
+    }
+
+    /**
+     * Métricas de um comando em um instante. Os tempos estão em microssegundos.
+     */
+    public static final class Snapshot {
+
+        private final String fingerprint;
+        private final long calls;
+        private final long errors;
+        private final long rows;
+        private final long totalMicros;
+        private final long maxMicros;
+        private final long p50Micros;
+        private final long p95Micros;
+        private final long p99Micros;
+
+        private Snapshot(String fingerprint, long calls, long errors, long rows, long totalMicros, long maxMicros,
+                         long p50Micros, long p95Micros, long p99Micros) {
+            this.fingerprint = fingerprint;
+            this.calls = calls;
+            this.errors = errors;
+            this.rows = rows;
+            this.totalMicros = totalMicros;
+            this.maxMicros = maxMicros;
+            this.p50Micros = p50Micros;
+            this.p95Micros = p95Micros;
+            this.p99Micros = p99Micros;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getTotalMicros() {
+            return totalMicros;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        public long getP50Micros() {
+            return p50Micros;
+        }
+
+        public long getP95Micros() {
+            return p95Micros;
+        }
+
+        public long getP99Micros() {
+            return p99Micros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("calls=%d erros=%d linhas=%d total=%.1fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms | %s",
+                    calls, errors, rows, totalMicros / 1000.0, p50Micros / 1000.0, p95Micros / 1000.0,
+                    p99Micros / 1000.0, maxMicros / 1000.0, fingerprint);
+        }
+    }
+
+    private static final class MXBeanImpl implements QueryMetricsMXBean {
+
+        @Override
+        public long getTotalCalls() {
+            long total = 0;
+            for (Stats stats : STATS.values()) {
+                total += stats.calls.get();
+            }
+            return total;
+        }
+
+        @Override
+        public int getFingerprintCount() {
+            return STATS.size();
+        }
+
+        @Override
+        public String[] getReport() {
+            return report(Integer.MAX_VALUE).toArray(new String[0]);
+        }
+
+        @Override
+        public void reset() {
+            QueryMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package db;
+
+/**
+ * Interface de gerenciamento (JMX) das métricas de consultas SQL registradas por {@link QueryMetrics}.
+ * Publicada como {@code clinicavet:type=QueryMetrics} e visível, por exemplo, no JConsole ou no VisualVM.
+ */
+public interface QueryMetricsMXBean {
+
+    /**
+     * @return O total de comandos executados desde o início (ou desde o último {@link #reset()}).
+     */
+    long getTotalCalls();
+
+    /**
+     * @return O número de comandos SQL distintos (após a normalização) registrados.
+     */
+    int getFingerprintCount();
+
+    /**
+     * @return Uma linha por comando SQL, ordenadas pelo tempo total gasto, do maior para o menor.
+     */
+    String[] getReport();
+
+    /**
+     * Descarta todas as métricas registradas.
+     */
+    void reset();
+}
@@ -0,0 +1,452 @@
+package db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+/**
+ * Criação e verificação versionada do esquema do banco de dados.
+ * <p>
+ * Cada {@link Migration} tem um número de versão e uma lista de passos. As versões já aplicadas são
+ * registradas na tabela {@code schema_version}; {@link #migrate(DataSource)} aplica, em ordem, apenas
+ * as que faltam. Como o MySQL confirma implicitamente cada comando DDL, os passos são escritos para
+ * poder ser repetidos ({@code CREATE TABLE IF NOT EXISTS} e índices criados apenas se não houver um
+ * equivalente), de modo que uma migração interrompida pode simplesmente ser executada de novo.
+ * <p>
+ * {@link #verify(DataSource)} confere se todas as tabelas e índices esperados existem. Um índice
+ * existente satisfaz o esperado se começar pelas mesmas colunas, na mesma ordem, independentemente
+ * do nome dado a ele; um índice FULLTEXT precisa ter exatamente as mesmas colunas, em qualquer ordem.
+ * <p>
+ * Na inicialização, {@link #bootstrap()} aplica as migrações pendentes (se {@code schema.migrate}
+ * não for {@code false} no arquivo {@code db.properties}) e em seguida verifica o esquema.
+ */
+public final class SchemaMigrator {
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Nome do lock do MySQL que impede duas instâncias de migrar o esquema ao mesmo tempo.
+     */
+    private static final String LOCK_NAME = "clinicavet_schema";
+
+    private static final int LOCK_TIMEOUT_SEC = 30;
+
+    /**
+     * Um passo de uma migração, executado na conexão informada.
+     */
+    @FunctionalInterface
+    private interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Uma versão do esquema.
+     */
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final List<Step> steps;
+
+        private Migration(int version, String description, List<Step> steps) {
+            this.version = version;
+            this.description = description;
+            this.steps = steps;
+        }
+    }
+
+    /**
+     * Um índice esperado: a tabela e as colunas, na ordem em que devem aparecer no início do índice.
+     */
+    private static final class IndexDefinition {
+        private final String table;
+        private final String name;
+        private final List<String> columns;
+        private final boolean fulltext;
+
+        private IndexDefinition(String table, String name, String... columns) {
+            this(table, name, false, columns);
+        }
+
+        private IndexDefinition(String table, String name, boolean fulltext, String... columns) {
+            this.table = table;
+            this.name = name;
+            this.fulltext = fulltext;
+            this.columns = List.of(columns);
+        }
+
+        /**
+         * @return Um índice FULLTEXT, usado por {@code MATCH ... AGAINST} sobre exatamente estas colunas.
+         */
+        private static IndexDefinition fulltext(String table, String name, String... columns) {
+            return new IndexDefinition(table, name, true, columns);
+        }
+
+        /**
+         * @return O passo que cria o índice, caso ainda não exista um equivalente.
+         */
+        private Step create() {
+            return conn -> {
+                if (isSatisfiedBy(loadIndexes(conn, fulltext))) {
+                    return;
+                }
+                try (Statement st = conn.createStatement()) {
+                    st.execute("CREATE " + (fulltext ? "FULLTEXT " : "") + "INDEX " + name + " ON " + table + " (" + String.join(", ", columns) + ")");
+                }
+            };
+        }
+
+        private boolean isSatisfiedBy(Map<String, Map<String, List<String>>> indexes) {
+            Map<String, List<String>> tableIndexes = indexes.get(table);
+            if (tableIndexes == null) {
+                return false;
+            }
+            for (List<String> indexColumns : tableIndexes.values()) {
+                if (fulltext) {
+                    if (indexColumns.size() == columns.size() && indexColumns.containsAll(lower(columns))) {
+                        return true;
+                    }
+                } else if (indexColumns.size() >= columns.size()
+                        && indexColumns.subList(0, columns.size()).equals(lower(columns))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return (fulltext ? "FULLTEXT " : "") + table + " (" + String.join(", ", columns) + ")";
+        }
+    }
+
+    private static final List<String> TABLES = List.of(
+        "cliente", "veterinario", "funcionario", "animais", "consulta", "relatorio");
+
+    /**
+     * Índices para os filtros e ordenações usados pelos DAOs.
+     */
+    private static final List<IndexDefinition> INDEXES = List.of(
+        // Listagens por status, ordenadas por data e hora (findResumoByStatus, aprovação em lote)
+        new IndexDefinition("consulta", "idx_consulta_status_data", "status", "data", "hora"),
+        // Agenda e consultas pendentes de um veterinário
+        new IndexDefinition("consulta", "idx_consulta_veterinario_status", "veterinarioId", "status", "data", "hora"),
+        // Consultas de um cliente
+        new IndexDefinition("consulta", "idx_consulta_cliente_status", "clienteId", "status"),
+        new IndexDefinition("consulta", "idx_consulta_animal", "animal_id"),
+        new IndexDefinition("animais", "idx_animais_cliente", "cliente_id"),
+        new IndexDefinition("relatorio", "idx_relatorio_consulta", "consulta_id"),
+        new IndexDefinition("relatorio", "idx_relatorio_veterinario", "veterinario_id", "dataCriacao"),
+        // Login por nome e paginação ordenada por (nome, id); o InnoDB inclui o id em todo índice secundário
+        new IndexDefinition("cliente", "idx_cliente_nome", "nome"),
+        new IndexDefinition("cliente", "idx_cliente_cpf", "cpf"),
+        new IndexDefinition("veterinario", "idx_veterinario_email", "email"),
+        new IndexDefinition("veterinario", "idx_veterinario_cpf", "cpf"),
+        new IndexDefinition("veterinario", "idx_veterinario_nome", "nome"),
+        new IndexDefinition("funcionario", "idx_funcionario_email", "email")
+    );
+
+    /**
+     * Índices da agenda: ocupação dos horários de todos os veterinários em um intervalo de datas,
+     * lida pelo índice sem acessar as linhas da tabela.
+     */
+    private static final List<IndexDefinition> AGENDA_INDEXES = List.of(
+        new IndexDefinition("consulta", "idx_consulta_data_veterinario", "data", "veterinarioId", "hora", "status")
+    );
+
+    /**
+     * Índices de texto: busca por termos nos campos livres dos relatórios (sintomas, diagnósticos e
+     * recomendações), ordenada por relevância.
+     */
+    private static final List<IndexDefinition> TEXT_INDEXES = List.of(
+        IndexDefinition.fulltext("relatorio", "ft_relatorio_texto", "descricao", "diagnostico", "recomendacao")
+    );
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Tabelas iniciais", List.of(
+            sql("""
+                CREATE TABLE IF NOT EXISTS cliente (
+                    id INT NOT NULL AUTO_INCREMENT,
+                    nome VARCHAR(100) NOT NULL,
+                    email VARCHAR(100),
+                    telefone VARCHAR(20),
+                    senha VARCHAR(255),
+                    endereco VARCHAR(255),
+                    cpf VARCHAR(14),
+                    PRIMARY KEY (id)
+                ) ENGINE = InnoDB
+                """),
+            sql("""
+                CREATE TABLE IF NOT EXISTS veterinario (
+                    id INT NOT NULL AUTO_INCREMENT,
+                    nome VARCHAR(100) NOT NULL,
+                    cpf VARCHAR(14),
+                    email VARCHAR(100),
+                    telefone VARCHAR(20),
+                    senha VARCHAR(255),
+                    PRIMARY KEY (id)
+                ) ENGINE = InnoDB
+                """),
+            sql("""
+                CREATE TABLE IF NOT EXISTS funcionario (
+                    id INT NOT NULL AUTO_INCREMENT,
+                    name VARCHAR(100) NOT NULL,
+                    email VARCHAR(100),
+                    birthDate DATE,
+                    baseSalary DOUBLE,
+                    password VARCHAR(255),
+                    PRIMARY KEY (id)
+                ) ENGINE = InnoDB
+                """),
+            sql("""
+                CREATE TABLE IF NOT EXISTS animais (
+                    id INT NOT NULL AUTO_INCREMENT,
+                    nome VARCHAR(100) NOT NULL,
+                    idade INT,
+                    raca VARCHAR(60),
+                    especie VARCHAR(60),
+                    cliente_id INT,
+                    PRIMARY KEY (id),
+                    CONSTRAINT fk_animais_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id)
+                ) ENGINE = InnoDB
+                """),
+            sql("""
+                CREATE TABLE IF NOT EXISTS consulta (
+                    id INT NOT NULL AUTO_INCREMENT,
+                    data DATE,
+                    hora TIME,
+                    descricao VARCHAR(500),
+                    status VARCHAR(20),
+                    clienteId INT,
+                    veterinarioId INT,
+                    criadoPor VARCHAR(50),
+                    animal_id INT,
+                    PRIMARY KEY (id),
+                    CONSTRAINT fk_consulta_cliente FOREIGN KEY (clienteId) REFERENCES cliente (id),
+                    CONSTRAINT fk_consulta_veterinario FOREIGN KEY (veterinarioId) REFERENCES veterinario (id),
+                    CONSTRAINT fk_consulta_animal FOREIGN KEY (animal_id) REFERENCES animais (id)
+                ) ENGINE = InnoDB
+                """),
+            sql("""
+                CREATE TABLE IF NOT EXISTS relatorio (
+                    id INT NOT NULL AUTO_INCREMENT,
+                    consulta_id INT,
+                    veterinario_id INT,
+                    descricao TEXT,
+                    diagnostico TEXT,
+                    recomendacao TEXT,
+                    dataCriacao DATE,
+                    PRIMARY KEY (id),
+                    CONSTRAINT fk_relatorio_consulta FOREIGN KEY (consulta_id) REFERENCES consulta (id),
+                    CONSTRAINT fk_relatorio_veterinario FOREIGN KEY (veterinario_id) REFERENCES veterinario (id)
+                ) ENGINE = InnoDB
+                """))),
+        new Migration(2, "Índices das consultas mais frequentes", indexSteps(INDEXES)),
+        new Migration(3, "Índice da agenda de horários", indexSteps(AGENDA_INDEXES)),
+        new Migration(4, "Índice de texto dos relatórios", indexSteps(TEXT_INDEXES))
+    );
+
+    /**
+     * @return A versão do esquema esperada por esta versão da aplicação.
+     */
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    /**
+     * Prepara o esquema na inicialização da aplicação: aplica as migrações pendentes, a menos que
+     * {@code schema.migrate=false} esteja configurado, e verifica tabelas e índices.
+     *
+     * @throws DbException Se uma migração falhar ou se faltar alguma tabela ou índice.
+     */
+    public static void bootstrap() {
+        DataSource dataSource = DB.getDataSource();
+        if (!"false".equalsIgnoreCase(DB.loadProperties().getProperty("schema.migrate", "true").trim())) {
+            migrate(dataSource);
+        }
+        verify(dataSource);
+    }
+
+    /**
+     * Aplica as migrações ainda não registradas na tabela {@code schema_version}.
+     *
+     * @param dataSource A fonte da conexão utilizada.
+     * @return O número de migrações aplicadas.
+     * @throws DbException Se ocorrer um erro ao aplicar uma migração.
+     */
+    public static int migrate(DataSource dataSource) {
+        int applied = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            acquireLock(conn);
+            try {
+                try (Statement st = conn.createStatement()) {
+                    st.execute("""
+                        CREATE TABLE IF NOT EXISTS schema_version (
+                            version INT NOT NULL,
+                            description VARCHAR(200) NOT NULL,
+                            applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                            PRIMARY KEY (version)
+                        ) ENGINE = InnoDB
+                        """);
+                }
+                int current = currentVersion(conn);
+                for (Migration migration : MIGRATIONS) {
+                    if (migration.version <= current) {
+                        continue;
+                    }
+                    System.out.println("Aplicando migração " + migration.version + ": " + migration.description);
+                    for (Step step : migration.steps) {
+                        step.apply(conn);
+                    }
+                    try (PreparedStatement st = conn.prepareStatement(
+                            "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                        st.setInt(1, migration.version);
+                        st.setString(2, migration.description);
+                        st.executeUpdate();
+                    }
+                    applied++;
+                }
+            } finally {
+                releaseLock(conn);
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao migrar o esquema do banco de dados: " + e.getMessage(), e);
+        }
+        return applied;
+    }
+
+    /**
+     * Verifica se todas as tabelas e índices esperados existem.
+     *
+     * @param dataSource A fonte da conexão utilizada.
+     * @throws DbException Se faltar alguma tabela ou índice; a mensagem lista todos os que faltam.
+     */
+    public static void verify(DataSource dataSource) {
+        List<String> missing = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection()) {
+            Set<String> tables = loadTables(conn);
+            for (String table : TABLES) {
+                if (!tables.contains(table)) {
+                    missing.add("tabela " + table);
+                }
+            }
+            Map<String, Map<String, List<String>>> indexes = loadIndexes(conn, false);
+            Map<String, Map<String, List<String>>> fulltextIndexes = loadIndexes(conn, true);
+            List<IndexDefinition> expected = new ArrayList<>(INDEXES);
+            expected.addAll(AGENDA_INDEXES);
+            expected.addAll(TEXT_INDEXES);
+            for (IndexDefinition index : expected) {
+                if (!index.isSatisfiedBy(index.fulltext ? fulltextIndexes : indexes)) {
+                    missing.add("índice em " + index);
+                }
+            }
+            if (tables.contains("schema_version") && currentVersion(conn) < latestVersion()) {
+                System.err.println("O esquema do banco está na versão " + currentVersion(conn)
+                        + "; a aplicação espera a versão " + latestVersion() + ".");
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao verificar o esquema do banco de dados: " + e.getMessage(), e);
+        }
+        if (!missing.isEmpty()) {
+            throw new DbException("Esquema do banco de dados incompleto. Faltam: " + String.join("; ", missing));
+        }
+    }
+
+    private static Step sql(String ddl) {
+        return conn -> {
+            try (Statement st = conn.createStatement()) {
+                st.execute(ddl);
+            }
+        };
+    }
+
+    private static List<Step> indexSteps(List<IndexDefinition> indexes) {
+        List<Step> steps = new ArrayList<>(indexes.size());
+        for (IndexDefinition index : indexes) {
+            steps.add(index.create());
+        }
+        return steps;
+    }
+
+    private static int currentVersion(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * @return Os nomes (em minúsculas) das tabelas do banco atual.
+     */
+    private static Set<String> loadTables(Connection conn) throws SQLException {
+        Set<String> tables = new HashSet<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(
+                 "SELECT TABLE_NAME FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE()")) {
+            while (rs.next()) {
+                tables.add(rs.getString(1).toLowerCase(Locale.ROOT));
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * @param fulltext {@code true} para ler apenas os índices FULLTEXT; {@code false} para ler apenas os demais.
+     * @return Os índices do banco atual: tabela → nome do índice → colunas em ordem (tudo em minúsculas).
+     */
+    private static Map<String, Map<String, List<String>>> loadIndexes(Connection conn, boolean fulltext)
+            throws SQLException {
+        Map<String, Map<String, List<String>>> indexes = new HashMap<>();
+        String sql = "SELECT TABLE_NAME, INDEX_NAME, COLUMN_NAME FROM information_schema.STATISTICS "
+                   + "WHERE TABLE_SCHEMA = DATABASE() AND INDEX_TYPE " + (fulltext ? "=" : "<>") + " 'FULLTEXT' "
+                   + "ORDER BY TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX";
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                indexes.computeIfAbsent(rs.getString(1).toLowerCase(Locale.ROOT), t -> new HashMap<>())
+                    .computeIfAbsent(rs.getString(2), i -> new ArrayList<>())
+                    .add(rs.getString(3).toLowerCase(Locale.ROOT));
+            }
+        }
+        return indexes;
+    }
+
+    private static List<String> lower(List<String> values) {
+        List<String> result = new ArrayList<>(values.size());
+        for (String value : values) {
+            result.add(value.toLowerCase(Locale.ROOT));
+        }
+        return result;
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement st = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            st.setString(1, LOCK_NAME);
+            st.setInt(2, LOCK_TIMEOUT_SEC);
+            try (ResultSet rs = st.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Outra instância está migrando o esquema; tempo de espera esgotado.");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) throws SQLException {
+        try (PreparedStatement st = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            st.setString(1, LOCK_NAME);
+            st.executeQuery().close();
+        }
+    }
+}
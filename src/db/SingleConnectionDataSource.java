@@ -0,0 +1,114 @@
+package db;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * {@link DataSource} que sempre entrega a mesma conexão, já aberta por quem a criou.
+ * <p>
+ * Usada quando um DAO recebe uma {@link Connection} explícita (por exemplo, dentro de uma transação):
+ * o DAO continua obtendo e fechando conexões normalmente, mas o {@code close()} da conexão entregue
+ * não tem efeito, pois o ciclo de vida da conexão pertence a quem a forneceu.
+ */
+public class SingleConnectionDataSource implements DataSource {
+
+    private final Connection conn;
+
+    /**
+     * Cria a fonte de conexões a partir de uma conexão já aberta.
+     *
+     * @param conn A conexão a ser compartilhada.
+     */
+    public SingleConnectionDataSource(Connection conn) {
+        this.conn = conn;
+    }
+
+    /**
+     * Retorna a conexão compartilhada, protegida contra fechamento.
+     *
+     * @return A conexão compartilhada.
+     * @throws SQLException Se nenhuma conexão tiver sido fornecida.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (conn == null) {
+            throw new SQLException("Nenhuma conexão foi fornecida ao DAO.");
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            return null;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            try {
+                                return method.invoke(conn, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    /**
+     * Retorna a conexão original, sem a proteção contra fechamento.
+     *
+     * @return A conexão fornecida no construtor.
+     */
+    public Connection getTargetConnection() {
+        return conn;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Não é um wrapper de " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
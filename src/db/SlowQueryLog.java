@@ -0,0 +1,352 @@
+package db;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+/**
+ * Log de comandos lentos executados pelos DAOs ({@code model.dao.impl}).
+ * <p>
+ * Todo comando cuja execução ultrapassa {@code slowlog.thresholdMs} é registrado com o SQL, os
+ * parâmetros (valores de colunas de senha substituídos por {@code <redigido>}), o método do DAO que o
+ * executou e, se {@code slowlog.explain} estiver ativo, a saída do {@code EXPLAIN} do MySQL para o mesmo
+ * comando e parâmetros. O {@code EXPLAIN} e a escrita no arquivo são feitos em uma thread própria, com
+ * fila limitada: se ela encher, os registros excedentes são descartados em vez de atrasar os DAOs.
+ * Cada comando (pelo fingerprint de {@link QueryMetrics}) tem seu {@code EXPLAIN} capturado no máximo
+ * uma vez a cada {@value #EXPLAIN_INTERVAL_MIN} minutos.
+ * <p>
+ * O arquivo é rotacionado localmente por tamanho. Configuração no arquivo {@code db.properties}:
+ * {@code slowlog.thresholdMs} (padrão 500; 0 desativa), {@code slowlog.file} (padrão
+ * {@code logs/slow-queries.%g.log}), {@code slowlog.maxSizeKb} (padrão 1024), {@code slowlog.files}
+ * (padrão 5) e {@code slowlog.explain} (padrão {@code true}).
+ */
+final class SlowQueryLog {
+
+    private SlowQueryLog() {
+    }
+
+    /**
+     * Prefixo das propriedades de configuração do log no arquivo {@code db.properties}.
+     */
+    static final String PROPERTY_PREFIX = "slowlog.";
+
+    private static final String DAO_PACKAGE = "model.dao.impl.";
+
+    private static final int EXPLAIN_INTERVAL_MIN = 10;
+
+    private static final String REDACTED = "<redigido>";
+
+    private static final Pattern SENSITIVE_COLUMN = Pattern.compile("(?i)senha|password|passwd|pwd");
+    private static final Pattern COMPARED_COLUMN = Pattern.compile(
+            "(?i)([\\w.]+)\\s*(?:=|<>|!=|<=|>=|<|>|\\bLIKE)\\s*$");
+    private static final Pattern INSERT_COLUMNS = Pattern.compile(
+            "(?is)^\\s*INSERT\\s+INTO\\s+[\\w.]+\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\(");
+    private static final Pattern EXPLAINABLE = Pattern.compile("(?is)^\\s*(SELECT|INSERT|UPDATE|DELETE|REPLACE)\\b.*");
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private static volatile long thresholdNanos;
+    private static volatile boolean explain;
+    private static volatile DataSource dataSource;
+    private static ThreadPoolExecutor worker;
+    private static Logger logger;
+    private static FileHandler handler;
+
+    private static final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+
+    /**
+     * Aplica a configuração e abre o arquivo de log. Chamado quando o pool de conexões é criado.
+     *
+     * @param props As propriedades carregadas do arquivo {@code db.properties}.
+     * @param explainSource A fonte das conexões usadas para o {@code EXPLAIN}.
+     */
+    static synchronized void start(Properties props, DataSource explainSource) {
+        long thresholdMs = longProperty(props, "thresholdMs", 500);
+        if (thresholdMs <= 0) {
+            thresholdNanos = 0;
+            return;
+        }
+        explain = !"false".equalsIgnoreCase(props.getProperty(PROPERTY_PREFIX + "explain", "true").trim());
+        dataSource = explainSource;
+
+        if (logger == null) {
+            String pattern = props.getProperty(PROPERTY_PREFIX + "file", "logs/slow-queries.%g.log").trim();
+            try {
+                Path parent = Paths.get(pattern).toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                handler = new FileHandler(pattern, (int) Math.min(Integer.MAX_VALUE,
+                        longProperty(props, "maxSizeKb", 1024) * 1024), (int) Math.max(1, longProperty(props, "files", 5)), true);
+                handler.setEncoding("UTF-8");
+            } catch (IOException e) {
+                System.err.println("Não foi possível abrir o log de comandos lentos: " + e.getMessage());
+                return;
+            }
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return record.getMessage() + System.lineSeparator();
+                }
+            });
+            logger = Logger.getLogger("clinicavet.slowquery");
+            logger.setUseParentHandlers(false);
+            logger.addHandler(handler);
+        }
+        if (worker == null) {
+            worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100), r -> {
+                Thread t = new Thread(r, "db-slow-query-log");
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+        }
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    /**
+     * Conclui os registros pendentes e fecha o arquivo de log. Chamado quando o pool de conexões é fechado.
+     */
+    static synchronized void stop() {
+        thresholdNanos = 0;
+        if (worker != null) {
+            worker.shutdown();
+            try {
+                worker.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        dataSource = null;
+        if (handler != null) {
+            logger.removeHandler(handler);
+            handler.close();
+            handler = null;
+            logger = null;
+        }
+    }
+
+    /**
+     * @return {@code true} se o log está ativo (e, portanto, os parâmetros dos statements devem ser guardados).
+     */
+    static boolean isEnabled() {
+        return thresholdNanos > 0;
+    }
+
+    /**
+     * Registra o comando se sua execução foi lenta e se ele partiu de um DAO.
+     * Deve ser chamado na thread que executou o comando, para que o DAO chamador seja identificado.
+     *
+     * @param sql O comando executado.
+     * @param nanos A duração da execução.
+     * @param params Os parâmetros do comando, por posição (pode ser {@code null}); são copiados.
+     */
+    static void recordIfSlow(String sql, long nanos, Map<Integer, Object> params) {
+        long threshold = thresholdNanos;
+        if (threshold <= 0 || nanos < threshold) {
+            return;
+        }
+        String caller = findDaoCaller();
+        if (caller == null) {
+            return;
+        }
+        ThreadPoolExecutor executor = worker;
+        if (executor != null) {
+            String timestamp = LocalDateTime.now().format(TIMESTAMP);
+            SortedMap<Integer, Object> copy = params != null ? new TreeMap<>(params) : null;
+            executor.execute(() -> write(timestamp, sql, nanos, copy, caller));
+        }
+    }
+
+    /**
+     * @return O primeiro método de {@code model.dao.impl} na pilha da thread atual, ou {@code null}.
+     */
+    private static String findDaoCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(DAO_PACKAGE))
+                .findFirst()
+                .map(f -> f.getClassName().substring(DAO_PACKAGE.length()) + "." + f.getMethodName()
+                        + " (" + f.getFileName() + ":" + f.getLineNumber() + ")")
+                .orElse(null));
+    }
+
+    private static void write(String timestamp, String sql, long nanos, SortedMap<Integer, Object> params,
+                              String caller) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# ").append(timestamp).append(" | ").append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms | ")
+                .append(caller).append(System.lineSeparator());
+        sb.append("SQL: ").append(sql.trim().replaceAll("\\s+", " ")).append(System.lineSeparator());
+        if (params != null && !params.isEmpty()) {
+            sb.append("Parâmetros: ").append(describe(sql, params)).append(System.lineSeparator());
+        }
+        if (explain) {
+            sb.append(explain(sql, params));
+        }
+        Logger log = logger;
+        if (log != null) {
+            log.log(Level.INFO, sb.toString());
+        }
+    }
+
+    private static String describe(String sql, SortedMap<Integer, Object> params) {
+        List<String> columns = placeholderColumns(sql);
+        boolean mentionsSensitive = SENSITIVE_COLUMN.matcher(sql).find();
+        StringBuilder sb = new StringBuilder("[");
+        for (Map.Entry<Integer, Object> entry : params.entrySet()) {
+            int index = entry.getKey();
+            String column = index <= columns.size() ? columns.get(index - 1) : null;
+            boolean sensitive = column != null ? SENSITIVE_COLUMN.matcher(column).find() : mentionsSensitive;
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(index).append('=').append(sensitive ? REDACTED : format(entry.getValue()));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Identifica a coluna associada a cada {@code ?} do comando: a coluna da lista de um INSERT, ou a
+     * coluna comparada logo antes do parâmetro ({@code coluna = ?}). Posições não identificadas ficam
+     * {@code null} e são redigidas se o comando mencionar alguma coluna de senha.
+     */
+    private static List<String> placeholderColumns(String sql) {
+        List<String> columns = new ArrayList<>();
+        Matcher insert = INSERT_COLUMNS.matcher(sql);
+        List<String> insertColumns = new ArrayList<>();
+        int valuesStart = -1;
+        if (insert.find()) {
+            for (String column : insert.group(1).split(",")) {
+                insertColumns.add(column.trim());
+            }
+            valuesStart = insert.end();
+        }
+        boolean inString = false;
+        int insertIndex = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                inString = !inString;
+            } else if (c == '?' && !inString) {
+                String column = null;
+                if (valuesStart >= 0 && i >= valuesStart && insertIndex < insertColumns.size()) {
+                    column = insertColumns.get(insertIndex++);
+                } else {
+                    Matcher compared = COMPARED_COLUMN.matcher(sql.substring(Math.max(0, i - 80), i));
+                    if (compared.find()) {
+                        column = compared.group(1);
+                    }
+                }
+                columns.add(column);
+            }
+        }
+        return columns;
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof InputStream || value instanceof Reader || value instanceof Blob
+                || value instanceof Clob || value instanceof byte[]) {
+            return "<binário>";
+        }
+        if (value instanceof CharSequence) {
+            String text = value.toString();
+            return "'" + (text.length() > 200 ? text.substring(0, 200) + "..." : text) + "'";
+        }
+        return value.toString();
+    }
+
+    private static String explain(String sql, SortedMap<Integer, Object> params) {
+        if (!EXPLAINABLE.matcher(sql).matches()) {
+            return "";
+        }
+        String fingerprint = QueryMetrics.fingerprint(sql);
+        long now = System.currentTimeMillis();
+        Long previous = lastExplained.get(fingerprint);
+        if (previous != null && now - previous < TimeUnit.MINUTES.toMillis(EXPLAIN_INTERVAL_MIN)) {
+            return "EXPLAIN: (já capturado para este comando nos últimos " + EXPLAIN_INTERVAL_MIN + " minutos)"
+                    + System.lineSeparator();
+        }
+        DataSource ds = dataSource;
+        if (ds == null) {
+            return "";
+        }
+        if (params != null) {
+            for (Object value : params.values()) {
+                if (value instanceof InputStream || value instanceof Reader) {
+                    return "EXPLAIN: (não capturado: parâmetro em fluxo)" + System.lineSeparator();
+                }
+            }
+        }
+        lastExplained.put(fingerprint, now);
+
+        StringBuilder sb = new StringBuilder("EXPLAIN:").append(System.lineSeparator());
+        try (Connection conn = ds.getConnection();
+             PreparedStatement st = conn.prepareStatement("EXPLAIN " + sql)) {
+            if (params != null) {
+                for (Map.Entry<Integer, Object> entry : params.entrySet()) {
+                    st.setObject(entry.getKey(), entry.getValue());
+                }
+            }
+            try (ResultSet rs = st.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    sb.append(" ");
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        sb.append(' ').append(meta.getColumnLabel(i).toLowerCase(Locale.ROOT)).append('=')
+                                .append(rs.getString(i));
+                    }
+                    sb.append(System.lineSeparator());
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            sb.append("  (falha ao capturar: ").append(e.getMessage()).append(')').append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private static long longProperty(Properties props, String name, long defaultValue) {
+        String value = props.getProperty(PROPERTY_PREFIX + name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new DbException("Valor inválido para " + PROPERTY_PREFIX + name + ": " + value);
+        }
+    }
+}
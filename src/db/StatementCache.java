@@ -0,0 +1,281 @@
+package db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache LRU de {@link PreparedStatement} associado a uma única conexão física do pool.
+ * <p>
+ * O cache é indexado pelo texto SQL (e pela opção de chaves geradas). Ao fechar um statement
+ * obtido por meio do cache, ele não é fechado de fato: seus parâmetros são limpos e ele volta
+ * ao cache para ser reutilizado na próxima chamada com o mesmo SQL, evitando que o banco
+ * precise analisar e planejar o mesmo comando novamente.
+ * <p>
+ * O query timeout (usado pelos prazos de {@link QueryCancellation}) é restaurado ao valor original quando o
+ * statement volta ao cache, de modo que alterá-lo não impede a reutilização. As demais configurações que
+ * persistiriam para o próximo uso fazem o statement ser fechado em vez de voltar ao cache.
+ * <p>
+ * Statements ainda abertos quando a conexão é devolvida ao pool são fechados por {@link #closeOutstanding()}.
+ */
+class StatementCache {
+
+    private final Connection physical;
+    private final int maxSize;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    private final LinkedHashMap<Key, PreparedStatement> idle;
+    private final Set<PreparedStatement> inUse = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Cria o cache para uma conexão física.
+     *
+     * @param physical A conexão física dona dos statements.
+     * @param maxSize O número máximo de statements ociosos mantidos (0 desativa o cache).
+     * @param hits Contador compartilhado de acertos.
+     * @param misses Contador compartilhado de falhas.
+     */
+    StatementCache(Connection physical, int maxSize, AtomicLong hits, AtomicLong misses) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.idle = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtém um statement para o SQL informado, reutilizando um statement ocioso do cache quando possível.
+     *
+     * @param owner A conexão entregue ao chamador, retornada por {@code Statement.getConnection()}.
+     * @param sql O comando SQL.
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} ou {@link Statement#NO_GENERATED_KEYS}.
+     * @return O statement preparado.
+     * @throws SQLException Se ocorrer um erro ao preparar o statement.
+     */
+    PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        PreparedStatement physicalSt;
+        synchronized (idle) {
+            physicalSt = idle.remove(key);
+        }
+        if (physicalSt != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            physicalSt = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                    ? physical.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                    : physical.prepareStatement(sql);
+        }
+        inUse.add(physicalSt);
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new Handle(owner, key, physicalSt));
+    }
+
+    /**
+     * Devolve um statement ao cache após o uso, ou o fecha se não puder ser reutilizado.
+     *
+     * @param originalTimeout O query timeout anterior à primeira alteração pelo chamador, ou -1 se não foi alterado.
+     */
+    private void checkIn(Key key, PreparedStatement physicalSt, boolean reusable, int originalTimeout) {
+        if (!inUse.remove(physicalSt)) {
+            return;
+        }
+        if (!reusable || maxSize <= 0) {
+            closeQuietly(physicalSt);
+            return;
+        }
+        try {
+            ResultSet rs = physicalSt.getResultSet();
+            if (rs != null) {
+                rs.close();
+            }
+            physicalSt.clearParameters();
+            physicalSt.clearBatch();
+            physicalSt.clearWarnings();
+            if (originalTimeout >= 0) {
+                physicalSt.setQueryTimeout(originalTimeout);
+            }
+        } catch (SQLException e) {
+            closeQuietly(physicalSt);
+            return;
+        }
+        synchronized (idle) {
+            PreparedStatement previous = idle.put(key, physicalSt);
+            if (previous != null && previous != physicalSt) {
+                closeQuietly(previous);
+            }
+        }
+    }
+
+    /**
+     * Fecha os statements que o chamador não fechou antes de devolver a conexão ao pool.
+     */
+    void closeOutstanding() {
+        Iterator<PreparedStatement> it = inUse.iterator();
+        while (it.hasNext()) {
+            closeQuietly(it.next());
+            it.remove();
+        }
+    }
+
+    /**
+     * Fecha todos os statements, ociosos e em uso. Chamado quando a conexão física é descartada.
+     */
+    void closeAll() {
+        closeOutstanding();
+        List<PreparedStatement> toClose;
+        synchronized (idle) {
+            toClose = new ArrayList<>(idle.values());
+            idle.clear();
+        }
+        for (PreparedStatement st : toClose) {
+            closeQuietly(st);
+        }
+    }
+
+    /**
+     * @return O número de statements ociosos no cache.
+     */
+    int size() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    private static void closeQuietly(Statement st) {
+        try {
+            st.close();
+        } catch (SQLException e) {
+            // O statement já está inutilizável; nada a fazer.
+        }
+    }
+
+    /**
+     * Chave do cache: o texto SQL e a opção de retorno de chaves geradas.
+     */
+    private static final class Key {
+
+        private final String sql;
+        private final int autoGeneratedKeys;
+
+        private Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, autoGeneratedKeys);
+        }
+    }
+
+    /**
+     * Statement entregue ao chamador. Fechá-lo devolve o statement físico ao cache.
+     */
+    private final class Handle implements InvocationHandler {
+
+        private final Connection owner;
+        private final Key key;
+        private final PreparedStatement physicalSt;
+        private boolean closed;
+        private boolean reusable = true;
+        private int originalTimeout = -1;
+
+        private Handle(Connection owner, Key key, PreparedStatement physicalSt) {
+            this.owner = owner;
+            this.key = key;
+            this.physicalSt = physicalSt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        checkIn(key, physicalSt, reusable, originalTimeout);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physicalSt.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + key.sql + "]";
+                case "setQueryTimeout":
+                    // Restaurado na devolução ao cache
+                    if (!closed && originalTimeout < 0) {
+                        originalTimeout = physicalSt.getQueryTimeout();
+                    }
+                    break;
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setFetchSize":
+                case "setFetchDirection":
+                case "setMaxFieldSize":
+                case "setEscapeProcessing":
+                case "setPoolable":
+                case "closeOnCompletion":
+                case "setCursorName":
+                    // Configurações que persistiriam para o próximo uso: não reutiliza este statement.
+                    reusable = false;
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement já fechado.");
+            }
+            try {
+                return method.invoke(physicalSt, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+/**
+ * Executa uma operação de vários comandos como uma única transação.
+ * <p>
+ * O template empresta uma conexão do pool, desliga o autocommit e a entrega à operação, que a repassa aos
+ * DAOs participantes pelos seus construtores que recebem uma {@link Connection} (por exemplo,
+ * {@code DaoFactory.createClienteDao(conn)}). Ao final, a transação é confirmada; se a operação lançar
+ * qualquer exceção, ela é desfeita e a exceção é propagada ({@link SQLException} como {@link DbException}).
+ * <p>
+ * Se a conexão obtida já estiver em uma transação (autocommit desligado, como em uma
+ * {@link SingleConnectionDataSource} dentro de outro template), a operação participa dela e a confirmação
+ * fica a cargo de quem a iniciou.
+ *
+ * <pre>{@code
+ * new TransactionTemplate().run(conn -> {
+ *     DaoFactory.createAnimalDao(conn).deleteByClienteId(id);
+ *     DaoFactory.createClienteDao(conn).deleteById(id);
+ * });
+ * }</pre>
+ */
+public class TransactionTemplate {
+
+    /**
+     * Operação transacional que devolve um resultado.
+     *
+     * @param <T> O tipo do resultado.
+     */
+    @FunctionalInterface
+    public interface TransactionCallback<T> {
+
+        /**
+         * @param conn A conexão da transação. Não deve ser fechada nem ter o autocommit alterado.
+         * @return O resultado da operação.
+         * @throws SQLException Se ocorrer um erro no banco de dados.
+         */
+        T doInTransaction(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Operação transacional sem resultado.
+     */
+    @FunctionalInterface
+    public interface TransactionAction {
+
+        /**
+         * @param conn A conexão da transação. Não deve ser fechada nem ter o autocommit alterado.
+         * @throws SQLException Se ocorrer um erro no banco de dados.
+         */
+        void doInTransaction(Connection conn) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+
+    /**
+     * Cria o template sobre o pool de conexões da aplicação.
+     */
+    public TransactionTemplate() {
+        this(DB.getDataSource());
+    }
+
+    /**
+     * Cria o template sobre uma fonte de conexões.
+     *
+     * @param dataSource A fonte de conexões.
+     */
+    public TransactionTemplate(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Executa a operação, sem resultado, em uma transação.
+     *
+     * @param action A operação.
+     * @throws DbException Se ocorrer um erro no banco de dados; nesse caso nada é gravado.
+     */
+    public void run(TransactionAction action) {
+        execute(conn -> {
+            action.doInTransaction(conn);
+            return null;
+        });
+    }
+
+    /**
+     * Executa a operação em uma transação e devolve o seu resultado.
+     *
+     * @param <T> O tipo do resultado.
+     * @param callback A operação.
+     * @return O resultado da operação.
+     * @throws DbException Se ocorrer um erro no banco de dados; nesse caso nada é gravado.
+     */
+    public <T> T execute(TransactionCallback<T> callback) {
+        Connection conn = null;
+        boolean ownTransaction = false;
+        try {
+            conn = dataSource.getConnection();
+            ownTransaction = conn.getAutoCommit();
+            if (ownTransaction) {
+                conn.setAutoCommit(false);
+            }
+            T result = callback.doInTransaction(new SingleConnectionDataSource(conn).getConnection());
+            if (ownTransaction) {
+                conn.commit();
+            }
+            return result;
+        } catch (SQLException e) {
+            rollback(conn, ownTransaction, e);
+            throw new DbException("Erro na transação: " + e.getMessage(), e);
+        } catch (RuntimeException | Error e) {
+            rollback(conn, ownTransaction, e);
+            throw e;
+        } finally {
+            if (ownTransaction) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    // A conexão será descartada pelo pool caso esteja inutilizável.
+                }
+            }
+            DB.closeConnection(conn);
+        }
+    }
+
+    private static void rollback(Connection conn, boolean ownTransaction, Throwable cause) {
+        if (ownTransaction) {
+            try {
+                conn.rollback();
+            } catch (SQLException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package gui;
 
-import db.DB;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.VBox;
-import model.dao.impl.AnimalDaoJDBC;
+import model.dao.AnimalDao;
+import model.dao.DaoFactory;
 import model.entities.Animal;
 import model.services.AnimalService;
 
@@ -19,7 +19,7 @@ public class AnimalController {
     /**
      * Objeto responsável pela interação com o banco de dados para a entidade Animal.
      */
-    private AnimalDaoJDBC animalDao;
+    private AnimalDao animalDao;
 
     @FXML
     private TextField nomeField;
@@ -40,10 +40,10 @@ public class AnimalController {
     private AnimalService animalService;
 
     /**
-     * Construtor da classe. Inicializa o objeto `animalDao` com a conexão do banco de dados.
+     * Construtor da classe. Inicializa o objeto `animalDao` com o DAO de animais da fábrica de DAOs.
      */
     public AnimalController() {
-        this.animalDao = new AnimalDaoJDBC(DB.getConnection());
+        this.animalDao = DaoFactory.createAnimalDao();
     }
 
     /**
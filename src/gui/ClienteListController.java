@@ -5,20 +5,22 @@ import java.net.URL;
 import java.util.ResourceBundle;
 import java.util.function.Consumer;
 
-import application.Main;
+import gui.listeners.DataChangeEvent;
 import gui.listeners.DataChangeListener;
 import gui.util.Alerts;
+import gui.util.BackgroundTasks;
+import gui.util.IndexedObservableList;
 import gui.util.Utils;
+import gui.util.ViewRegistry;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.Pane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
@@ -39,6 +41,45 @@ public class ClienteListController implements Initializable, DataChangeListener
     @FXML
     private Button btNew; // Botão para criar um novo cliente
 
+    @FXML
+    private Button btLoadMore; // Botão para carregar a próxima página de clientes
+
+    @FXML
+    private TableView<Cliente> tableViewCliente;
+
+    @FXML
+    private TableColumn<Cliente, Integer> tableColumnId;
+
+    @FXML
+    private TableColumn<Cliente, String> tableColumnNome;
+
+    @FXML
+    private TableColumn<Cliente, String> tableColumnEmail;
+
+    @FXML
+    private TableColumn<Cliente, String> tableColumnTelefone;
+
+    /**
+     * Clientes exibidos, indexados pelo ID para que as alterações sejam aplicadas apenas na linha afetada.
+     */
+    private final IndexedObservableList<Cliente> clientes =
+            new IndexedObservableList<>(Cliente::getId, IndexedObservableList.orderByName(Cliente::getNome, Cliente::getId));
+
+    /**
+     * Indica se a primeira página já foi carregada.
+     */
+    private boolean carregado;
+
+    /**
+     * Carregamento em andamento, cancelado quando outro é iniciado.
+     */
+    private BackgroundTasks.Handle carregamento;
+
+    /**
+     * Quantidade de clientes carregados por página.
+     */
+    private static final int PAGE_SIZE = 50;
+
     /**
      * Método chamado quando o botão "Novo Cliente" é pressionado.
      * Este método cria uma nova instância de Cliente e abre a tela de cadastro.
@@ -69,15 +110,51 @@ public class ClienteListController implements Initializable, DataChangeListener
      */
     @Override
     public void initialize(URL url, ResourceBundle rb) {
-        // Implementação vazia, mas pode ser utilizada para inicializações necessárias
+        tableColumnId.setCellValueFactory(new PropertyValueFactory<>("id"));
+        tableColumnNome.setCellValueFactory(new PropertyValueFactory<>("nome"));
+        tableColumnEmail.setCellValueFactory(new PropertyValueFactory<>("email"));
+        tableColumnTelefone.setCellValueFactory(new PropertyValueFactory<>("telefone"));
+        tableViewCliente.setItems(clientes.getItems());
     }
 
     /**
-     * Atualiza a tabela de clientes na tela.
+     * Atualiza a tabela de clientes na tela, recarregando a partir da primeira página.
+     * As páginas seguintes são carregadas sob demanda pelo botão "Carregar mais".
      * Caso o serviço de clientes não esteja configurado, lança uma exceção.
      */
     public void updateTableView() {
         if (service == null) throw new IllegalStateException("Service was null");
+
+        if (carregamento != null) {
+            carregamento.cancel();
+        }
+        ClienteService clienteService = service;
+        btLoadMore.setDisable(true);
+        carregamento = BackgroundTasks.load(tableViewCliente, () -> clienteService.findPage(null, null, PAGE_SIZE), list -> {
+            clientes.setAll(list, list.size() < PAGE_SIZE);
+            carregado = true;
+            btLoadMore.setDisable(list.size() < PAGE_SIZE);
+        });
+    }
+
+    /**
+     * Método chamado quando o botão "Carregar mais" é pressionado.
+     * Busca a página seguinte ao último cliente exibido e a acrescenta à tabela.
+     */
+    @FXML
+    public void onBtLoadMoreAction() {
+        if (service == null) throw new IllegalStateException("Service was null");
+
+        if (!carregado) {
+            return;
+        }
+        Cliente ultimo = clientes.last();
+        ClienteService clienteService = service;
+        btLoadMore.setDisable(true);
+        carregamento = BackgroundTasks.load(tableViewCliente, () -> clienteService.findPage(ultimo, null, PAGE_SIZE), page -> {
+            clientes.addPage(page, page.size() < PAGE_SIZE);
+            btLoadMore.setDisable(page.size() < PAGE_SIZE);
+        });
     }
 
     /**
@@ -90,10 +167,10 @@ public class ClienteListController implements Initializable, DataChangeListener
      */
     private void createDialogForm(Cliente obj, String absoluteName, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(absoluteName));
-            Pane pane = loader.load();
+            ViewRegistry.View view = ViewRegistry.load(absoluteName);
+            Pane pane = view.getRoot();
 
-            ClienteRegistroController controller = loader.getController();
+            ClienteRegistroController controller = view.getController();
             controller.setCliente(obj);
             controller.setClienteService(new ClienteService());
             controller.subscribeDataChangeListener(this); // Notificação de alteração de dados
@@ -121,6 +198,23 @@ public class ClienteListController implements Initializable, DataChangeListener
         updateTableView();
     }
 
+    /**
+     * Método chamado quando um cliente é criado, editado ou removido.
+     * Aplica a alteração apenas na linha afetada, sem consultar novamente o banco de dados.
+     * 
+     * @param event A descrição da alteração.
+     * @see DataChangeListener#onDataChanged(DataChangeEvent)
+     */
+    @Override
+    public void onDataChanged(DataChangeEvent<?> event) {
+        DataChangeEvent<Cliente> alteracao = event.as(Cliente.class);
+        if (alteracao == null || !carregado) {
+            onDataChanged();
+            return;
+        }
+        clientes.apply(alteracao);
+    }
+
     /**
      * Método chamado quando o botão "Cancelar" é pressionado.
      * Fecha a tela de listagem de clientes e retorna à tela principal.
@@ -137,25 +231,8 @@ public class ClienteListController implements Initializable, DataChangeListener
      * @param initializingAction Ação para inicializar o controlador da nova view.
      * @param <T> Tipo do controlador da nova view.
      */
-    private synchronized <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Parent newView = loader.load();
-
-            Scene mainScene = Main.getMainScene();
-            ScrollPane mainScrollPane = (ScrollPane) mainScene.getRoot(); // Root principal da aplicação
-
-            // Substitui o conteúdo do ScrollPane pela nova view
-            mainScrollPane.setContent(newView);
-
-            // Inicializa o controlador da nova view
-            T controller = loader.getController();
-            initializingAction.accept(controller);
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            Alerts.showAlert("IO Exception", "Erro ao carregar a view", e.getMessage(), Alert.AlertType.ERROR);
-        }
+    private <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
+        ViewRegistry.show(fxmlPath, initializingAction);
     }
 }
 
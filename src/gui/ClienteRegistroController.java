@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.ResourceBundle;
 
 import db.DbException;
+import gui.listeners.DataChangeEvent;
 import gui.listeners.DataChangeListener;
 import gui.util.Alerts;
 import gui.util.Constraints;
@@ -120,8 +121,8 @@ public class ClienteRegistroController implements Initializable {
         }
         try {
             entity = getFormData();
-            service.registrarCliente(entity.getNome(), entity.getEmail(), entity.getTelefone(), entity.getSenha(), entity.getEndereco(), entity.getCpf());
-            notifyDataChangeListeners();
+            Cliente cliente = service.registrarCliente(entity.getNome(), entity.getEmail(), entity.getTelefone(), entity.getSenha(), entity.getEndereco(), entity.getCpf());
+            notifyDataChangeListeners(DataChangeEvent.inserted(Cliente.class, cliente.getId(), cliente));
             Utils.currentStage(event).close();
         } catch (ValidationException e) {
             setErrorMessages(e.getErrors());
@@ -132,9 +133,11 @@ public class ClienteRegistroController implements Initializable {
 
     /**
      * Notifica todos os ouvintes registrados sobre a alteração nos dados.
+     * 
+     * @param event A descrição da alteração.
      */
-    private void notifyDataChangeListeners() {
-        dataChangeListeners.forEach(DataChangeListener::onDataChanged);
+    private void notifyDataChangeListeners(DataChangeEvent<Cliente> event) {
+        dataChangeListeners.forEach(listener -> listener.onDataChanged(event));
     }
 
     /**
@@ -2,38 +2,42 @@ package gui;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import gui.util.Alerts;
+import gui.util.BackgroundTasks;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
-import model.entities.Consulta;
+import model.entities.ConsultaResumo;
+import model.entities.ResultadoTransicao;
 import model.services.ConsultaService;
 
 /**
  * Controlador para a tela de aprovação de consultas.
- * Permite ao usuário aprovar ou negar consultas requisitadas.
+ * Permite ao usuário aprovar ou negar consultas requisitadas, uma a uma ou várias de uma vez.
  */
 public class ConsultaAprovacaoController {
 
     @FXML
-    private TableView<Consulta> tableConsultas;
+    private TableView<ConsultaResumo> tableConsultas;
 
     @FXML
-    private TableColumn<Consulta, String> colCliente;
+    private TableColumn<ConsultaResumo, String> colCliente;
 
     @FXML
-    private TableColumn<Consulta, String> colAnimal;
+    private TableColumn<ConsultaResumo, String> colAnimal;
 
     @FXML
-    private TableColumn<Consulta, String> colDataSolicitacao;
+    private TableColumn<ConsultaResumo, String> colDataSolicitacao;
 
     @FXML
     private Button btnAceitar;
@@ -42,7 +46,6 @@ public class ConsultaAprovacaoController {
     private Button btnNegar;
 
     private ConsultaService consultaService;
-    private List<Consulta> consultasPendentes;
     private Integer clienteId;  // Variável para armazenar o ID do cliente
 
     /**
@@ -78,7 +81,10 @@ public class ConsultaAprovacaoController {
         // Configuração das colunas da tabela
         colCliente.setCellValueFactory(new PropertyValueFactory<>("clienteNome"));
         colAnimal.setCellValueFactory(new PropertyValueFactory<>("animalNome"));
-        colDataSolicitacao.setCellValueFactory(new PropertyValueFactory<>("dataSolicitacao"));
+        colDataSolicitacao.setCellValueFactory(new PropertyValueFactory<>("data"));
+
+        // Permite aprovar ou negar várias consultas de uma vez
+        tableConsultas.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
         // Carregar as consultas requisitadas
         carregarConsultasRequisitadas();
@@ -89,86 +95,127 @@ public class ConsultaAprovacaoController {
      * Caso ocorra um erro, exibe uma mensagem de alerta.
      */
     public void carregarConsultasRequisitadas() {
-        try {
-            // Recupera a lista de consultas requisitadas, garantindo que não seja null
-            List<Consulta> consultas = consultaService.buscarConsultasRequisitadas(); // Método alterado para buscar "Requisitadas"
-            
-            // Se a lista for null, inicializa com uma lista vazia
-            if (consultas == null) {
-                consultas = new ArrayList<>();
-            }
+        ConsultaService service = consultaService;
+        // Recupera em segundo plano apenas as colunas exibidas das consultas requisitadas
+        BackgroundTasks.load(tableConsultas, () -> service.buscarResumosPorStatus("Requisitada"), consultas -> {
+            // Converte a lista para ObservableList, tratando null como lista vazia
+            ObservableList<ConsultaResumo> consultasRequisitadas = consultas != null
+                ? FXCollections.observableArrayList(consultas)
+                : FXCollections.observableArrayList();
 
-            // Converte a lista para ObservableList
-            ObservableList<Consulta> consultasRequisitadas = FXCollections.observableArrayList(consultas);
-            
             // Atualiza a tabela com as consultas requisitadas
             tableConsultas.getItems().setAll(consultasRequisitadas);
-        } catch (Exception e) {
-            e.printStackTrace();
-            Alerts.showAlert("Erro", "Erro ao carregar consultas", e.getMessage(), Alert.AlertType.ERROR);
-        }
+        });
     }
 
     /**
-     * Aprova a consulta selecionada e altera seu status para "Pendente".
-     * Exibe uma mensagem de sucesso ou erro dependendo do resultado da operação.
+     * Aprova as consultas selecionadas, alterando seu status de "Requisitada" para "Pendente"
+     * com uma única atualização no banco de dados.
      * 
      * @param event O evento gerado pelo clique do botão.
      */
     @FXML
     public void onAprovarConsulta(ActionEvent event) {
-        Consulta consulta = tableConsultas.getSelectionModel().getSelectedItem();
+        List<ConsultaResumo> selecionadas = tableConsultas.getSelectionModel().getSelectedItems();
 
-        if (consulta == null) {
+        if (selecionadas.isEmpty()) {
             Alerts.showAlert("Erro", "Selecione uma consulta", "Você precisa selecionar uma consulta para aprovar.", Alert.AlertType.ERROR);
             return;
         }
+        aprovar(selecionadas);
+    }
 
-        try {
-            // Verifica se a consulta tem o status "Requisitada"
-            if ("Requisitada".equals(consulta.getStatus())) {
-                consulta.setStatus("Pendente"); // Alterando o status para "Pendente"
-                consultaService.aceitarConsulta(consulta); // Atualiza a consulta no banco de dados
-                carregarConsultasRequisitadas(); // Atualiza a tabela com as novas consultas pendentes
-                Alerts.showAlert("Sucesso", "Consulta aprovada", "A consulta foi aprovada com sucesso.", Alert.AlertType.INFORMATION);
-            } else {
-                Alerts.showAlert("Erro", "Status inválido", "A consulta não está no status 'Requisitada'.", Alert.AlertType.ERROR);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            Alerts.showAlert("Erro", "Erro ao aprovar consulta", e.getMessage(), Alert.AlertType.ERROR);
+    /**
+     * Aprova todas as consultas requisitadas exibidas na tabela de uma só vez.
+     * 
+     * @param event O evento gerado pelo clique do botão.
+     */
+    @FXML
+    public void onAprovarTodas(ActionEvent event) {
+        if (tableConsultas.getItems().isEmpty()) {
+            Alerts.showAlert("Erro", "Nenhuma consulta", "Não há consultas requisitadas para aprovar.", Alert.AlertType.ERROR);
+            return;
         }
+        aprovar(tableConsultas.getItems());
     }
 
     /**
-     * Nega a consulta selecionada e altera seu status para "Negada".
-     * Exibe uma mensagem de sucesso ou erro dependendo do resultado da operação.
+     * Nega as consultas selecionadas, alterando seu status de "Requisitada" para "Negada"
+     * com uma única atualização no banco de dados.
      * 
      * @param event O evento gerado pelo clique do botão.
      */
     @FXML
     public void onNegarConsulta(ActionEvent event) {
-        Consulta consulta = tableConsultas.getSelectionModel().getSelectedItem();
+        List<ConsultaResumo> selecionadas = tableConsultas.getSelectionModel().getSelectedItems();
 
-        if (consulta == null) {
+        if (selecionadas.isEmpty()) {
             Alerts.showAlert("Erro", "Selecione uma consulta", "Você precisa selecionar uma consulta para negar.", Alert.AlertType.ERROR);
             return;
         }
 
-        try {
-            // Verifica se a consulta está no status "Requisitada"
-            if ("Requisitada".equals(consulta.getStatus())) {
-                consulta.setStatus("Negada"); // Alterando o status para "Negada"
-                consultaService.negarConsulta(consulta); // Chama o serviço para negar a consulta
-                carregarConsultasRequisitadas(); // Atualiza a tabela com as novas consultas pendentes
-                Alerts.showAlert("Sucesso", "Consulta negada", "A consulta foi negada com sucesso.", Alert.AlertType.INFORMATION);
-            } else {
-                Alerts.showAlert("Erro", "Status inválido", "A consulta não está no status 'Requisitada'.", Alert.AlertType.ERROR);
-            }
-        } catch (Exception e) {
+        List<Integer> ids = ids(selecionadas);
+        ConsultaService service = consultaService;
+        BackgroundTasks.submit(() -> service.negarConsultas(ids), resultados -> {
+            carregarConsultasRequisitadas(); // Atualiza a tabela com as consultas ainda requisitadas
+            Alerts.showAlert("Sucesso", "Consultas negadas", resumoResultados(resultados, "negada(s)"), Alert.AlertType.INFORMATION);
+        }, e -> {
             e.printStackTrace();
             Alerts.showAlert("Erro", "Erro ao negar consulta", e.getMessage(), Alert.AlertType.ERROR);
+        });
+    }
+
+    /**
+     * Aprova as consultas informadas e exibe o resultado.
+     * 
+     * @param consultas As consultas a serem aprovadas.
+     */
+    private void aprovar(List<ConsultaResumo> consultas) {
+        List<Integer> ids = ids(consultas);
+        ConsultaService service = consultaService;
+        BackgroundTasks.submit(() -> service.aprovarConsultas(ids), resultados -> {
+            carregarConsultasRequisitadas(); // Atualiza a tabela com as consultas ainda requisitadas
+            Alerts.showAlert("Sucesso", "Consultas aprovadas", resumoResultados(resultados, "aprovada(s)"), Alert.AlertType.INFORMATION);
+        }, e -> {
+            e.printStackTrace();
+            Alerts.showAlert("Erro", "Erro ao aprovar consulta", e.getMessage(), Alert.AlertType.ERROR);
+        });
+    }
+
+    /**
+     * @param consultas As consultas exibidas na tabela.
+     * @return Os IDs das consultas, na mesma ordem.
+     */
+    private static List<Integer> ids(List<ConsultaResumo> consultas) {
+        List<Integer> ids = new ArrayList<>(consultas.size());
+        for (ConsultaResumo consulta : consultas) {
+            ids.add(consulta.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Monta a mensagem com o resultado de uma atualização em lote.
+     * 
+     * @param resultados O resultado de cada consulta.
+     * @param acao O texto da ação realizada (ex: "aprovada(s)").
+     * @return A mensagem a ser exibida.
+     */
+    private static String resumoResultados(Map<Integer, ResultadoTransicao> resultados, String acao) {
+        int atualizadas = 0;
+        List<Integer> ignoradas = new ArrayList<>();
+        for (Map.Entry<Integer, ResultadoTransicao> entry : resultados.entrySet()) {
+            if (entry.getValue() == ResultadoTransicao.ATUALIZADA) {
+                atualizadas++;
+            } else {
+                ignoradas.add(entry.getKey());
+            }
+        }
+        String mensagem = atualizadas + " consulta(s) " + acao + ".";
+        if (!ignoradas.isEmpty()) {
+            mensagem += "\n" + ignoradas.size() + " consulta(s) não estavam mais como 'Requisitada' e foram ignoradas: " + ignoradas;
         }
+        return mensagem;
     }
 
     /**
@@ -1,27 +1,38 @@
 package gui;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 import gui.util.Alerts;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import model.entities.Animal;
 import model.entities.Cliente;
 import model.entities.Consulta;
 import model.entities.Veterinario;
+import model.exceptions.HorarioIndisponivelException;
 import model.services.AnimalService;
 import model.services.ClienteService;
 import model.services.ConsultaService;
+import model.services.DisponibilidadeService;
 import model.services.VeterinarioService;
 
 /**
@@ -31,6 +42,14 @@ import model.services.VeterinarioService;
  */
 public class ConsultaRegistroController {
 
+    /**
+     * Número máximo de clientes sugeridos pela busca.
+     */
+    private static final int LIMITE_BUSCA_CLIENTE = 20;
+
+    @FXML
+    private TextField txtBuscaCliente;
+
     @FXML
     private ComboBox<Cliente> comboBoxCliente;
 
@@ -49,6 +68,9 @@ public class ConsultaRegistroController {
     @FXML
     private TextArea textAreaDescricao;
 
+    @FXML
+    private Button btnSalvar;
+
     private ConsultaService consultaService;
     private ClienteService clienteService;
     private VeterinarioService veterinarioService;
@@ -56,6 +78,28 @@ public class ConsultaRegistroController {
 
     private String criadoPor;
 
+    /**
+     * Carregamento dos animais em andamento, cancelado quando outro cliente é selecionado.
+     */
+    private CompletableFuture<Cliente> carregamentoAnimais;
+
+    /**
+     * Aguarda uma pausa na digitação antes de buscar os clientes.
+     */
+    private final PauseTransition esperaDigitacao = new PauseTransition(Duration.millis(250));
+
+    /**
+     * Busca de clientes em andamento no banco de dados, cancelada quando o texto muda.
+     */
+    private CompletableFuture<List<Cliente>> buscaClientes;
+
+    /**
+     * Busca de horários livres em andamento, cancelada quando o veterinário ou a data mudam.
+     */
+    private CompletableFuture<List<LocalDateTime>> buscaHorarios;
+
+    private final DisponibilidadeService disponibilidadeService = new DisponibilidadeService();
+
     /**
      * Define o serviço de consultas.
      *
@@ -143,15 +187,80 @@ public class ConsultaRegistroController {
             animalService = new AnimalService();
         }
 
-        // Carregar os clientes e veterinários nos ComboBoxes
-        List<Cliente> clientes = clienteService.findAll();
-        comboBoxCliente.setItems(FXCollections.observableArrayList(clientes));
+        // Carregar os veterinários; os clientes são buscados pelo nome, conforme o usuário digita
+        veterinarioService.findAllAsync().whenComplete((veterinarios, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                Alerts.showAlert("Erro", "Erro ao carregar dados", mensagem(error), AlertType.ERROR);
+                return;
+            }
+            comboBoxVeterinario.setItems(FXCollections.observableArrayList(veterinarios));
+        }));
 
-        List<Veterinario> veterinarios = veterinarioService.findAll();
-        comboBoxVeterinario.setItems(FXCollections.observableArrayList(veterinarios));
+        // Carregar em segundo plano o índice de nomes, para que as próximas buscas não acessem o banco
+        clienteService.aquecerIndiceBusca();
+        esperaDigitacao.setOnFinished(event -> buscarClientes(txtBuscaCliente.getText()));
+        txtBuscaCliente.textProperty().addListener((obs, antigo, novo) -> esperaDigitacao.playFromStart());
 
         // Carregar os animais do cliente selecionado na ComboBox de Animal
         comboBoxCliente.setOnAction(event -> carregarAnimaisDoCliente());
+
+        // Sugerir os horários livres do veterinário na data escolhida
+        comboBoxVeterinario.setOnAction(event -> sugerirHorariosLivres());
+        datePickerData.setOnAction(event -> sugerirHorariosLivres());
+    }
+
+    /**
+     * Busca os clientes pelo nome digitado e os exibe na ComboBox de cliente.
+     * Com o índice em memória carregado, os resultados locais são exibidos de imediato; quando eles não
+     * preenchem a lista (ou o índice ainda não foi carregado), a busca é completada no banco em segundo plano.
+     * 
+     * @param termo o texto digitado
+     */
+    private void buscarClientes(String termo) {
+        if (buscaClientes != null) {
+            buscaClientes.cancel(true);  // Descarta a busca do texto anterior
+            buscaClientes = null;
+        }
+        if (termo == null || termo.isBlank()) {
+            comboBoxCliente.hide();
+            return;
+        }
+        if (ClienteService.isIndiceCarregado()) {
+            List<Cliente> locais = clienteService.buscarNoIndice(termo, LIMITE_BUSCA_CLIENTE);
+            exibirClientes(locais);
+            if (locais.size() >= LIMITE_BUSCA_CLIENTE) {
+                return;
+            }
+        }
+        CompletableFuture<List<Cliente>> busca = clienteService.buscarPorNomeAsync(termo, LIMITE_BUSCA_CLIENTE);
+        buscaClientes = busca;
+        busca.whenComplete((clientes, error) -> Platform.runLater(() -> {
+            if (busca != buscaClientes || busca.isCancelled()) {
+                return;
+            }
+            buscaClientes = null;
+            if (error != null) {
+                Alerts.showAlert("Erro", "Erro ao buscar clientes", mensagem(error), AlertType.ERROR);
+                return;
+            }
+            exibirClientes(clientes);
+        }));
+    }
+
+    /**
+     * Exibe os clientes encontrados na ComboBox, mantendo o cliente já selecionado.
+     * 
+     * @param clientes os clientes encontrados
+     */
+    private void exibirClientes(List<Cliente> clientes) {
+        Cliente selecionado = comboBoxCliente.getValue();
+        comboBoxCliente.setItems(FXCollections.observableArrayList(clientes));
+        if (selecionado != null && clientes.contains(selecionado)) {
+            comboBoxCliente.setValue(selecionado);
+        }
+        if (!clientes.isEmpty()) {
+            comboBoxCliente.show();
+        }
     }
 
     /**
@@ -161,61 +270,136 @@ public class ConsultaRegistroController {
      */
     private void carregarAnimaisDoCliente() {
         Cliente cliente = comboBoxCliente.getValue();
+        if (carregamentoAnimais != null) {
+            carregamentoAnimais.cancel(true);  // Descarta a busca do cliente selecionado antes
+        }
         if (cliente != null) {
             Integer clienteId = cliente.getId();
-            List<Animal> animais = animalService.findByClienteId(clienteId);
-            comboBoxAnimal.setItems(FXCollections.observableArrayList(animais));
+            // O cliente é lido com os animais e fica em cache, então selecioná-lo de novo não acessa o banco
+            CompletableFuture<Cliente> carregamento = clienteService.findByIdAsync(clienteId);
+            carregamentoAnimais = carregamento;
+            carregamento.whenComplete((comAnimais, error) -> Platform.runLater(() -> {
+                if (carregamento != carregamentoAnimais || carregamento.isCancelled()) {
+                    return;
+                }
+                if (error != null) {
+                    Alerts.showAlert("Erro", "Erro ao carregar animais", mensagem(error), AlertType.ERROR);
+                    return;
+                }
+                comboBoxAnimal.setItems(FXCollections.observableArrayList(
+                        comAnimais != null ? comAnimais.getAnimais() : List.<Animal>of()));
+            }));
+        }
+    }
+
+    /**
+     * Exibe no campo de hora os próximos horários livres do veterinário selecionado a partir da data escolhida.
+     */
+    private void sugerirHorariosLivres() {
+        Veterinario veterinario = comboBoxVeterinario.getValue();
+        LocalDate data = datePickerData.getValue();
+        if (buscaHorarios != null) {
+            buscaHorarios.cancel(true);
+        }
+        txtHora.setPromptText("Ex: 14:30");
+        if (veterinario == null || data == null) {
+            return;
+        }
+        LocalDateTime aPartirDe = data.equals(LocalDate.now()) ? LocalDateTime.now() : data.atStartOfDay();
+        CompletableFuture<List<LocalDateTime>> busca = disponibilidadeService.proximosHorariosLivresAsync(veterinario.getId(), aPartirDe, 5);
+        buscaHorarios = busca;
+        busca.whenComplete((livres, error) -> Platform.runLater(() -> {
+            if (busca != buscaHorarios || error != null || livres.isEmpty()) {
+                return;  // Sem sugestão; a disponibilidade é verificada novamente ao salvar
+            }
+            List<String> horarios = new ArrayList<>();
+            for (LocalDateTime livre : livres) {
+                horarios.add(livre.toLocalDate().equals(data)
+                        ? livre.format(DateTimeFormatter.ofPattern("HH:mm"))
+                        : livre.format(DateTimeFormatter.ofPattern("dd/MM HH:mm")));
+            }
+            txtHora.setPromptText("Livres: " + String.join(", ", horarios));
+        }));
+    }
+
+    /**
+     * Obtém a mensagem do erro de uma operação assíncrona.
+     * 
+     * @param error O erro recebido do {@link CompletableFuture}.
+     * @return A mensagem do erro lançado pelo serviço.
+     */
+    private static String mensagem(Throwable error) {
+        Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (causa instanceof TimeoutException) {
+            return "Tempo esgotado ao consultar o banco de dados.";
         }
+        return causa.getMessage();
     }
 
     /**
      * Método chamado ao clicar no botão "Salvar" para registrar a consulta.
-     * Realiza a validação dos campos e, caso estejam corretos, salva a consulta.
+     * Realiza a validação dos campos e, caso estejam corretos, salva a consulta em segundo plano: a gravação
+     * reserva o horário do veterinário em uma transação e pode aguardar o bloqueio de outro agendamento.
      */
     @FXML
     private void onSalvarConsulta() {
-        try {
-            Cliente cliente = comboBoxCliente.getValue();
-            Veterinario veterinario = comboBoxVeterinario.getValue();
-            Animal animal = comboBoxAnimal.getValue();
-            LocalDate data = datePickerData.getValue();
-            String descricao = textAreaDescricao.getText();
-
-            // Validação para garantir que todos os campos obrigatórios estão preenchidos
-            if (cliente == null || veterinario == null || data == null || descricao.isEmpty() || animal == null) {
-                Alerts.showAlert("Erro", "Campos obrigatórios", "Todos os campos devem ser preenchidos!", AlertType.WARNING);
+        Cliente cliente = comboBoxCliente.getValue();
+        Veterinario veterinario = comboBoxVeterinario.getValue();
+        Animal animal = comboBoxAnimal.getValue();
+        LocalDate data = datePickerData.getValue();
+        String descricao = textAreaDescricao.getText();
+
+        // Validação para garantir que todos os campos obrigatórios estão preenchidos
+        if (cliente == null || veterinario == null || data == null || descricao.isEmpty() || animal == null) {
+            Alerts.showAlert("Erro", "Campos obrigatórios", "Todos os campos devem ser preenchidos!", AlertType.WARNING);
+            return;
+        }
+
+        // Validação da hora
+        LocalTime hora = null;
+        String horaTexto = txtHora.getText();
+        if (horaTexto.isEmpty()) {
+            Alerts.showAlert("Erro", "Hora obrigatória", "Informe a hora para a consulta!", AlertType.WARNING);
+            return;
+        } else {
+            hora = parseHora(horaTexto); // Parse da hora
+            if (hora == null) {
+                Alerts.showAlert("Erro", "Formato inválido", "A hora informada não é válida!", AlertType.WARNING);
                 return;
             }
+        }
 
-            // Validação da hora
-            LocalTime hora = null;
-            String horaTexto = txtHora.getText();
-            if (horaTexto.isEmpty()) {
-                Alerts.showAlert("Erro", "Hora obrigatória", "Informe a hora para a consulta!", AlertType.WARNING);
-                return;
-            } else {
-                hora = parseHora(horaTexto); // Parse da hora
-                if (hora == null) {
-                    Alerts.showAlert("Erro", "Formato inválido", "A hora informada não é válida!", AlertType.WARNING);
-                    return;
+        // Criação da consulta com todos os dados validados
+        Consulta consulta = new Consulta(null, cliente, veterinario, data, hora, descricao, "Pendente", criadoPor, animal);
+
+        // Salvar a consulta fora da thread da interface; o botão fica desabilitado até a resposta
+        btnSalvar.setDisable(true);
+        consultaService.salvarOuAtualizarAsync(consulta).whenComplete((ok, error) -> Platform.runLater(() -> {
+            btnSalvar.setDisable(false);
+            Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (causa instanceof HorarioIndisponivelException) {
+                // Outro agendamento ficou com o horário: já deixa preenchido o próximo horário livre
+                HorarioIndisponivelException indisponivel = (HorarioIndisponivelException) causa;
+                if (!indisponivel.getHorariosLivres().isEmpty()) {
+                    LocalDateTime sugestao = indisponivel.getHorariosLivres().get(0);
+                    datePickerData.setValue(sugestao.toLocalDate());
+                    txtHora.setText(sugestao.toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")));
                 }
+                Alerts.showAlert("Horário indisponível", "Escolha outro horário", indisponivel.getMessage(), AlertType.WARNING);
+                return;
+            }
+            if (causa != null) {
+                Alerts.showAlert("Erro", "Erro ao salvar consulta", mensagem(causa), AlertType.ERROR);
+                return;
             }
 
-            // Criação da consulta com todos os dados validados
-            Consulta consulta = new Consulta(null, cliente, veterinario, data, hora, descricao, "Pendente", criadoPor, animal);
-
-            // Salvar ou atualizar a consulta
-            consultaService.salvarOuAtualizar(consulta);
-	
             // Mostrar mensagem de sucesso
             Alerts.showAlert("Sucesso", null, "Consulta salva com sucesso!", AlertType.INFORMATION);
 
             // Fechar a tela de cadastro
             Stage stage = (Stage) comboBoxCliente.getScene().getWindow();
             stage.close();
-        } catch (Exception e) {
-            Alerts.showAlert("Erro", "Erro ao salvar consulta", e.getMessage(), AlertType.ERROR);
-        }
+        }));
     }
 
     /**
@@ -2,12 +2,12 @@ package gui;
 
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 import gui.util.Alerts;
+import gui.util.ViewRegistry;
+import gui.util.BackgroundTasks;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
@@ -15,6 +15,7 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.stage.Stage;
 import model.entities.Consulta;
+import model.entities.ConsultaResumo;
 import model.services.AnimalService;
 import model.services.ClienteService;
 import model.services.ConsultaService;
@@ -26,21 +27,26 @@ import model.services.ConsultaService;
 public class ConsultasPendentesController {
 
     @FXML
-    private TableView<Consulta> tblConsultas;
+    private TableView<ConsultaResumo> tblConsultas;
 
     @FXML
-    private TableColumn<Consulta, String> colCliente;
+    private TableColumn<ConsultaResumo, String> colCliente;
 
     @FXML
-    private TableColumn<Consulta, String> colAnimal;
+    private TableColumn<ConsultaResumo, String> colAnimal;
 
     @FXML
-    private TableColumn<Consulta, String> colData;
+    private TableColumn<ConsultaResumo, String> colData;
 
     private ClienteService clienteService;
     private AnimalService animalService;
     private ConsultaService consultaService;
 
+    /**
+     * Carregamento em andamento, cancelado quando outro é iniciado.
+     */
+    private BackgroundTasks.Handle carregamento;
+
     /**
      * Construtor padrão da classe.
      */
@@ -79,28 +85,28 @@ public class ConsultasPendentesController {
 
     /**
      * Carrega as consultas pendentes na tabela.
-     * Atualiza os dados das colunas e exibe os dados de clientes, animais e data de consulta.
+     * Apenas o resumo de cada consulta (nomes de cliente e animal e a data) é buscado;
+     * a consulta completa é carregada somente quando for realizada.
      */
     private void loadConsultasPendentes() {
-        try {
-            List<Consulta> consultasPendentes = consultaService.findConsultasPendentes();
-
+        colCliente.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getClienteNome()));
+        colAnimal.setCellValueFactory(cellData -> new SimpleStringProperty(
+            cellData.getValue().getAnimalNome() != null ? cellData.getValue().getAnimalNome() : "Sem animal"));
+        colData.setCellValueFactory(cellData -> new SimpleStringProperty(
+            cellData.getValue().getData() != null
+                ? cellData.getValue().getData().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))
+                : ""));
+
+        if (carregamento != null) {
+            carregamento.cancel();
+        }
+        ConsultaService service = consultaService;
+        carregamento = BackgroundTasks.load(tblConsultas, () -> service.buscarResumosPorStatus("Pendente"), consultasPendentes -> {
             if (consultasPendentes.isEmpty()) {
                 showErrorAlert("Nenhuma consulta pendente encontrada.");
             }
-
-            colCliente.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getCliente().getNome()));
-            colAnimal.setCellValueFactory(cellData -> new SimpleStringProperty(
-                cellData.getValue().getAnimal() != null ? cellData.getValue().getAnimal().getNome() : "Sem animal"));
-            colData.setCellValueFactory(cellData -> new SimpleStringProperty(
-                cellData.getValue().getData().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))));
-
-            tblConsultas.getItems().clear();
-            tblConsultas.getItems().addAll(consultasPendentes);
-        } catch (Exception e) {
-            e.printStackTrace();
-            showErrorAlert("Falha ao carregar as consultas pendentes.");
-        }
+            tblConsultas.getItems().setAll(consultasPendentes);
+        });
     }
 
     /**
@@ -114,29 +120,34 @@ public class ConsultasPendentesController {
 
     /**
      * Método chamado ao clicar no botão "Realizar Consulta".
-     * Marca a consulta como realizada e abre a tela de relatório correspondente.
+     * Abre a tela de relatório da consulta selecionada. A consulta passa a realizada quando o
+     * relatório é salvo, na mesma transação (ver {@link model.services.RelatorioService#registrarRelatorio}).
      */
     @FXML
     public void onRealizarConsulta() {
-        try {
-            Consulta consultaSelecionada = tblConsultas.getSelectionModel().getSelectedItem();
+        ConsultaResumo resumoSelecionado = tblConsultas.getSelectionModel().getSelectedItem();
+        if (resumoSelecionado == null) {
+            showErrorAlert("Selecione uma consulta para realizar.");
+            return;
+        }
+
+        ConsultaService service = consultaService;
+        BackgroundTasks.submit(() -> {
+            // Carrega a consulta completa (cliente, animal e veterinário) apenas para a selecionada
+            return service.buscarPorId(resumoSelecionado.getId());
+        }, consultaSelecionada -> {
             if (consultaSelecionada == null) {
-                showErrorAlert("Selecione uma consulta para realizar.");
+                showErrorAlert("A consulta selecionada não foi encontrada.");
+                loadConsultasPendentes();
                 return;
             }
 
-            // Marcar a consulta como realizada
-            consultaService.marcarConsultaComoRealizada(consultaSelecionada);
-
             // Abrir a tela de relatório vinculada à consulta selecionada
             abrirTelaRelatorio(consultaSelecionada);
-
-            Alerts.showAlert("Sucesso", null, "Consulta realizada com sucesso.", Alert.AlertType.INFORMATION);
-            loadConsultasPendentes();
-        } catch (Exception e) {
-            e.printStackTrace();
+        }, error -> {
+            error.printStackTrace();
             showErrorAlert("Falha ao realizar a consulta.");
-        }
+        });
     }
 
     /**
@@ -146,16 +157,18 @@ public class ConsultasPendentesController {
      */
     public void abrirTelaRelatorio(Consulta consulta) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/relatorio.fxml"));
-            Parent root = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/relatorio.fxml");
+            Parent root = view.getRoot();
 
             // Obter o controlador e passar a consulta
-            RelatorioController relatorioController = loader.getController();
+            RelatorioController relatorioController = view.getController();
             relatorioController.setConsulta(consulta);
 
             Stage stage = new Stage();
             stage.setScene(new Scene(root));
             stage.setTitle("Relatório de Consultas");
+            // Ao fechar o relatório, a consulta pode ter sido realizada
+            stage.setOnHidden(event -> loadConsultasPendentes());
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
@@ -5,20 +5,16 @@ import java.net.URL;
 import java.util.ResourceBundle;
 import java.util.function.Consumer;
 
-import application.Main;
 import gui.listeners.DataChangeListener;
 import gui.util.Alerts;
 import gui.util.Utils;
+import gui.util.ViewRegistry;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.Pane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
@@ -86,24 +82,8 @@ public class FuncionarioListController implements Initializable, DataChangeListe
      * @param fxmlPath O caminho do arquivo FXML a ser carregado.
      * @param initializingAction Ação que será realizada após a inicialização do controlador.
      */
-    private synchronized <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Parent newView = loader.load();  
-
-            Scene mainScene = Main.getMainScene();
-            ScrollPane mainScrollPane = (ScrollPane) mainScene.getRoot(); 
-
-            mainScrollPane.setContent(newView);
-
-            // Inicializar o controlador da nova view
-            T controller = loader.getController();
-            initializingAction.accept(controller);
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            Alerts.showAlert("Exceção de IO", "Erro ao carregar a view", e.getMessage(), Alert.AlertType.ERROR);
-        }
+    private <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
+        ViewRegistry.show(fxmlPath, initializingAction);
     }
 
     /**
@@ -127,10 +107,10 @@ public class FuncionarioListController implements Initializable, DataChangeListe
      */
     private void createDialogForm(Funcionario obj, String absoluteName, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(absoluteName));
-            Pane pane = loader.load();
+            ViewRegistry.View view = ViewRegistry.load(absoluteName);
+            Pane pane = view.getRoot();
 
-            FuncionarioFormController controller = loader.getController();
+            FuncionarioFormController controller = view.getController();
             controller.setFuncionario(obj);
             controller.setFuncionarioService(new FuncionarioService());
             controller.subscribeDataChangeListener(this);
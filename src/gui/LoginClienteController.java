@@ -3,19 +3,16 @@ package gui;
 import java.io.IOException;
 import java.util.function.Consumer;
 
-import application.Main;
 import gui.util.Alerts;
+import gui.util.ViewRegistry;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import model.entities.Cliente;
@@ -122,23 +119,8 @@ public class LoginClienteController {
      * @param fxmlPath O caminho do arquivo FXML a ser carregado.
      * @param initializingAction Ação a ser realizada após a inicialização do controlador.
      */
-    private synchronized <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Parent newView = loader.load();  
-
-            Scene mainScene = Main.getMainScene();
-            ScrollPane mainScrollPane = (ScrollPane) mainScene.getRoot();
-
-            mainScrollPane.setContent(newView);
-
-            T controller = loader.getController();
-            initializingAction.accept(controller);
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            Alerts.showAlert("Exceção de IO", "Erro ao carregar a view", e.getMessage(), Alert.AlertType.ERROR);
-        }
+    private <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
+        ViewRegistry.show(fxmlPath, initializingAction);
     }
 
     /**
@@ -150,11 +132,11 @@ public class LoginClienteController {
      */
     private void loadTelaPrincipalCliente(ActionEvent event, Cliente cliente) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/TelaPrincipalCliente.fxml"));
-            Parent root = loader.load(); 
+            ViewRegistry.View view = ViewRegistry.load("/gui/TelaPrincipalCliente.fxml");
+            Parent root = view.getRoot(); 
             Scene scene = new Scene(root); 
 
-            TelaPrincipalClienteController controller = loader.getController();
+            TelaPrincipalClienteController controller = view.getController();
 
             controller.setWelcomeMessage("Bem-vindo, " + cliente.getNome() + "!");
             controller.setClienteId(cliente.getId());
@@ -162,6 +144,9 @@ public class LoginClienteController {
             Stage stage = (Stage) btLogin.getScene().getWindow(); 
             stage.setScene(scene);
             stage.show(); 
+
+            // Prepara em segundo plano as telas que o cliente costuma abrir em seguida
+            ViewRegistry.preload("/gui/RequisitarConsulta.fxml", "/gui/AnimalRegistro.fxml");
             
         } catch (IOException e) {
             Alerts.showAlert("Erro", null, "Não foi possível carregar a tela principal do cliente.", AlertType.ERROR);
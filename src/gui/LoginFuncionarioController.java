@@ -3,20 +3,16 @@ package gui;
 import java.io.IOException;
 import java.util.function.Consumer;
 
-import application.Main;
 import gui.util.Alerts;
 import gui.util.Utils;
+import gui.util.ViewRegistry;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
@@ -96,16 +92,11 @@ public class LoginFuncionarioController {
             try {
                 System.out.println("Carregando Tela Principal...");
 
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/TelaPrincipalFuncionarioController.fxml"));
-                
-                if (loader.getLocation() == null) {
-                    System.out.println("Arquivo FXML não encontrado.");
-                    return;
-                }
+                ViewRegistry.View view = ViewRegistry.load("/gui/TelaPrincipalFuncionarioController.fxml");
 
-                AnchorPane pane = loader.load();
+                AnchorPane pane = view.getRoot();
 
-                TelaPrincipalFuncionarioController controller = loader.getController();
+                TelaPrincipalFuncionarioController controller = view.getController();
                 controller.setWelcomeMessage("Bem-vindo, " + username + "!");
 
                 // Cria uma nova janela para a tela principal do funcionário
@@ -118,6 +109,10 @@ public class LoginFuncionarioController {
                 Stage currentStage = Utils.currentStage(event);
                 currentStage.close();
 
+                // Prepara em segundo plano as telas que o funcionário costuma abrir em seguida
+                ViewRegistry.preload("/gui/ConsultaAprovacao.fxml", "/gui/ConsultaRegistro.fxml",
+                        "/gui/ClienteRegistro.fxml", "/gui/VeterinarioRegistro.fxml", "/gui/ClienteList.fxml");
+
             } catch (IOException e) {
                 e.printStackTrace();
                 Alerts.showAlert("Erro", null, "Falha ao carregar a Tela Principal.", AlertType.ERROR);
@@ -144,22 +139,7 @@ public class LoginFuncionarioController {
      * @param initializingAction Ação de inicialização que será executada no controlador da nova view.
      * @param <T> O tipo do controlador da nova view.
      */
-    private synchronized <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Parent newView = loader.load(); 
-
-            // Carrega a nova view na tela principal
-            Scene mainScene = Main.getMainScene();
-            ScrollPane mainScrollPane = (ScrollPane) mainScene.getRoot(); 
-            mainScrollPane.setContent(newView);
-
-            T controller = loader.getController();
-            initializingAction.accept(controller);
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            Alerts.showAlert("IO Exception", "Erro ao carregar a view", e.getMessage(), Alert.AlertType.ERROR);
-        }
+    private <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
+        ViewRegistry.show(fxmlPath, initializingAction);
     }
 }
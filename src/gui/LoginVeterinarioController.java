@@ -3,17 +3,14 @@ package gui;
 import java.io.IOException;
 import java.util.function.Consumer;
 
-import application.Main;
 import gui.util.Alerts;
+import gui.util.ViewRegistry;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.PasswordField;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import model.services.AnimalService;
@@ -93,12 +90,12 @@ public class LoginVeterinarioController {
     private void loadTelaPrincipalVeterinario(ActionEvent event) {
         try {
             // Carregar o FXML da tela principal do veterinário
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/TelaPrincipalVeterinario.fxml"));
-            Parent root = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/TelaPrincipalVeterinario.fxml");
+            Parent root = view.getRoot();
             Scene scene = new Scene(root);
 
             // Obter o controlador da tela principal do veterinário
-            TelaPrincipalVeterinarioController controller = loader.getController();
+            TelaPrincipalVeterinarioController controller = view.getController();
             controller.setWelcomeMessage("Bem-vindo, Veterinário!");
 
             // Criar instâncias dos serviços
@@ -114,6 +111,10 @@ public class LoginVeterinarioController {
             Stage stage = (Stage) txtNome.getScene().getWindow();
             stage.setScene(scene);
             stage.show();
+
+            // Prepara em segundo plano as telas que o veterinário costuma abrir em seguida
+            ViewRegistry.preload("/gui/ConsultasPendentes.fxml", "/gui/relatorio.fxml",
+                    "/gui/VerRelatorios.fxml", "/gui/CadastrarAnimalVeterinario.fxml");
         } catch (IOException e) {
             Alerts.showAlert("Erro", null, "Não foi possível carregar a tela principal do veterinário.", AlertType.ERROR);
             e.printStackTrace();
@@ -136,24 +137,7 @@ public class LoginVeterinarioController {
      * @param initializingAction Ação de inicialização que será executada no controlador da nova view.
      * @param <T> O tipo do controlador da nova view.
      */
-    private synchronized <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Parent newView = loader.load(); 
-
-            Scene mainScene = Main.getMainScene();
-            ScrollPane mainScrollPane = (ScrollPane) mainScene.getRoot(); 
-
-            // Substituir o conteúdo do ScrollPane pela nova view carregada
-            mainScrollPane.setContent(newView);
-
-            // Inicializar o controlador
-            T controller = loader.getController();
-            initializingAction.accept(controller);
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            Alerts.showAlert("IO Exception", "Erro ao carregar a view", e.getMessage(), Alert.AlertType.ERROR);
-        }
+    private <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
+        ViewRegistry.show(fxmlPath, initializingAction);
     }
 }
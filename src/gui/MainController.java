@@ -2,7 +2,7 @@ package gui;
 
 import java.io.IOException;
 
-import javafx.fxml.FXMLLoader;
+import gui.util.ViewRegistry;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
@@ -39,8 +39,8 @@ public class MainController {
      */
     public void setScreen(String fxmlPath) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Parent screen = loader.load();
+            ViewRegistry.View view = ViewRegistry.load(fxmlPath);
+            Parent screen = view.getRoot();
             rootPane.getChildren().clear();
             rootPane.getChildren().add(screen);
         } catch (IOException e) {
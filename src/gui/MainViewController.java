@@ -1,19 +1,14 @@
 package gui;
 
-import java.io.IOException;
 import java.net.URL;
 import java.util.ResourceBundle;
 import java.util.function.Consumer;
 
 import application.Main;
-import gui.util.Alerts;
+import gui.util.ViewRegistry;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.geometry.Insets;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.scene.control.Alert;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.ScrollPane;
@@ -72,28 +67,12 @@ public class MainViewController implements Initializable {
      * @param initializingAction A ação de inicialização que será aplicada ao controlador da nova tela.
      * @param <T> Tipo do controlador da nova tela.
      */
-    private synchronized <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Parent newView = loader.load(); 
-
-            Scene mainScene = Main.getMainScene();
-            ScrollPane mainScrollPane = (ScrollPane) mainScene.getRoot(); 
-
-            mainScrollPane.setContent(newView);
-
-            // Inicializar o controlador
-            T controller = loader.getController();
-            initializingAction.accept(controller);
-
+    private <T> void loadView(String fxmlPath, Consumer<T> initializingAction) {
+        if (ViewRegistry.show(fxmlPath, initializingAction)) {
             // Ajustar o tamanho da janela automaticamente para o conteúdo
-            Stage stage = (Stage) mainScene.getWindow();
+            Stage stage = (Stage) Main.getMainScene().getWindow();
             stage.sizeToScene();  // Ajusta a janela ao conteúdo
             stage.centerOnScreen();  
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            Alerts.showAlert("IO Exception", "Erro ao carregar a view", e.getMessage(), Alert.AlertType.ERROR);
         }
     }
 
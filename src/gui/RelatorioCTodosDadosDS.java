@@ -1,147 +1,215 @@
 package gui;
 
-import java.io.File;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
-import model.dao.impl.AnimalDaoJDBC;
-import model.dao.impl.ClienteDaoJDBC;
-import model.dao.impl.ConsultaDaoJDBC;
-import model.dao.impl.FuncionarioDaoJDBC;
-import model.dao.impl.RelatorioDaoJDBC;
-import model.dao.impl.VeterinarioDaoJDBC;
-import model.entities.Animal;
-import model.entities.Cliente;
-import model.entities.Consulta;
-import model.entities.Funcionario;
-import model.entities.Relatorio;
-import model.entities.Veterinario;
+import javax.sql.DataSource;
+
+import db.DB;
+import db.DbException;
 
 /**
  * Classe responsável por gerar e salvar um relatório completo contendo dados de
  * consultas, clientes, veterinários, funcionários, animais e relatórios.
- * A classe utiliza os DAOs para consultar os dados do banco e gerar o relatório.
+ * <p>
+ * O relatório é exportado em fluxo: cada tabela é lida com um cursor somente-avanço e com
+ * {@code fetchSize} limitado, e cada linha é escrita diretamente no arquivo (opcionalmente
+ * compactado com gzip) assim que é lida. Nenhuma tabela é carregada inteira na memória,
+ * de modo que o uso de memória não depende do tamanho da base.
  */
 public class RelatorioCTodosDadosDS {
 
-    private ConsultaDaoJDBC consultaDao;  // DAO para consultas
-    private ClienteDaoJDBC clienteDao;    // DAO para clientes
-    private RelatorioDaoJDBC relatorioDao; // DAO para relatórios
-    private VeterinarioDaoJDBC veterinarioDao; // DAO para veterinários
-    private FuncionarioDaoJDBC funcionarioDao; // DAO para funcionários
-    private AnimalDaoJDBC animalDao;  // DAO para animais
+    /**
+     * Número de linhas buscadas do banco por vez e intervalo de linhas entre avisos de progresso.
+     */
+    private static final int FETCH_SIZE = 500;
+
+    /**
+     * Tamanho do buffer de escrita no arquivo.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Recebe o andamento da exportação.
+     */
+    @FunctionalInterface
+    public interface ProgressoExportacao {
+
+        /**
+         * Chamado a cada bloco de linhas escritas e ao final de cada seção.
+         *
+         * @param secao O nome da seção sendo exportada (ex: "Clientes").
+         * @param linhasSecao O número de linhas já escritas nesta seção.
+         * @param linhasTotal O número de linhas já escritas no relatório inteiro.
+         */
+        void atualizar(String secao, long linhasSecao, long linhasTotal);
+    }
+
+    /**
+     * Converte a linha atual do {@link ResultSet} no texto exibido no relatório.
+     */
+    @FunctionalInterface
+    private interface FormatadorLinha {
+        String formatar(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Uma seção do relatório: título, consulta SQL e formato de cada linha.
+     */
+    private static final class Secao {
+        private final String titulo;
+        private final String sql;
+        private final FormatadorLinha formatador;
+
+        private Secao(String titulo, String sql, FormatadorLinha formatador) {
+            this.titulo = titulo;
+            this.sql = sql;
+            this.formatador = formatador;
+        }
+    }
+
+    /**
+     * Seções do relatório, na ordem em que são escritas. As senhas não são exportadas.
+     */
+    private static final List<Secao> SECOES = List.of(
+        new Secao("Consultas", """
+                SELECT c.id, c.descricao, a.nome, a.idade, a.raca, a.especie
+                FROM consulta c
+                LEFT JOIN animais a ON c.animal_id = a.id
+                ORDER BY c.id
+                """,
+            rs -> "Consulta ID: " + rs.getInt("id") + ", Descrição: " + rs.getString("descricao") + ", Animal: "
+                + (rs.getString("nome") != null
+                    ? "Nome: " + rs.getString("nome") + ", Idade: " + rs.getInt("idade") + " anos, Raça: "
+                        + rs.getString("raca") + ", Espécie: " + rs.getString("especie")
+                    : "Sem animal associado")),
+        new Secao("Clientes", "SELECT id, nome, email, telefone, endereco, cpf FROM cliente ORDER BY id",
+            rs -> "Cliente [id=" + rs.getInt("id") + ", nome=" + rs.getString("nome") + ", email=" + rs.getString("email")
+                + ", telefone=" + rs.getString("telefone") + ", endereco=" + rs.getString("endereco")
+                + ", cpf=" + rs.getString("cpf") + "]"),
+        new Secao("Relatórios", """
+                SELECT id, consulta_id, veterinario_id, descricao, diagnostico, recomendacao, dataCriacao
+                FROM Relatorio
+                ORDER BY id
+                """,
+            rs -> "Relatorio [id=" + rs.getInt("id") + ", consultaId=" + rs.getInt("consulta_id")
+                + ", veterinarioId=" + rs.getInt("veterinario_id") + ", descricao=" + rs.getString("descricao")
+                + ", diagnostico=" + rs.getString("diagnostico") + ", recomendacao=" + rs.getString("recomendacao")
+                + ", dataCriacao=" + rs.getDate("dataCriacao") + "]"),
+        new Secao("Veterinários", "SELECT id, nome, cpf, email, telefone FROM veterinario ORDER BY id",
+            rs -> "Veterinario [id=" + rs.getInt("id") + ", nome=" + rs.getString("nome") + ", cpf=" + rs.getString("cpf")
+                + ", email=" + rs.getString("email") + ", telefone=" + rs.getString("telefone") + "]"),
+        new Secao("Funcionários", "SELECT id, name, email, birthDate, baseSalary FROM Funcionario ORDER BY id",
+            rs -> "Funcionario [id=" + rs.getInt("id") + ", name=" + rs.getString("name") + ", email=" + rs.getString("email")
+                + ", birthDate=" + rs.getDate("birthDate") + ", baseSalary=" + rs.getDouble("baseSalary") + "]"),
+        new Secao("Animais", "SELECT id, nome, idade, raca, especie FROM animais ORDER BY id",
+            rs -> "Animal [id=" + rs.getInt("id") + ", nome=" + rs.getString("nome") + ", idade=" + rs.getInt("idade")
+                + ", raca=" + rs.getString("raca") + ", especie=" + rs.getString("especie") + "]")
+    );
+
+    private final DataSource dataSource;
 
     /**
      * Construtor da classe.
-     * Inicializa os DAOs necessários para consulta dos dados.
+     * Utiliza o pool de conexões da aplicação.
      */
     public RelatorioCTodosDadosDS() {
-        this.consultaDao = new ConsultaDaoJDBC();
-        this.clienteDao = new ClienteDaoJDBC();
-        this.relatorioDao = new RelatorioDaoJDBC();
-        this.veterinarioDao = new VeterinarioDaoJDBC();
-        this.funcionarioDao = new FuncionarioDaoJDBC();
-        this.animalDao = new AnimalDaoJDBC();  
+        this(DB.getDataSource());
+    }
+
+    /**
+     * Construtor que recebe a fonte de conexões usada na exportação.
+     *
+     * @param dataSource A fonte de conexões com o banco de dados.
+     */
+    public RelatorioCTodosDadosDS(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     /**
      * Método que coleta todos os dados e gera o relatório com informações sobre
      * consultas, clientes, veterinários, funcionários, animais e relatórios.
-     * 
+     * <p>
+     * O relatório inteiro é montado em memória; para bases grandes, prefira
+     * {@link #salvarRelatorioEmArquivo(String, boolean, ProgressoExportacao)}, que grava em fluxo.
+     *
      * @return O relatório gerado como uma string.
      */
     public String gerarRelatorio() {
-        System.out.println("Método gerarRelatorio chamado!");
-        StringBuilder relatorio = new StringBuilder();
-        
+        StringWriter relatorio = new StringWriter();
         try {
-            // Verificar e reabrir a conexão antes de fazer consultas
-            consultaDao.verificarConexao();
-            clienteDao.verificarConexao();
-            relatorioDao.verificarConexao();
-            veterinarioDao.verificarConexao();
-            funcionarioDao.verificarConexao();
-            animalDao.verificarConexao();
-
-            // Consultando dados
-            List<Consulta> consultas = consultaDao.findAll();
-            List<Cliente> clientes = clienteDao.findAll();
-            List<Relatorio> relatorios = relatorioDao.findAll();
-            List<Veterinario> veterinarios = veterinarioDao.findAll();
-            List<Funcionario> funcionarios = funcionarioDao.findAll();
-            List<Animal> animais = animalDao.findAll();  // Buscando todos os animais
-
-            // Gerando relatório com os dados
-            relatorio.append("Relatório Completo de Dados\n\n");
-
-            relatorio.append("Consultas:\n");
-            for (Consulta consulta : consultas) {
-                relatorio.append(consulta).append("\n");
-            }
-
-            relatorio.append("\nClientes:\n");
-            for (Cliente cliente : clientes) {
-                relatorio.append(cliente).append("\n");
-            }
-
-            relatorio.append("\nRelatórios:\n");
-            for (Relatorio relatorioItem : relatorios) {
-                relatorio.append(relatorioItem).append("\n");
-            }
-
-            relatorio.append("\nVeterinários:\n");
-            for (Veterinario veterinario : veterinarios) {
-                relatorio.append(veterinario).append("\n");
-            }
-
-            relatorio.append("\nFuncionários:\n");
-            for (Funcionario funcionario : funcionarios) {
-                relatorio.append(funcionario).append("\n");
-            }
-
-            // Adicionando os animais ao relatório
-            relatorio.append("\nAnimais:\n");
-            for (Animal animal : animais) {
-                relatorio.append(animal).append("\n");
-            }
-
-        } catch (Exception e) {
+            escreverRelatorio(relatorio, null);
+        } catch (IOException | DbException e) {
             e.printStackTrace();
             return "Erro ao gerar o relatório: " + e.getMessage();
         }
-
-        return relatorio.toString(); // Retorna o relatório gerado como uma string
+        return relatorio.toString();
     }
 
     /**
      * Método que salva o relatório gerado em um arquivo no caminho especificado.
      * Se o diretório não existir, ele será criado.
-     * 
+     *
      * @param caminhoArquivo O caminho onde o relatório será salvo.
      */
     public void salvarRelatorioEmArquivo(String caminhoArquivo) {
         try {
-            String dadosRelatorio = gerarRelatorio();  // Gera o conteúdo do relatório
-            System.out.println("Conteúdo do relatório gerado:\n" + dadosRelatorio);  
-            
-            // Verificar e criar o diretório, se necessário
-            File diretorio = new File(caminhoArquivo).getParentFile();
-            System.out.println("Relatório salvo em: " + caminhoArquivo); 
-            if (!diretorio.exists()) {
-                diretorio.mkdirs();
-            }
-
-            // Escrever os dados no arquivo
-            Files.write(Paths.get(caminhoArquivo), dadosRelatorio.getBytes(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
-            System.out.println("Relatório salvo em: " + caminhoArquivo); // Mensagem de confirmação
-        } catch (IOException e) {
+            salvarRelatorioEmArquivo(caminhoArquivo, false, null);
+        } catch (IOException | DbException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Exporta o relatório em fluxo para o arquivo informado, substituindo o conteúdo anterior.
+     * Se o diretório não existir, ele será criado.
+     *
+     * @param caminhoArquivo O caminho onde o relatório será salvo.
+     * @param gzip {@code true} para gravar o arquivo compactado com gzip.
+     * @param progresso Recebe o andamento da exportação (pode ser {@code null}).
+     * @return O número total de linhas de dados exportadas.
+     * @throws IOException Se ocorrer um erro ao gravar o arquivo.
+     * @throws DbException Se ocorrer um erro ao ler os dados do banco.
+     */
+    public long salvarRelatorioEmArquivo(String caminhoArquivo, boolean gzip, ProgressoExportacao progresso)
+            throws IOException {
+        Path destino = Paths.get(caminhoArquivo);
+        if (destino.getParent() != null) {
+            Files.createDirectories(destino.getParent());
+        }
+
+        long inicio = System.nanoTime();
+        long linhas;
+        try (FileChannel channel = FileChannel.open(destino,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream out = gzip
+                ? new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)
+                : Channels.newOutputStream(channel);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            linhas = escreverRelatorio(writer, progresso);
+        }
+        System.out.println("Relatório salvo em: " + caminhoArquivo + " (" + linhas + " linhas em "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms)");
+        return linhas;
+    }
+
     /**
      * Método que salva o relatório gerado em um arquivo no diretório padrão.
      * O caminho do arquivo é fixo.
@@ -155,4 +223,56 @@ public class RelatorioCTodosDadosDS {
         salvarRelatorioEmArquivo(caminhoArquivo);
         System.out.println("Salvamento concluído.");
     }
+
+    /**
+     * Escreve todas as seções do relatório no {@link Writer}, linha a linha, usando uma única conexão.
+     *
+     * @param writer O destino do relatório.
+     * @param progresso Recebe o andamento da exportação (pode ser {@code null}).
+     * @return O número total de linhas de dados escritas.
+     * @throws IOException Se ocorrer um erro ao escrever no destino.
+     * @throws DbException Se ocorrer um erro ao ler os dados do banco.
+     */
+    private long escreverRelatorio(Writer writer, ProgressoExportacao progresso) throws IOException {
+        long total = 0;
+        writer.write("Relatório Completo de Dados\n");
+
+        try (Connection conn = dataSource.getConnection()) {
+            for (Secao secao : SECOES) {
+                writer.write("\n" + secao.titulo + ":\n");
+                total = escreverSecao(conn, secao, writer, progresso, total);
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao exportar o relatório: " + e.getMessage(), e);
+        }
+        return total;
+    }
+
+    /**
+     * Escreve uma seção, lendo as linhas com um cursor somente-avanço e somente-leitura.
+     *
+     * @return O total de linhas do relatório após esta seção.
+     */
+    private long escreverSecao(Connection conn, Secao secao, Writer writer, ProgressoExportacao progresso, long total)
+            throws SQLException, IOException {
+        long linhas = 0;
+        try (PreparedStatement st = conn.prepareStatement(secao.sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            st.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = st.executeQuery()) {
+                while (rs.next()) {
+                    writer.write(secao.formatador.formatar(rs));
+                    writer.write('\n');
+                    linhas++;
+                    total++;
+                    if (progresso != null && linhas % FETCH_SIZE == 0) {
+                        progresso.atualizar(secao.titulo, linhas, total);
+                    }
+                }
+            }
+        }
+        if (progresso != null) {
+            progresso.atualizar(secao.titulo, linhas, total);
+        }
+        return total;
+    }
 }
@@ -1,16 +1,14 @@
 package gui;
 
-import db.DB;
 import db.DbException;
 import gui.util.Alerts;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.TextArea;
 import javafx.stage.Stage;
-import model.dao.RelatorioDao;
-import model.dao.impl.RelatorioDaoJDBC;
 import model.entities.Consulta;
 import model.entities.Relatorio;
+import model.services.RelatorioService;
 
 /**
  * Controlador para a tela de Relatório de Consultas.
@@ -84,11 +82,10 @@ public class RelatorioController {
             relatorio.setRecomendacao("Recomendação placeholder"); 
             relatorio.setDataCriacao(java.time.LocalDate.now());
 
-            // Salva o relatório no banco de dados
-            RelatorioDao relatorioDao = new RelatorioDaoJDBC(DB.getConnection());
-            relatorioDao.insert(relatorio);
+            // Salva o relatório e marca a consulta como realizada, na mesma transação
+            new RelatorioService().registrarRelatorio(relatorio);
 
-            Alerts.showAlert("Sucesso", null, "Relatório salvo com sucesso!", Alert.AlertType.INFORMATION);
+            Alerts.showAlert("Sucesso", null, "Relatório salvo e consulta realizada com sucesso!", Alert.AlertType.INFORMATION);
 
             fecharTela();  // Fecha a tela após o salvamento
         }  catch (DbException e) {
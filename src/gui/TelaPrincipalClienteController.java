@@ -6,7 +6,6 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
@@ -21,6 +20,7 @@ import model.entities.Animal;
 import application.Main;
 import db.DB;
 import gui.util.Alerts;
+import gui.util.ViewRegistry;
 
 /**
  * Controlador da tela principal do cliente. Esta classe gerencia a exibição
@@ -84,11 +84,11 @@ public class TelaPrincipalClienteController {
     public void onRequisitarConsulta(ActionEvent event) {
         try {
             // Carregar a tela de requisitar consulta
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/RequisitarConsulta.fxml"));
-            Parent parent = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/RequisitarConsulta.fxml");
+            Parent parent = view.getRoot();
 
             // Obter o controlador da tela de requisitar consulta
-            RequisitarConsultaController controller = loader.getController();
+            RequisitarConsultaController controller = view.getController();
             controller.setClienteId(clienteId);  // Passar o ID do cliente para o controlador
 
             // Exibir a tela como uma janela modal
@@ -130,7 +130,7 @@ public class TelaPrincipalClienteController {
 
         try {
             // Buscar animais vinculados ao cliente
-            AnimalDaoJDBC animalDao = new AnimalDaoJDBC(DB.getConnection());
+            AnimalDaoJDBC animalDao = new AnimalDaoJDBC(DB.getDataSource());
             List<Animal> animais = animalDao.findAnimaisByClienteId(clienteId);
 
             // Preencher a tabela
@@ -164,11 +164,11 @@ public class TelaPrincipalClienteController {
                 return;
             }
             
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/AnimalRegistro.fxml"));
-            Parent parent = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/AnimalRegistro.fxml");
+            Parent parent = view.getRoot();
 
             // Obter o controlador da tela de registro de animal
-            AnimalController controller = loader.getController();
+            AnimalController controller = view.getController();
             controller.setClienteId(clienteId); 
 
             // Abrir a tela de registro de animal em uma janela modal
@@ -197,8 +197,8 @@ public class TelaPrincipalClienteController {
     public void onSairAction(ActionEvent event) {
         try {
             // Carregar o FXML da tela principal
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/MainView.fxml"));
-            Parent mainViewParent = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/MainView.fxml");
+            Parent mainViewParent = view.getRoot();
 
             // Obter a cena principal da aplicação
             Scene mainScene = Main.getMainScene();
@@ -1,14 +1,13 @@
 package gui;
 
 import java.io.IOException;
-import java.util.List;
 
 import application.Main;
 import gui.util.Alerts;
 import gui.util.Utils;
+import gui.util.ViewRegistry;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
@@ -67,8 +66,6 @@ public class TelaPrincipalFuncionarioController {
         if (consultaService == null) {
             consultaService = new ConsultaService();
         }
-        
-        List<Cliente> clientes = clienteService.findAll(); 
     }
 
     /**
@@ -79,10 +76,10 @@ public class TelaPrincipalFuncionarioController {
     @FXML
     public void onCadastrarVeterinario(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/VeterinarioRegistro.fxml"));
-            Parent parent = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/VeterinarioRegistro.fxml");
+            Parent parent = view.getRoot();
 
-            VeterinarioRegistroController controller = loader.getController();
+            VeterinarioRegistroController controller = view.getController();
             controller.setVeterinarioService(veterinarioService);
             controller.setVeterinario(new Veterinario());
 
@@ -107,10 +104,10 @@ public class TelaPrincipalFuncionarioController {
     @FXML
     public void onCadastrarCliente(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/ClienteRegistro.fxml"));
-            Parent parent = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/ClienteRegistro.fxml");
+            Parent parent = view.getRoot();
 
-            ClienteRegistroController controller = loader.getController();
+            ClienteRegistroController controller = view.getController();
             controller.setClienteService(clienteService);
             controller.setCliente(new Cliente());
 
@@ -135,10 +132,10 @@ public class TelaPrincipalFuncionarioController {
     @FXML
     public void onMarcarConsulta(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/ConsultaRegistro.fxml"));
-            Parent parent = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/ConsultaRegistro.fxml");
+            Parent parent = view.getRoot();
 
-            ConsultaRegistroController controller = loader.getController();
+            ConsultaRegistroController controller = view.getController();
             controller.setConsultaService(consultaService); 
             controller.setClienteService(clienteService);    
             controller.setVeterinarioService(veterinarioService); 
@@ -164,10 +161,10 @@ public class TelaPrincipalFuncionarioController {
     @FXML
     public void onCancelarConsulta(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/CancelarConsulta.fxml"));
-            Parent root = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/CancelarConsulta.fxml");
+            Parent root = view.getRoot();
 
-            CancelarConsultaController cancelarConsultaController = loader.getController();
+            CancelarConsultaController cancelarConsultaController = view.getController();
             
             cancelarConsultaController.setServices(consultaService); // Passa o ConsultaService
 
@@ -188,10 +185,10 @@ public class TelaPrincipalFuncionarioController {
     @FXML
     public void onModificarConsulta(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/ModificarConsulta.fxml"));
-            Parent root = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/ModificarConsulta.fxml");
+            Parent root = view.getRoot();
 
-            ModificarConsultaController modificarConsultaController = loader.getController();
+            ModificarConsultaController modificarConsultaController = view.getController();
             
             modificarConsultaController.setServices(consultaService); 
             modificarConsultaController.setClienteService(clienteService); 
@@ -214,10 +211,10 @@ public class TelaPrincipalFuncionarioController {
     @FXML
     public void onExcluirVeterinario(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/ExcluirVeterinario.fxml"));
-            Parent root = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/ExcluirVeterinario.fxml");
+            Parent root = view.getRoot();
 
-            ExcluirVeterinarioController excluirVeterinarioController = loader.getController();
+            ExcluirVeterinarioController excluirVeterinarioController = view.getController();
             
             excluirVeterinarioController.setVeterinarioService(veterinarioService);
 
@@ -241,10 +238,10 @@ public class TelaPrincipalFuncionarioController {
     @FXML
     public void onAprovarConsulta(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/ConsultaAprovacao.fxml"));
-            Parent parent = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/ConsultaAprovacao.fxml");
+            Parent parent = view.getRoot();
 
-            ConsultaAprovacaoController controller = loader.getController();
+            ConsultaAprovacaoController controller = view.getController();
             controller.setConsultaService(consultaService); 
 
             controller.setClienteId(clienteService.getLoggedClienteId()); 
@@ -286,8 +283,8 @@ public class TelaPrincipalFuncionarioController {
     @FXML
     public void onControleEstoque(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/Estoque.fxml"));
-            Parent estoqueView = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/Estoque.fxml");
+            Parent estoqueView = view.getRoot();
 
             Scene estoqueScene = new Scene(estoqueView);
             Stage stage = new Stage();
@@ -307,8 +304,8 @@ public class TelaPrincipalFuncionarioController {
     public void onSairAction(ActionEvent event) {
         try {
             // Carregar o FXML da tela principal
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/MainView.fxml"));
-            Parent mainViewParent = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/MainView.fxml");
+            Parent mainViewParent = view.getRoot();
 
             // Obter a cena principal da aplicação
             Scene mainScene = Main.getMainScene();
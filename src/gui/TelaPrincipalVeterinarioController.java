@@ -11,9 +11,9 @@ import java.util.List;
 import application.Main;
 import db.DB;
 import gui.util.Alerts;
+import gui.util.ViewRegistry;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
@@ -103,11 +103,11 @@ public class TelaPrincipalVeterinarioController {
     public void onRealizarConsulta(ActionEvent event) {
         try {
             // Carrega o FXML para a tela de consultas pendentes
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/ConsultasPendentes.fxml"));
-            Parent root = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/ConsultasPendentes.fxml");
+            Parent root = view.getRoot();
 
             // Obtém o controlador da tela de consultas pendentes
-            ConsultasPendentesController consultasController = loader.getController();
+            ConsultasPendentesController consultasController = view.getController();
                         
             // Passa os serviços para o controlador de ConsultasPendentes
             consultasController.setServices(clienteService, animalService, consultaService);
@@ -132,11 +132,11 @@ public class TelaPrincipalVeterinarioController {
     public void onVerRelatorios(ActionEvent event) {
         try {
             // Carrega o FXML para a tela de relatórios
-        	FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/VerRelatorios.fxml"));
-            Parent root = loader.load();
+        	ViewRegistry.View view = ViewRegistry.load("/gui/VerRelatorios.fxml");
+            Parent root = view.getRoot();
 
             // Obtém o controlador da tela de relatórios
-            VerRelatoriosController controller = loader.getController();
+            VerRelatoriosController controller = view.getController();
             
             // Exibe a nova tela de relatórios
             Stage stage = new Stage();
@@ -162,11 +162,11 @@ public class TelaPrincipalVeterinarioController {
             }
 
             // Carrega o FXML para a tela de cadastro de animal
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/CadastrarAnimalVeterinario.fxml"));
-            Parent root = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/CadastrarAnimalVeterinario.fxml");
+            Parent root = view.getRoot();
 
             // Obtém o controlador da tela de cadastro de animal
-            CadastrarAnimalVeterinarioController controller = loader.getController();
+            CadastrarAnimalVeterinarioController controller = view.getController();
 
             // Passa os serviços para o controlador de CadastrarAnimalVeterinario
             controller.setServices(animalService, clienteService);
@@ -190,8 +190,8 @@ public class TelaPrincipalVeterinarioController {
     public void onSair(ActionEvent event) {
         try {
             // Carregar o FXML da tela principal
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/MainView.fxml"));
-            Parent mainViewParent = loader.load();
+            ViewRegistry.View view = ViewRegistry.load("/gui/MainView.fxml");
+            Parent mainViewParent = view.getRoot();
 
             Scene mainScene = Main.getMainScene();
 
@@ -2,6 +2,7 @@ package gui;
 
 import java.util.List;
 
+import gui.util.BackgroundTasks;
 import javafx.fxml.FXML;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -52,24 +53,23 @@ public class VerRelatoriosController {
     }
 
     /**
-     * Carrega os relatórios de veterinários e os exibe na tabela.
+     * Carrega os relatórios de veterinários em segundo plano e os exibe na tabela.
      * Esse método garante que o campo de veterinário responsável não seja nulo, 
      * atribuindo um veterinário fictício caso necessário.
      */
     private void carregarRelatorios() {
-        // Obtém a lista de relatórios com veterinários
-        List<Relatorio> relatorios = relatorioService.findAllRelatoriosComVeterinario();
-        
-        // Verifica se o veterinário responsável está preenchido, caso contrário, atribui um veterinário fictício
-        for (Relatorio relatorio : relatorios) {
-            if (relatorio.getVeterinarioResponsavel() == null) {
-                // Atribui um veterinário fictício
-                relatorio.setVeterinarioResponsavel(new Veterinario("Veterinário Desconhecido"));
-            }
-        }
+        BackgroundTasks.load(tableViewRelatorios, () -> {
+            // Obtém a lista de relatórios com veterinários
+            List<Relatorio> relatorios = relatorioService.findAllRelatoriosComVeterinario();
 
-        // Atualiza a tabela com os dados dos relatórios
-        tableViewRelatorios.getItems().setAll(relatorios);
+            // Verifica se o veterinário responsável está preenchido, caso contrário, atribui um veterinário fictício
+            for (Relatorio relatorio : relatorios) {
+                if (relatorio.getVeterinarioResponsavel() == null) {
+                    relatorio.setVeterinarioResponsavel(new Veterinario("Veterinário Desconhecido"));
+                }
+            }
+            return relatorios;
+        }, relatorios -> tableViewRelatorios.getItems().setAll(relatorios));
     }
 
 }
@@ -2,20 +2,19 @@ package gui;
 
 import java.io.IOException;
 import java.net.URL;
-import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
 import application.Main;
-import db.DbIntegrityException;
+import gui.listeners.DataChangeEvent;
 import gui.listeners.DataChangeListener;
 import gui.util.Alerts;
+import gui.util.BackgroundTasks;
+import gui.util.IndexedObservableList;
 import gui.util.Utils;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import gui.util.ViewRegistry;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
@@ -63,7 +62,29 @@ public class VeterinarioListController implements Initializable, DataChangeListe
     @FXML
     private Button btNew;
 
-    private ObservableList<Veterinario> obsList;
+    @FXML
+    private Button btLoadMore;
+
+    /**
+     * Veterinários exibidos, indexados pelo ID para que as alterações sejam aplicadas apenas na linha afetada.
+     */
+    private final IndexedObservableList<Veterinario> veterinarios =
+            new IndexedObservableList<>(Veterinario::getId, IndexedObservableList.orderByName(Veterinario::getNome, Veterinario::getId));
+
+    /**
+     * Indica se a primeira página já foi carregada.
+     */
+    private boolean carregado;
+
+    /**
+     * Carregamento em andamento, cancelado quando outro é iniciado.
+     */
+    private BackgroundTasks.Handle carregamento;
+
+    /**
+     * Quantidade de veterinários carregados por página.
+     */
+    private static final int PAGE_SIZE = 50;
 
     /**
      * Manipula o evento de clique no botão "Novo" para abrir o formulário de cadastro de um novo veterinário.
@@ -77,6 +98,25 @@ public class VeterinarioListController implements Initializable, DataChangeListe
         createDialogForm(obj, "/gui/VeterinarioRegistro.fxml", parentStage);
     }
 
+    /**
+     * Manipula o evento de clique no botão "Carregar mais", acrescentando a próxima página à tabela.
+     */
+    @FXML
+    public void onBtLoadMoreAction() {
+        if (service == null) throw new IllegalStateException("Service was null");
+
+        if (!carregado) {
+            return;
+        }
+        Veterinario ultimo = veterinarios.last();
+        VeterinarioService veterinarioService = service;
+        btLoadMore.setDisable(true);
+        carregamento = BackgroundTasks.load(tableViewVeterinario, () -> veterinarioService.findPage(ultimo, PAGE_SIZE), page -> {
+            veterinarios.addPage(page, page.size() < PAGE_SIZE);
+            btLoadMore.setDisable(page.size() < PAGE_SIZE);
+        });
+    }
+
     /**
      * Define o serviço de veterinários a ser utilizado por este controlador.
      * 
@@ -106,22 +146,31 @@ public class VeterinarioListController implements Initializable, DataChangeListe
         tableColumnName.setCellValueFactory(new PropertyValueFactory<>("nome"));
         tableColumnEmail.setCellValueFactory(new PropertyValueFactory<>("email"));
         tableColumnTelefone.setCellValueFactory(new PropertyValueFactory<>("telefone"));
+        tableViewVeterinario.setItems(veterinarios.getItems());
+        initEditButtons();
+        initRemoveButtons();
 
         Stage stage = (Stage) Main.getMainScene().getWindow();
         tableViewVeterinario.prefHeightProperty().bind(stage.heightProperty());
     }
 
     /**
-     * Atualiza a tabela de veterinários com os dados mais recentes.
+     * Atualiza a tabela de veterinários, recarregando a partir da primeira página.
+     * As páginas seguintes são carregadas sob demanda pelo botão "Carregar mais".
      */
     public void updateTableView() {
         if (service == null) throw new IllegalStateException("Service was null");
 
-        List<Veterinario> list = service.findAll();
-        obsList = FXCollections.observableArrayList(list);
-        tableViewVeterinario.setItems(obsList);
-        initEditButtons();
-        initRemoveButtons();
+        if (carregamento != null) {
+            carregamento.cancel();
+        }
+        VeterinarioService veterinarioService = service;
+        btLoadMore.setDisable(true);
+        carregamento = BackgroundTasks.load(tableViewVeterinario, () -> veterinarioService.findPage(null, PAGE_SIZE), list -> {
+            veterinarios.setAll(list, list.size() < PAGE_SIZE);
+            carregado = true;
+            btLoadMore.setDisable(list.size() < PAGE_SIZE);
+        });
     }
 
     /**
@@ -133,10 +182,10 @@ public class VeterinarioListController implements Initializable, DataChangeListe
      */
     private void createDialogForm(Veterinario obj, String absoluteName, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(absoluteName));
-            Pane pane = loader.load();
+            ViewRegistry.View view = ViewRegistry.load(absoluteName);
+            Pane pane = view.getRoot();
 
-            VeterinarioRegistroController controller = loader.getController();
+            VeterinarioRegistroController controller = view.getController();
             controller.setVeterinario(obj);
             controller.setVeterinarioService(new VeterinarioService());
             controller.subscribeDataChangeListener(this);
@@ -206,12 +255,12 @@ public class VeterinarioListController implements Initializable, DataChangeListe
         if (result.isPresent() && result.get() == ButtonType.OK) {
             if (service == null) throw new IllegalStateException("Service was null");
 
-            try {
-                service.remove(obj);
-                updateTableView();
-            } catch (DbIntegrityException e) {
-                Alerts.showAlert("Error removing object", null, e.getMessage(), AlertType.ERROR);
-            }
+            VeterinarioService veterinarioService = service;
+            BackgroundTasks.submit(() -> {
+                veterinarioService.remove(obj);
+                return obj;
+            }, removed -> onDataChanged(DataChangeEvent.deleted(Veterinario.class, removed.getId())),
+               error -> Alerts.showAlert("Error removing object", null, error.getMessage(), AlertType.ERROR));
         }
     }
 
@@ -222,4 +271,19 @@ public class VeterinarioListController implements Initializable, DataChangeListe
     public void onDataChanged() {
         updateTableView();
     }
+
+    /**
+     * Aplica a alteração de um veterinário apenas na linha afetada, sem consultar novamente o banco de dados.
+     * 
+     * @param event A descrição da alteração.
+     */
+    @Override
+    public void onDataChanged(DataChangeEvent<?> event) {
+        DataChangeEvent<Veterinario> alteracao = event.as(Veterinario.class);
+        if (alteracao == null || !carregado) {
+            onDataChanged();
+            return;
+        }
+        veterinarios.apply(alteracao);
+    }
 }
@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.ResourceBundle;
 
 import db.DbException;
+import gui.listeners.DataChangeEvent;
 import gui.listeners.DataChangeListener;
 import gui.util.Alerts;
 import gui.util.Constraints;
@@ -113,8 +114,11 @@ public class VeterinarioRegistroController implements Initializable {
         }
         try {
             entity = getFormData(); 
+            boolean novo = entity.getId() == null;
             service.saveOrUpdate(entity);  
-            notifyDataChangeListeners(); 
+            notifyDataChangeListeners(novo
+                    ? DataChangeEvent.inserted(Veterinario.class, entity.getId(), entity)
+                    : DataChangeEvent.updated(Veterinario.class, entity.getId(), entity)); 
             Utils.currentStage(event).close(); 
         } catch (ValidationException e) {
             setErrorMessages(e.getErrors()); 
@@ -125,9 +129,11 @@ public class VeterinarioRegistroController implements Initializable {
 
     /**
      * Notifica todos os ouvintes registrados sobre a mudança nos dados.
+     * 
+     * @param event A descrição da alteração.
      */
-    private void notifyDataChangeListeners() {
-        dataChangeListeners.forEach(DataChangeListener::onDataChanged);
+    private void notifyDataChangeListeners(DataChangeEvent<Veterinario> event) {
+        dataChangeListeners.forEach(listener -> listener.onDataChanged(event));
     }
 
     /**
@@ -0,0 +1,114 @@
+package gui.listeners;
+
+/**
+ * Descrição de uma alteração de dados: a entidade alterada, a operação realizada e o ID.
+ * <p>
+ * Permite que as telas de listagem atualizem apenas a linha afetada, em vez de buscar a lista inteira
+ * novamente no banco de dados.
+ *
+ * @param <T> O tipo da entidade alterada.
+ */
+public final class DataChangeEvent<T> {
+
+    /**
+     * Operação que originou a alteração.
+     */
+    public enum Operation {
+        INSERT, UPDATE, DELETE
+    }
+
+    private final Class<T> entityType;
+    private final Operation operation;
+    private final Object id;
+    private final T entity;
+
+    private DataChangeEvent(Class<T> entityType, Operation operation, Object id, T entity) {
+        this.entityType = entityType;
+        this.operation = operation;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    /**
+     * Cria o evento de uma entidade inserida.
+     *
+     * @param <T> O tipo da entidade.
+     * @param entityType A classe da entidade.
+     * @param id O ID gerado.
+     * @param entity A entidade inserida.
+     * @return O evento.
+     */
+    public static <T> DataChangeEvent<T> inserted(Class<T> entityType, Object id, T entity) {
+        return new DataChangeEvent<>(entityType, Operation.INSERT, id, entity);
+    }
+
+    /**
+     * Cria o evento de uma entidade atualizada.
+     *
+     * @param <T> O tipo da entidade.
+     * @param entityType A classe da entidade.
+     * @param id O ID da entidade.
+     * @param entity A entidade com os dados atualizados.
+     * @return O evento.
+     */
+    public static <T> DataChangeEvent<T> updated(Class<T> entityType, Object id, T entity) {
+        return new DataChangeEvent<>(entityType, Operation.UPDATE, id, entity);
+    }
+
+    /**
+     * Cria o evento de uma entidade removida.
+     *
+     * @param <T> O tipo da entidade.
+     * @param entityType A classe da entidade.
+     * @param id O ID da entidade removida.
+     * @return O evento.
+     */
+    public static <T> DataChangeEvent<T> deleted(Class<T> entityType, Object id) {
+        return new DataChangeEvent<>(entityType, Operation.DELETE, id, null);
+    }
+
+    /**
+     * @return A classe da entidade alterada.
+     */
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * @return A operação realizada.
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return O ID da entidade alterada.
+     */
+    public Object getId() {
+        return id;
+    }
+
+    /**
+     * @return A entidade inserida ou atualizada, ou {@code null} em uma remoção.
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    /**
+     * Obtém o evento com o tipo de entidade informado, para que o ouvinte trate apenas as entidades que exibe.
+     *
+     * @param <E> O tipo esperado.
+     * @param type A classe esperada da entidade.
+     * @return Este evento, ou {@code null} se for de outro tipo de entidade.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> DataChangeEvent<E> as(Class<E> type) {
+        return type == entityType ? (DataChangeEvent<E>) this : null;
+    }
+
+    @Override
+    public String toString() {
+        return operation + " " + entityType.getSimpleName() + " id=" + id;
+    }
+}
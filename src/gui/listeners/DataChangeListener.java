@@ -17,4 +17,16 @@ public interface DataChangeListener {
      * ou realizar outras operações baseadas na mudança de dados.
      */
     void onDataChanged();
+
+    /**
+     * Método chamado quando ocorre uma mudança nos dados cuja entidade, operação e ID são conhecidos.
+     * 
+     * Ouvintes que exibem listas podem sobrescrever este método para atualizar apenas a linha afetada.
+     * A implementação padrão chama {@link #onDataChanged()}.
+     * 
+     * @param event A descrição da alteração.
+     */
+    default void onDataChanged(DataChangeEvent<?> event) {
+        onDataChanged();
+    }
 }
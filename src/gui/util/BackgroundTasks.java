@@ -0,0 +1,201 @@
+package gui.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import db.QueryCancellation;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import model.services.AsyncServices;
+
+/**
+ * Executa chamadas aos serviços (e, portanto, ao banco de dados) fora da thread da interface gráfica.
+ * <p>
+ * O trabalho roda no executor compartilhado de {@link AsyncServices} e o resultado é publicado de volta na
+ * thread do JavaFX com {@link Platform#runLater(Runnable)}. O número de threads é limitado ao tamanho máximo
+ * do pool de conexões, já que cada tarefa normalmente ocupa uma conexão. Cada tarefa devolve um {@link Handle}
+ * que permite cancelá-la: o comando SQL em execução é interrompido por meio de um
+ * {@link QueryCancellation.Token}, como em {@link AsyncServices#supplyAsync}, e nenhum retorno é entregue à tela.
+ */
+public final class BackgroundTasks {
+
+    private BackgroundTasks() {
+    }
+
+    /**
+     * @return O executor compartilhado das tarefas em segundo plano, o mesmo de {@link AsyncServices}.
+     */
+    public static ExecutorService executor() {
+        return AsyncServices.executor();
+    }
+
+    /**
+     * Executa {@code work} em segundo plano e entrega o resultado (ou o erro) na thread do JavaFX.
+     *
+     * @param <T> O tipo do resultado.
+     * @param work O trabalho a ser executado fora da thread da interface.
+     * @param onSuccess Recebe o resultado na thread do JavaFX.
+     * @param onError Recebe o erro na thread do JavaFX.
+     * @return O controle da tarefa, que permite cancelá-la.
+     */
+    public static <T> Handle submit(Callable<T> work, Consumer<? super T> onSuccess, Consumer<? super Throwable> onError) {
+        Handle handle = new Handle();
+        handle.future = executor().submit(() -> {
+            if (handle.cancelled) {
+                return; // Cancelada enquanto aguardava na fila
+            }
+            T result;
+            QueryCancellation.Scope scope = handle.token.bind();
+            try {
+                result = work.call();
+            } catch (Throwable e) {
+                handle.finish(() -> onError.accept(e));
+                return;
+            } finally {
+                scope.close();
+            }
+            handle.finish(() -> onSuccess.accept(result));
+        });
+        return handle;
+    }
+
+    /**
+     * Executa {@code work} em segundo plano, exibindo um erro padrão em caso de falha.
+     *
+     * @param <T> O tipo do resultado.
+     * @param work O trabalho a ser executado fora da thread da interface.
+     * @param onSuccess Recebe o resultado na thread do JavaFX.
+     * @return O controle da tarefa, que permite cancelá-la.
+     */
+    public static <T> Handle submit(Callable<T> work, Consumer<? super T> onSuccess) {
+        return submit(work, onSuccess, BackgroundTasks::showError);
+    }
+
+    /**
+     * Carrega dados para uma tabela em segundo plano.
+     * <p>
+     * Enquanto a tarefa roda, a tabela exibe um indicador de carregamento. A tarefa é cancelada
+     * automaticamente se a tabela sair da tela (por exemplo, quando o usuário navega para outra view).
+     *
+     * @param <T> O tipo do resultado.
+     * @param table A tabela que exibirá os dados.
+     * @param work O trabalho a ser executado fora da thread da interface.
+     * @param onSuccess Recebe o resultado na thread do JavaFX.
+     * @return O controle da tarefa, que permite cancelá-la.
+     */
+    public static <T> Handle load(TableView<?> table, Callable<T> work, Consumer<? super T> onSuccess) {
+        Node placeholder = table.getPlaceholder();
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setMaxSize(48, 48);
+        table.setPlaceholder(indicator);
+        table.setDisable(true);
+
+        Runnable restore = () -> {
+            table.setPlaceholder(placeholder != null ? placeholder : new Label("Nenhum registro encontrado."));
+            table.setDisable(false);
+        };
+        Handle handle = submit(work,
+            result -> {
+                restore.run();
+                onSuccess.accept(result);
+            },
+            error -> {
+                restore.run();
+                showError(error);
+            });
+        handle.onCancel = restore;
+        cancelWhenDetached(table, handle);
+        return handle;
+    }
+
+    /**
+     * Cancela a tarefa quando o nó for removido da cena.
+     *
+     * @param node O nó da tela que depende do resultado da tarefa.
+     * @param handle A tarefa.
+     */
+    public static void cancelWhenDetached(Node node, Handle handle) {
+        ChangeListener<Scene> listener = (obs, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                handle.cancel();
+            }
+        };
+        node.sceneProperty().addListener(listener);
+        handle.onDone = () -> node.sceneProperty().removeListener(listener);
+    }
+
+    private static void showError(Throwable error) {
+        error.printStackTrace();
+        Alerts.showAlert("Erro", "Erro ao carregar dados", error.getMessage(), AlertType.ERROR);
+    }
+
+    /**
+     * Controle de uma tarefa em segundo plano.
+     * Todos os métodos devem ser chamados na thread do JavaFX.
+     */
+    public static final class Handle {
+
+        private final QueryCancellation.Token token = QueryCancellation.newToken();
+        private volatile boolean cancelled;
+        private Future<?> future;
+        private Runnable onCancel;
+        private Runnable onDone;
+
+        private Handle() {
+        }
+
+        /**
+         * Cancela a tarefa. Se ela ainda não terminou, o comando SQL em execução é cancelado no servidor, seu
+         * resultado é descartado e a thread é interrompida.
+         */
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            token.cancel();
+            if (future != null) {
+                future.cancel(true);
+            }
+            if (onCancel != null) {
+                onCancel.run();
+            }
+            done();
+        }
+
+        /**
+         * @return {@code true} se a tarefa foi cancelada.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Publica a conclusão na thread do JavaFX, a menos que a tarefa tenha sido cancelada.
+         */
+        private void finish(Runnable callback) {
+            Platform.runLater(() -> {
+                if (cancelled) {
+                    return;
+                }
+                done();
+                callback.run();
+            });
+        }
+
+        private void done() {
+            if (onDone != null) {
+                onDone.run();
+                onDone = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package gui.util;
+
+import java.text.Collator;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import gui.listeners.DataChangeEvent;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * {@link ObservableList} de uma tela de listagem acompanhada de um mapa ID → posição.
+ * <p>
+ * Com o mapa, uma alteração recebida por {@link gui.listeners.DataChangeListener#onDataChanged(DataChangeEvent)}
+ * é aplicada diretamente na linha afetada: a atualização substitui o item na sua posição, a inserção o
+ * coloca na posição da ordenação e a remoção o retira, sem consultar o banco de dados nem recriar a lista.
+ * A tabela recebe uma única notificação de mudança por alteração.
+ * <p>
+ * A lista é ordenada por {@code order}, a mesma ordem das páginas buscadas no banco. Enquanto nem todas
+ * as páginas foram carregadas, um item inserido depois do último exibido é ignorado, pois virá na próxima
+ * página. Deve ser usada apenas na thread da interface.
+ *
+ * @param <T> O tipo dos itens.
+ */
+public final class IndexedObservableList<T> {
+
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private final Map<Object, Integer> positions = new HashMap<>();
+    private final Function<T, Object> id;
+    private final Comparator<T> order;
+    private boolean complete;
+
+    /**
+     * Cria uma lista vazia.
+     *
+     * @param id A função que obtém o ID de um item.
+     * @param order A ordem dos itens, igual à ordem das páginas buscadas.
+     */
+    public IndexedObservableList(Function<T, Object> id, Comparator<T> order) {
+        this.id = id;
+        this.order = order;
+    }
+
+    /**
+     * Ordem equivalente a {@code ORDER BY nome, id} no banco, cuja collation não diferencia maiúsculas,
+     * minúsculas nem acentos.
+     *
+     * @param <T> O tipo dos itens.
+     * @param nome A função que obtém o nome.
+     * @param id A função que obtém o ID.
+     * @return O comparador.
+     */
+    public static <T> Comparator<T> orderByName(Function<T, String> nome, Function<T, Integer> id) {
+        Collator collator = Collator.getInstance(Locale.forLanguageTag("pt-BR"));
+        collator.setStrength(Collator.PRIMARY);
+        return Comparator.comparing(nome, Comparator.nullsFirst(collator))
+                .thenComparing(id, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    /**
+     * @return A lista observável, a ser passada para {@code TableView.setItems}.
+     */
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Substitui todos os itens pela primeira página.
+     *
+     * @param page Os itens da primeira página.
+     * @param complete {@code true} se não houver mais páginas.
+     */
+    public void setAll(Collection<? extends T> page, boolean complete) {
+        positions.clear();
+        items.setAll(page);
+        reindex(0);
+        this.complete = complete;
+    }
+
+    /**
+     * Acrescenta uma página ao final, ignorando os itens já exibidos.
+     *
+     * @param page Os itens da página seguinte.
+     * @param complete {@code true} se não houver mais páginas.
+     */
+    public void addPage(List<? extends T> page, boolean complete) {
+        int start = items.size();
+        items.addAll(page.stream().filter(item -> !positions.containsKey(id.apply(item))).toList());
+        reindex(start);
+        this.complete = complete;
+    }
+
+    /**
+     * @return O último item exibido, usado como cursor da próxima página, ou {@code null} se a lista estiver vazia.
+     */
+    public T last() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+
+    /**
+     * Aplica uma alteração à lista.
+     *
+     * @param event A alteração, do mesmo tipo de entidade dos itens.
+     */
+    public void apply(DataChangeEvent<T> event) {
+        switch (event.getOperation()) {
+            case INSERT:
+            case UPDATE:
+                put(event.getId(), event.getEntity());
+                break;
+            case DELETE:
+                remove(event.getId());
+                break;
+        }
+    }
+
+    /**
+     * Insere ou substitui um item.
+     *
+     * @param key O ID do item.
+     * @param item O item.
+     */
+    public void put(Object key, T item) {
+        Integer position = positions.get(key);
+        if (position != null) {
+            boolean inPlace = (position == 0 || order.compare(items.get(position - 1), item) <= 0)
+                    && (position == items.size() - 1 || order.compare(item, items.get(position + 1)) <= 0);
+            if (inPlace) {
+                items.set(position, item); // A ordem não mudou: substitui na mesma linha
+                return;
+            }
+            remove(key);
+        }
+        int insertAt = insertionPoint(item);
+        if (insertAt == items.size() && !complete) {
+            return; // Depois do último exibido: virá na próxima página
+        }
+        items.add(insertAt, item);
+        reindex(insertAt);
+    }
+
+    /**
+     * Remove um item, se estiver na lista.
+     *
+     * @param key O ID do item.
+     */
+    public void remove(Object key) {
+        Integer position = positions.remove(key);
+        if (position != null) {
+            items.remove(position.intValue());
+            reindex(position);
+        }
+    }
+
+    private int insertionPoint(T item) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(items.get(mid), item) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void reindex(int from) {
+        for (int i = from; i < items.size(); i++) {
+            positions.put(id.apply(items.get(i)), i);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package gui.util;
 
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -47,8 +46,7 @@ public class Utils {
      */
     public static Scene loadScene(String fxmlPath) {
         try {
-            FXMLLoader loader = new FXMLLoader(Utils.class.getResource(fxmlPath));
-            Parent root = loader.load(); 
+            Parent root = ViewRegistry.load(fxmlPath).getRoot();
             return new Scene(root); 
         } catch (IOException e) {
             e.printStackTrace(); 
@@ -0,0 +1,225 @@
+package gui.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import application.Main;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ScrollPane;
+
+/**
+ * Registro central das views FXML da aplicação.
+ * <p>
+ * O conteúdo de cada arquivo {@code /gui/*.fxml} é lido do classpath uma única vez e mantido em memória,
+ * de modo que carregamentos seguintes não voltam ao disco. As telas de navegação sem estado próprio
+ * (menu principal, listagens e "Sobre") têm o grafo de nós e o controlador guardados e são reaproveitados
+ * sempre que a instância anterior não estiver mais na tela, evitando uma nova leitura do FXML com reflexão.
+ * <p>
+ * {@link #preload(String...)} adianta esse trabalho em segundo plano, por exemplo após o login, para as
+ * telas que o usuário provavelmente abrirá em seguida.
+ * <p>
+ * Os métodos que criam nós ({@link #load(String)}, {@link #show(String, Consumer)}) devem ser chamados
+ * na thread do JavaFX.
+ */
+public final class ViewRegistry {
+
+    private ViewRegistry() {
+    }
+
+    /**
+     * Views reaproveitadas entre navegações. Os controladores destas telas são reinicializados pela
+     * ação passada a {@link #show(String, Consumer)} a cada exibição.
+     */
+    private static final Set<String> REUSABLE = Set.of(
+        "/gui/MainView.fxml",
+        "/gui/ClienteList.fxml",
+        "/gui/FuncionarioList.fxml",
+        "/gui/About.fxml"
+    );
+
+    private static final Pattern CONTROLLER = Pattern.compile("fx:controller\\s*=\\s*\"([^\"]+)\"");
+
+    /**
+     * Conteúdo dos arquivos FXML já lidos, por caminho.
+     */
+    private static final Map<String, byte[]> SOURCES = new ConcurrentHashMap<>();
+
+    /**
+     * Views reaproveitáveis já montadas, por caminho. Acessado somente na thread do JavaFX.
+     */
+    private static final Map<String, View> VIEWS = new HashMap<>();
+
+    /**
+     * Uma view carregada: o nó raiz e o controlador criado pelo FXML.
+     */
+    public static final class View {
+
+        private final Parent root;
+        private final Object controller;
+
+        private View(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        /**
+         * @param <R> O tipo do nó raiz declarado no FXML.
+         * @return O nó raiz da view.
+         */
+        @SuppressWarnings("unchecked")
+        public <R extends Parent> R getRoot() {
+            return (R) root;
+        }
+
+        /**
+         * @param <C> O tipo do controlador declarado no FXML.
+         * @return O controlador da view.
+         */
+        @SuppressWarnings("unchecked")
+        public <C> C getController() {
+            return (C) controller;
+        }
+    }
+
+    /**
+     * Carrega uma nova instância da view, usando o conteúdo do FXML já em memória.
+     *
+     * @param fxmlPath O caminho do arquivo FXML (ex: "/gui/ClienteRegistro.fxml").
+     * @return A view carregada.
+     * @throws IOException Se o arquivo não existir ou não puder ser lido.
+     */
+    public static View load(String fxmlPath) throws IOException {
+        FXMLLoader loader = new FXMLLoader(resource(fxmlPath));
+        Parent root = loader.load(new ByteArrayInputStream(source(fxmlPath)));
+        return new View(root, loader.getController());
+    }
+
+    /**
+     * Exibe a view no painel principal da aplicação, substituindo o conteúdo atual.
+     * <p>
+     * Para as telas reaproveitáveis, a instância anterior é reutilizada se não estiver em uso;
+     * as demais são carregadas novamente (a partir do FXML em memória).
+     *
+     * @param <T> O tipo do controlador da view.
+     * @param fxmlPath O caminho do arquivo FXML.
+     * @param initializingAction Ação para inicializar o controlador da view.
+     * @return {@code true} se a view foi exibida; {@code false} se ocorreu um erro ao carregá-la.
+     */
+    public static <T> boolean show(String fxmlPath, Consumer<T> initializingAction) {
+        try {
+            View view = acquire(fxmlPath);
+            ScrollPane mainScrollPane = (ScrollPane) Main.getMainScene().getRoot();
+            mainScrollPane.setContent(view.root);
+
+            T controller = view.getController();
+            initializingAction.accept(controller);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            Alerts.showAlert("IO Exception", "Erro ao carregar a view", e.getMessage(), Alert.AlertType.ERROR);
+            return false;
+        }
+    }
+
+    /**
+     * Prepara as views informadas em segundo plano: lê os arquivos FXML e carrega as classes dos
+     * controladores. As views reaproveitáveis são, em seguida, montadas na thread do JavaFX, uma por vez,
+     * para que a próxima navegação até elas não precise ler o FXML.
+     * <p>
+     * Falhas são apenas registradas; a view será carregada normalmente quando for aberta.
+     *
+     * @param fxmlPaths Os caminhos dos arquivos FXML.
+     */
+    public static void preload(String... fxmlPaths) {
+        for (String fxmlPath : fxmlPaths) {
+            BackgroundTasks.submit(() -> {
+                warmUp(fxmlPath);
+                return fxmlPath;
+            }, path -> {
+                if (REUSABLE.contains(path) && !VIEWS.containsKey(path)) {
+                    try {
+                        VIEWS.put(path, load(path));
+                    } catch (IOException e) {
+                        System.err.println("Não foi possível pré-carregar a view " + path + ": " + e.getMessage());
+                    }
+                }
+            }, e -> System.err.println("Não foi possível pré-carregar a view " + fxmlPath + ": " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Lê o arquivo FXML para a memória e carrega a classe do seu controlador, sem criar nós.
+     * Pode ser chamado de qualquer thread.
+     *
+     * @param fxmlPath O caminho do arquivo FXML.
+     * @throws IOException Se o arquivo não existir ou não puder ser lido.
+     * @throws ClassNotFoundException Se a classe do controlador declarada no FXML não existir.
+     */
+    public static void warmUp(String fxmlPath) throws IOException, ClassNotFoundException {
+        byte[] content = source(fxmlPath);
+        Matcher matcher = CONTROLLER.matcher(new String(content, StandardCharsets.UTF_8));
+        if (matcher.find()) {
+            Class.forName(matcher.group(1), true, ViewRegistry.class.getClassLoader());
+        }
+    }
+
+    /**
+     * Devolve a instância guardada da view, se ela for reaproveitável e não estiver em uso,
+     * ou carrega uma nova.
+     */
+    private static View acquire(String fxmlPath) throws IOException {
+        if (!REUSABLE.contains(fxmlPath)) {
+            return load(fxmlPath);
+        }
+        View view = VIEWS.get(fxmlPath);
+        if (view != null && isDetached(view.root)) {
+            return view;
+        }
+        View created = load(fxmlPath);
+        if (view == null) {
+            VIEWS.put(fxmlPath, created);
+        }
+        return created;
+    }
+
+    private static boolean isDetached(Parent root) {
+        Scene scene = root.getScene();
+        return scene == null && root.getParent() == null;
+    }
+
+    private static URL resource(String fxmlPath) throws FileNotFoundException {
+        URL url = ViewRegistry.class.getResource(fxmlPath);
+        if (url == null) {
+            throw new FileNotFoundException("Arquivo FXML não encontrado: " + fxmlPath);
+        }
+        return url;
+    }
+
+    /**
+     * @return O conteúdo do arquivo FXML, lido do classpath na primeira chamada.
+     */
+    private static byte[] source(String fxmlPath) throws IOException {
+        byte[] content = SOURCES.get(fxmlPath);
+        if (content == null) {
+            try (InputStream in = resource(fxmlPath).openStream()) {
+                content = in.readAllBytes();
+            }
+            SOURCES.put(fxmlPath, content);
+        }
+        return content;
+    }
+}
@@ -1,5 +1,6 @@
 package model.dao;
 
+import java.util.Collection;
 import java.util.List;
 import model.entities.Animal;
 
@@ -18,6 +19,15 @@ public interface AnimalDao {
      */
     void insert(Animal obj);
 
+    /**
+     * Insere vários animais em lote, em uma única transação.
+     * Os IDs gerados são atribuídos a cada animal.
+     * 
+     * @param animais Os animais a serem inseridos (cada um com o cliente já definido).
+     * @return Os IDs gerados, na mesma ordem da coleção.
+     */
+    List<Integer> insertAll(Collection<Animal> animais);
+
     /**
      * Atualiza as informações de um animal no banco de dados.
      * 
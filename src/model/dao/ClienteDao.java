@@ -1,5 +1,6 @@
 package model.dao;
 
+import java.util.Collection;
 import java.util.List;
 import model.entities.Cliente;
 
@@ -18,6 +19,37 @@ public interface ClienteDao {
      */
     List<Cliente> findAll();
 
+    /**
+     * Retorna uma página de clientes ordenada pelo ID, usando paginação por chave (keyset):
+     * a página começa logo após o cliente {@code afterId}, sem OFFSET.
+     * 
+     * @param afterId O ID do último cliente da página anterior, ou {@code null} para a primeira página.
+     * @param limit O número máximo de clientes na página.
+     * @return Uma lista com os clientes da página.
+     */
+    List<Cliente> findPage(Integer afterId, int limit);
+
+    /**
+     * Retorna uma página de clientes ordenada por nome (e ID, para desempate), usando paginação por chave.
+     * 
+     * @param afterNome O nome do último cliente da página anterior, ou {@code null} para a primeira página.
+     * @param afterId O ID do último cliente da página anterior, ou {@code null} para a primeira página.
+     * @param nomePrefixo Filtro opcional: apenas clientes cujo nome começa com este texto ({@code null} para todos).
+     * @param limit O número máximo de clientes na página.
+     * @return Uma lista com os clientes da página.
+     */
+    List<Cliente> findPageOrderByNome(String afterNome, Integer afterId, String nomePrefixo, int limit);
+
+    /**
+     * Busca os clientes cujo nome começa com o texto informado, para a busca enquanto o usuário digita.
+     * A busca usa o índice da coluna {@code nome}.
+     * 
+     * @param prefix O início do nome; sem diferenciar maiúsculas de minúsculas.
+     * @param limit O número máximo de clientes retornados.
+     * @return Os clientes encontrados, ordenados por nome (vazia se {@code prefix} estiver em branco).
+     */
+    List<Cliente> searchByNamePrefix(String prefix, int limit);
+
     /**
      * Busca um cliente no banco de dados pelo seu ID.
      * 
@@ -41,6 +73,15 @@ public interface ClienteDao {
      */
     void insert(Cliente cliente);
 
+    /**
+     * Insere vários clientes (e seus animais) em lote, em uma única transação.
+     * Os IDs gerados são atribuídos a cada cliente e animal.
+     * 
+     * @param clientes Os clientes a serem inseridos.
+     * @return Os IDs gerados dos clientes, na mesma ordem da coleção.
+     */
+    List<Integer> insertAll(Collection<Cliente> clientes);
+
     /**
      * Atualiza as informações de um cliente no banco de dados.
      * 
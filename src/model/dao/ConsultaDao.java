@@ -1,7 +1,13 @@
 package model.dao;
 
 import model.entities.Consulta;
+import model.entities.ConsultaResumo;
+import model.entities.HorarioOcupado;
+import model.entities.ResultadoTransicao;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface que define as operações de acesso a dados (DAO) para a entidade Consulta.
@@ -18,6 +24,15 @@ public interface ConsultaDao {
      */
     void insert(Consulta consulta);
 
+    /**
+     * Insere várias consultas em lote, em uma única transação.
+     * Os IDs gerados são atribuídos a cada consulta.
+     * 
+     * @param consultas As consultas a serem inseridas.
+     * @return Os IDs gerados, na mesma ordem da coleção.
+     */
+    List<Integer> insertAll(Collection<Consulta> consultas);
+
     /**
      * Atualiza as informações de uma consulta existente no banco de dados.
      * 
@@ -48,6 +63,16 @@ public interface ConsultaDao {
      */
     void updateStatus(Consulta consulta, String status);
 
+    /**
+     * Altera de uma só vez o status de várias consultas, apenas daquelas que estão no status esperado.
+     * 
+     * @param ids Os IDs das consultas a serem alteradas.
+     * @param statusAtual O status em que cada consulta precisa estar para ser alterada.
+     * @param novoStatus O novo status das consultas.
+     * @return O resultado da transição para cada ID, na ordem em que os IDs foram informados.
+     */
+    Map<Integer, ResultadoTransicao> updateStatus(Collection<Integer> ids, String statusAtual, String novoStatus);
+
     /**
      * Retorna todas as consultas registradas no banco de dados.
      * 
@@ -55,6 +80,39 @@ public interface ConsultaDao {
      */
     List<Consulta> findAll();
 
+    /**
+     * Retorna uma página de consultas ordenada pelo ID, usando paginação por chave (keyset):
+     * a página começa logo após a consulta {@code afterId}, sem OFFSET.
+     * 
+     * @param afterId O ID da última consulta da página anterior, ou {@code null} para a primeira página.
+     * @param limit O número máximo de consultas na página.
+     * @return Uma lista com as consultas da página.
+     */
+    List<Consulta> findPage(Integer afterId, int limit);
+
+    /**
+     * Retorna uma página de consultas com filtros opcionais, usando paginação por chave sobre o ID.
+     * Filtros nulos são ignorados.
+     * 
+     * @param afterId O ID da última consulta da página anterior, ou {@code null} para a primeira página.
+     * @param limit O número máximo de consultas na página.
+     * @param status Filtro opcional pelo status da consulta.
+     * @param veterinarioId Filtro opcional pelo ID do veterinário.
+     * @param clienteId Filtro opcional pelo ID do cliente.
+     * @param maisRecentesPrimeiro {@code true} para ordenar do ID maior para o menor.
+     * @return Uma lista com as consultas da página.
+     */
+    List<Consulta> findPage(Integer afterId, int limit, String status, Integer veterinarioId, Integer clienteId,
+                            boolean maisRecentesPrimeiro);
+
+    /**
+     * Busca consultas completas que atendem a todos os critérios informados, com um único comando SQL.
+     * 
+     * @param query Os critérios, a ordenação e o limite da busca.
+     * @return Uma lista com as consultas encontradas, na ordem pedida.
+     */
+    List<Consulta> search(ConsultaQuery query);
+
     /**
      * Retorna todas as consultas pendentes no banco de dados.
      * 
@@ -69,6 +127,25 @@ public interface ConsultaDao {
      */
     List<Consulta> findAllRequisitadas();
 
+    /**
+     * Retorna o resumo das consultas com um status específico, trazendo do banco apenas as colunas
+     * exibidas nas listagens (sem montar cliente, animal e veterinário completos).
+     * 
+     * @param status O status das consultas a serem buscadas.
+     * @return Uma lista com os resumos das consultas, ordenada por data e hora.
+     */
+    List<ConsultaResumo> findResumoByStatus(String status);
+
+    /**
+     * Retorna os horários ocupados na agenda dos veterinários em um intervalo de datas: as consultas com
+     * veterinário definido que não foram canceladas nem negadas.
+     * 
+     * @param inicio A primeira data do intervalo.
+     * @param fim A última data do intervalo (inclusive).
+     * @return Os horários ocupados, ordenados por data, veterinário e hora.
+     */
+    List<HorarioOcupado> findHorariosOcupados(LocalDate inicio, LocalDate fim);
+
     /**
      * Retorna todas as consultas de um cliente específico, a partir do seu ID.
      * 
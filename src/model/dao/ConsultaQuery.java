@@ -0,0 +1,250 @@
+package model.dao;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Critérios de busca de consultas, executados por {@link ConsultaDao#search(ConsultaQuery)}.
+ * <p>
+ * Todos os critérios são opcionais e combinados com E; critérios não informados não entram no SQL.
+ * Os métodos devolvem a própria consulta, para que os critérios possam ser encadeados:
+ *
+ * <pre>{@code
+ * List<Consulta> consultas = dao.search(new ConsultaQuery()
+ *         .periodo(LocalDate.now(), LocalDate.now().plusDays(7))
+ *         .status("Pendente", "Requisitada")
+ *         .veterinario(veterinarioId)
+ *         .ordenarPor(ConsultaQuery.Ordem.DATA_HORA, false)
+ *         .limite(50));
+ * }</pre>
+ */
+public class ConsultaQuery {
+
+    /**
+     * Ordenação do resultado. O ID é sempre usado como desempate, para que a ordem seja estável.
+     */
+    public enum Ordem {
+        /** Por data e hora da consulta. */
+        DATA_HORA,
+        /** Pelo ID da consulta (ordem de cadastro). */
+        ID
+    }
+
+    /**
+     * Limite usado quando nenhum é informado.
+     */
+    public static final int LIMITE_PADRAO = 200;
+
+    /**
+     * Maior limite aceito, para que uma busca sem filtros não traga a tabela inteira.
+     */
+    public static final int LIMITE_MAXIMO = 1000;
+
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private final List<String> status = new ArrayList<>();
+    private Integer veterinarioId;
+    private Integer clienteId;
+    private String especie;
+    private String texto;
+    private Ordem ordem = Ordem.DATA_HORA;
+    private boolean decrescente;
+    private int limite = LIMITE_PADRAO;
+
+    /**
+     * Filtra pelo período da consulta.
+     *
+     * @param inicio A primeira data (inclusive), ou {@code null} para não limitar o início.
+     * @param fim A última data (inclusive), ou {@code null} para não limitar o fim.
+     * @return Esta consulta.
+     */
+    public ConsultaQuery periodo(LocalDate inicio, LocalDate fim) {
+        if (inicio != null && fim != null && fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final não pode ser anterior à data inicial.");
+        }
+        this.dataInicio = inicio;
+        this.dataFim = fim;
+        return this;
+    }
+
+    /**
+     * Filtra por um ou mais status; a consulta precisa estar em qualquer um deles.
+     *
+     * @param status Os status aceitos.
+     * @return Esta consulta.
+     */
+    public ConsultaQuery status(String... status) {
+        return status(List.of(status));
+    }
+
+    /**
+     * Filtra por um conjunto de status; a consulta precisa estar em qualquer um deles.
+     *
+     * @param status Os status aceitos (vazio para todos).
+     * @return Esta consulta.
+     */
+    public ConsultaQuery status(Collection<String> status) {
+        this.status.clear();
+        for (String s : new LinkedHashSet<>(status)) {
+            if (s != null && !s.isBlank()) {
+                this.status.add(s.trim());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Filtra pelo veterinário.
+     *
+     * @param veterinarioId O ID do veterinário, ou {@code null} para todos.
+     * @return Esta consulta.
+     */
+    public ConsultaQuery veterinario(Integer veterinarioId) {
+        this.veterinarioId = veterinarioId;
+        return this;
+    }
+
+    /**
+     * Filtra pelo cliente.
+     *
+     * @param clienteId O ID do cliente, ou {@code null} para todos.
+     * @return Esta consulta.
+     */
+    public ConsultaQuery cliente(Integer clienteId) {
+        this.clienteId = clienteId;
+        return this;
+    }
+
+    /**
+     * Filtra pela espécie do animal (por exemplo, "Cão").
+     *
+     * @param especie A espécie, ou {@code null} para todas.
+     * @return Esta consulta.
+     */
+    public ConsultaQuery especie(String especie) {
+        this.especie = especie == null || especie.isBlank() ? null : especie.trim();
+        return this;
+    }
+
+    /**
+     * Filtra pelo texto contido na descrição da consulta ou nos nomes do cliente e do animal.
+     *
+     * @param texto O texto procurado, ou {@code null} para não filtrar.
+     * @return Esta consulta.
+     */
+    public ConsultaQuery texto(String texto) {
+        this.texto = texto == null || texto.isBlank() ? null : texto.trim();
+        return this;
+    }
+
+    /**
+     * Define a ordenação do resultado.
+     *
+     * @param ordem O critério de ordenação.
+     * @param decrescente {@code true} para ordenar do maior para o menor.
+     * @return Esta consulta.
+     */
+    public ConsultaQuery ordenarPor(Ordem ordem, boolean decrescente) {
+        if (ordem == null) {
+            throw new IllegalArgumentException("Ordem não pode ser nula.");
+        }
+        this.ordem = ordem;
+        this.decrescente = decrescente;
+        return this;
+    }
+
+    /**
+     * Define o número máximo de consultas retornadas.
+     *
+     * @param limite O limite, entre 1 e {@link #LIMITE_MAXIMO}.
+     * @return Esta consulta.
+     */
+    public ConsultaQuery limite(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        this.limite = limite;
+        return this;
+    }
+
+    /**
+     * @return A primeira data do período, ou {@code null}.
+     */
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    /**
+     * @return A última data do período, ou {@code null}.
+     */
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    /**
+     * @return Os status aceitos (vazia para todos).
+     */
+    public List<String> getStatus() {
+        return Collections.unmodifiableList(status);
+    }
+
+    /**
+     * @return O ID do veterinário, ou {@code null}.
+     */
+    public Integer getVeterinarioId() {
+        return veterinarioId;
+    }
+
+    /**
+     * @return O ID do cliente, ou {@code null}.
+     */
+    public Integer getClienteId() {
+        return clienteId;
+    }
+
+    /**
+     * @return A espécie do animal, ou {@code null}.
+     */
+    public String getEspecie() {
+        return especie;
+    }
+
+    /**
+     * @return O texto procurado, ou {@code null}.
+     */
+    public String getTexto() {
+        return texto;
+    }
+
+    /**
+     * @return O critério de ordenação.
+     */
+    public Ordem getOrdem() {
+        return ordem;
+    }
+
+    /**
+     * @return {@code true} se a ordenação for decrescente.
+     */
+    public boolean isDecrescente() {
+        return decrescente;
+    }
+
+    /**
+     * @return O número máximo de consultas retornadas.
+     */
+    public int getLimite() {
+        return limite;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsultaQuery [dataInicio=" + dataInicio + ", dataFim=" + dataFim + ", status=" + status
+                + ", veterinarioId=" + veterinarioId + ", clienteId=" + clienteId + ", especie=" + especie
+                + ", texto=" + texto + ", ordem=" + ordem + (decrescente ? " DESC" : "") + ", limite=" + limite + "]";
+    }
+}
@@ -1,12 +1,21 @@
 package model.dao;
 
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
 import db.DB;
 import model.dao.impl.AnimalDaoJDBC;
+import model.dao.impl.CachingAnimalDao;
+import model.dao.impl.CachingClienteDao;
+import model.dao.impl.CachingVeterinarioDao;
 import model.dao.impl.ClienteDaoJDBC;
 import model.dao.impl.ConsultaDaoJDBC;
 import model.dao.impl.FuncionarioDaoJDBC;
 import model.dao.impl.RelatorioDaoJDBC;
-import model.dao.impl.VeterinarioDaoJDBC;  
+import model.dao.impl.VeterinarioDaoJDBC;
+import model.entities.Cliente;
+import model.entities.Veterinario;
 
 /**
  * Fábrica de DAOs (Data Access Objects) que fornece métodos estáticos para criar instâncias 
@@ -14,10 +23,19 @@ import model.dao.impl.VeterinarioDaoJDBC;
  * Veterinário, Animal, Consulta e Relatório.
  * 
  * A fábrica é usada para centralizar a criação das instâncias de DAOs, garantindo a consistência
- * e evitando a criação de múltiplas instâncias de conexões com o banco de dados.
+ * e fazendo com que todos os DAOs emprestem conexões do mesmo pool do banco de dados.
+ * <p>
+ * Os DAOs de clientes e veterinários são envolvidos por um {@link EntityCache} compartilhado: o cliente fica
+ * em cache junto com os seus animais (o DAO de animais invalida o dono a cada gravação) e, dos veterinários,
+ * a lista completa usada pelas telas de consulta. O cache é configurado pelas propriedades
+ * {@code cache.maxSize} (padrão 1000; 0 desativa) e {@code cache.ttlSec} (padrão 600) do arquivo
+ * {@code db.properties}.
  */
 public class DaoFactory {
 
+    private static EntityCache<Integer, Cliente> clienteCache;
+    private static EntityCache<String, List<Veterinario>> veterinarioCache;
+
     /**
      * Cria e retorna uma instância de FuncionarioDao, responsável pelas operações de acesso
      * a dados da entidade Funcionario.
@@ -25,7 +43,18 @@ public class DaoFactory {
      * @return Uma instância de FuncionarioDao.
      */
     public static FuncionarioDao createFuncionarioDao() {
-        return new FuncionarioDaoJDBC(DB.getConnection());
+        return new FuncionarioDaoJDBC(DB.getDataSource());
+    }
+
+    /**
+     * Cria uma instância de FuncionarioDao que executa todas as operações na conexão informada, para que
+     * participe de uma transação (ver {@link db.TransactionTemplate}).
+     * 
+     * @param conn A conexão da transação.
+     * @return Uma instância de FuncionarioDao.
+     */
+    public static FuncionarioDao createFuncionarioDao(Connection conn) {
+        return new FuncionarioDaoJDBC(conn);
     }
 
     /**
@@ -35,7 +64,21 @@ public class DaoFactory {
      * @return Uma instância de ClienteDao.
      */
     public static ClienteDao createClienteDao() {
-        return new ClienteDaoJDBC(DB.getConnection());
+        ClienteDao dao = new ClienteDaoJDBC(DB.getDataSource());
+        return new CachingClienteDao(dao, getClienteCache());
+    }
+
+    /**
+     * Cria uma instância de ClienteDao que executa todas as operações na conexão informada, para que
+     * participe de uma transação (ver {@link db.TransactionTemplate}).
+     * O DAO não usa o cache de clientes: após a confirmação, o chamador deve remover os clientes alterados
+     * de {@link #getClienteCache()}.
+     * 
+     * @param conn A conexão da transação.
+     * @return Uma instância de ClienteDao.
+     */
+    public static ClienteDao createClienteDao(Connection conn) {
+        return new ClienteDaoJDBC(conn);
     }
     
     /**
@@ -45,7 +88,21 @@ public class DaoFactory {
      * @return Uma instância de VeterinarioDao.
      */
     public static VeterinarioDao createVeterinarioDao() {
-        return new VeterinarioDaoJDBC(DB.getConnection());
+        VeterinarioDao dao = new VeterinarioDaoJDBC(DB.getDataSource());
+        return new CachingVeterinarioDao(dao, getVeterinarioCache());
+    }
+
+    /**
+     * Cria uma instância de VeterinarioDao que executa todas as operações na conexão informada, para que
+     * participe de uma transação (ver {@link db.TransactionTemplate}).
+     * O DAO não usa o cache de veterinários: após a confirmação de uma alteração, o chamador deve remover a
+     * lista de {@link #getVeterinarioCache()}.
+     * 
+     * @param conn A conexão da transação.
+     * @return Uma instância de VeterinarioDao.
+     */
+    public static VeterinarioDao createVeterinarioDao(Connection conn) {
+        return new VeterinarioDaoJDBC(conn);
     }
 
     /**
@@ -55,7 +112,20 @@ public class DaoFactory {
      * @return Uma instância de AnimalDao.
      */
     public static AnimalDao createAnimalDao() {
-        return new AnimalDaoJDBC(DB.getConnection());
+        return new CachingAnimalDao(new AnimalDaoJDBC(DB.getDataSource()), getClienteCache());
+    }
+
+    /**
+     * Cria uma instância de AnimalDao que executa todas as operações na conexão informada, para que
+     * participe de uma transação (ver {@link db.TransactionTemplate}).
+     * O DAO não invalida o cache de clientes: após a confirmação, o chamador deve remover os donos dos
+     * animais alterados de {@link #getClienteCache()}.
+     * 
+     * @param conn A conexão da transação.
+     * @return Uma instância de AnimalDao.
+     */
+    public static AnimalDao createAnimalDao(Connection conn) {
+        return new AnimalDaoJDBC(conn);
     }
 
     /**
@@ -65,7 +135,18 @@ public class DaoFactory {
      * @return Uma instância de ConsultaDao.
      */
     public static ConsultaDao createConsultaDao() {
-        return new ConsultaDaoJDBC(DB.getConnection()); 
+        return new ConsultaDaoJDBC(DB.getDataSource()); 
+    }
+
+    /**
+     * Cria uma instância de ConsultaDao que executa todas as operações na conexão informada, para que
+     * participe de uma transação (ver {@link db.TransactionTemplate}).
+     * 
+     * @param conn A conexão da transação.
+     * @return Uma instância de ConsultaDao.
+     */
+    public static ConsultaDao createConsultaDao(Connection conn) {
+        return new ConsultaDaoJDBC(conn);
     }
     
     /**
@@ -75,6 +156,60 @@ public class DaoFactory {
      * @return Uma instância de RelatorioDao.
      */
     public static RelatorioDao createRelatorioDao() {
-        return new RelatorioDaoJDBC(DB.getConnection()); 
+        return new RelatorioDaoJDBC(DB.getDataSource()); 
+    }
+
+    /**
+     * Cria uma instância de RelatorioDao que executa todas as operações na conexão informada, para que
+     * participe de uma transação (ver {@link db.TransactionTemplate}).
+     * 
+     * @param conn A conexão da transação.
+     * @return Uma instância de RelatorioDao.
+     */
+    public static RelatorioDao createRelatorioDao(Connection conn) {
+        return new RelatorioDaoJDBC(conn);
+    }
+
+    /**
+     * Retorna o cache de clientes (com os seus animais) compartilhado pelos DAOs criados por esta fábrica.
+     * 
+     * @return O cache de clientes.
+     */
+    public static synchronized EntityCache<Integer, Cliente> getClienteCache() {
+        if (clienteCache == null) {
+            clienteCache = new EntityCache<>("clientes", DB.getIntProperty("cache.maxSize", 1000),
+                    DB.getIntProperty("cache.ttlSec", 600), CachingClienteDao::copy);
+        }
+        return clienteCache;
+    }
+
+    /**
+     * Retorna o cache da lista de veterinários compartilhado pelos DAOs criados por esta fábrica, com uma
+     * única entrada ({@link CachingVeterinarioDao#TODOS}).
+     * 
+     * @return O cache de veterinários.
+     */
+    public static synchronized EntityCache<String, List<Veterinario>> getVeterinarioCache() {
+        if (veterinarioCache == null) {
+            veterinarioCache = new EntityCache<>("veterinarios", Math.min(1, DB.getIntProperty("cache.maxSize", 1000)),
+                    DB.getIntProperty("cache.ttlSec", 600), CachingVeterinarioDao::copyAll);
+        }
+        return veterinarioCache;
+    }
+
+    /**
+     * Monta as estatísticas dos caches de entidades, uma linha por cache.
+     * 
+     * @return As linhas com as estatísticas.
+     */
+    public static synchronized List<String> cacheReport() {
+        List<String> lines = new ArrayList<>();
+        if (clienteCache != null) {
+            lines.add(clienteCache.toString());
+        }
+        if (veterinarioCache != null) {
+            lines.add(veterinarioCache.toString());
+        }
+        return lines;
     }
 }
@@ -0,0 +1,179 @@
+package model.dao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache de entidades por ID, usado entre os serviços e os DAOs para evitar que dados de referência
+ * (veterinários, clientes) sejam lidos do banco a cada tela.
+ * <p>
+ * O cache é limitado por tamanho, descartando a entrada usada há mais tempo (LRU), e cada entrada expira
+ * após um tempo de vida (TTL). As entidades são mutáveis, por isso o cache guarda uma cópia do objeto lido
+ * e devolve sempre uma nova cópia: alterações feitas em uma tela não afetam o que está em cache até que
+ * sejam salvas. As operações de escrita dos DAOs devem chamar {@link #evict(Object)} para o ID alterado.
+ * <p>
+ * Uma leitura que estava em andamento durante uma remoção não é guardada, para que um valor lido antes
+ * da alteração não volte ao cache depois dela. O cache é seguro entre threads.
+ *
+ * @param <K> O tipo do ID.
+ * @param <V> O tipo da entidade.
+ */
+public final class EntityCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final UnaryOperator<V> copier;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    /**
+     * Contador de remoções, usado para descartar leituras concorrentes com uma escrita.
+     */
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    /**
+     * Cria um cache de entidades.
+     *
+     * @param name O nome do cache, usado nas estatísticas.
+     * @param maxSize O número máximo de entradas; 0 desativa o cache.
+     * @param ttlSeconds O tempo de vida de cada entrada, em segundos.
+     * @param copier A função que copia uma entidade.
+     */
+    public EntityCache(String name, int maxSize, long ttlSeconds, UnaryOperator<V> copier) {
+        this.name = name;
+        this.maxSize = Math.max(0, maxSize);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, ttlSeconds));
+        this.copier = copier;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Busca uma entidade no cache; se não estiver presente (ou tiver expirado), carrega-a com
+     * {@code loader} e a guarda. Resultados {@code null} não são guardados.
+     *
+     * @param key O ID da entidade.
+     * @param loader A função que lê a entidade do banco de dados.
+     * @return Uma cópia da entidade, ou {@code null} se ela não existir.
+     */
+    public V get(K key, Function<K, V> loader) {
+        if (key == null || maxSize == 0) {
+            return loader.apply(key);
+        }
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits++;
+                    return copier.apply(entry.value);
+                }
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        V value = loader.apply(key);
+        if (value != null) {
+            V copy = copier.apply(value);
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry<>(copy, System.nanoTime()));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Remove a entidade do cache após uma alteração no banco de dados.
+     *
+     * @param key O ID da entidade alterada.
+     */
+    public synchronized void evict(K key) {
+        generation++;
+        if (key != null && entries.remove(key) != null) {
+            invalidations++;
+        }
+    }
+
+    /**
+     * Remove todas as entradas do cache.
+     */
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    /**
+     * @return O número de entradas em cache, incluindo as já expiradas ainda não removidas.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return A fração das buscas atendidas pelo cache, entre 0 e 1.
+     */
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Remove as entradas expiradas. As entradas expiradas também são descartadas ao serem buscadas,
+     * então este método serve apenas para liberar memória.
+     */
+    public synchronized void purgeExpired() {
+        long now = System.nanoTime();
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().loadedAt >= ttlNanos) {
+                it.remove();
+                expirations++;
+            }
+        }
+    }
+
+    /**
+     * @return As estatísticas do cache em uma linha.
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("%s: entradas=%d/%d acertos=%d faltas=%d taxa=%.1f%% LRU=%d expiradas=%d invalidadas=%d",
+                name, entries.size(), maxSize, hits, misses, getHitRatio() * 100, evictions, expirations,
+                invalidations);
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
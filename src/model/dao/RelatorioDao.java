@@ -1,6 +1,7 @@
 package model.dao;
 
 import model.entities.Relatorio;
+import model.entities.RelatorioResultado;
 
 import java.util.List;
 
@@ -71,4 +72,15 @@ public interface RelatorioDao {
      * @return Uma lista de objetos Relatorio com dados relacionados a veterinários.
      */
     List<Relatorio> findAllComVeterinario();
+
+    /**
+     * Busca relatórios que contêm todas as palavras informadas na descrição, no diagnóstico ou na recomendação,
+     * ordenados pela relevância.
+     * 
+     * @param texto As palavras procuradas (sintomas, diagnósticos, medicamentos...).
+     * @param offset O número de resultados a pular (início da página).
+     * @param limite O número máximo de resultados da página.
+     * @return Os resultados da página, do mais relevante para o menos relevante, cada um com um trecho do texto.
+     */
+    List<RelatorioResultado> searchByText(String texto, int offset, int limite);
 }
@@ -72,4 +72,15 @@ public interface VeterinarioDao {
      * @return Uma lista de objetos Veterinario.
      */
     List<Veterinario> findAll();
+
+    /**
+     * Retorna uma página de veterinários ordenada por nome (e ID, para desempate), usando paginação
+     * por chave (keyset): a página começa logo após o último veterinário da página anterior, sem OFFSET.
+     * 
+     * @param afterNome O nome do último veterinário da página anterior, ou {@code null} para a primeira página.
+     * @param afterId O ID do último veterinário da página anterior, ou {@code null} para a primeira página.
+     * @param limit O número máximo de veterinários na página.
+     * @return Uma lista com os veterinários da página.
+     */
+    List<Veterinario> findPageOrderByNome(String afterNome, Integer afterId, int limit);
 }
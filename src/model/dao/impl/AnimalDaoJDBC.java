@@ -6,10 +6,15 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import db.DB;
 import db.DbException;
+import db.JdbcBatch;
+import db.SingleConnectionDataSource;
 import model.dao.AnimalDao;
 import model.entities.Animal;
 import model.entities.Cliente;
@@ -18,7 +23,7 @@ import model.entities.Cliente;
  * Implementação da interface AnimalDao usando JDBC para interagir com o banco de dados.
  */
 public class AnimalDaoJDBC implements AnimalDao {
-    private Connection conn;
+    private DataSource dataSource;
 
     /**
      * Construtor para inicializar a conexão com o banco de dados.
@@ -26,31 +31,26 @@ public class AnimalDaoJDBC implements AnimalDao {
      * @param conn A conexão com o banco de dados.
      */
     public AnimalDaoJDBC(Connection conn) {
-        this.conn = conn;
+        this.dataSource = new SingleConnectionDataSource(conn);
     }
-    
+
     /**
-     * Construtor vazio.
+     * Construtor que recebe a fonte de conexões (normalmente o pool da aplicação).
+     * Cada operação empresta uma conexão da fonte e a devolve ao final.
+     * 
+     * @param dataSource A fonte de conexões com o banco de dados.
      */
-    public AnimalDaoJDBC () {
-    	
+    public AnimalDaoJDBC(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
     
     /**
-     * Verifica se a conexão com o banco de dados está aberta e, se não, reabre.
+     * Construtor vazio, que utiliza o pool de conexões da aplicação.
      */
-    public void verificarConexao() {
-        try {
-            if (conn == null || conn.isClosed()) {
-                System.out.println("Conexão fechada ou nula, reabrindo...");
-                conn = DB.getConnection();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erro ao verificar ou reabrir a conexão", e);
-        }
+    public AnimalDaoJDBC () {
+        this.dataSource = DB.getDataSource();
     }
-
+    
     /**
      * Insere um novo animal no banco de dados.
      * 
@@ -60,7 +60,8 @@ public class AnimalDaoJDBC implements AnimalDao {
     public void insert(Animal animal) {
         String sql = "INSERT INTO animais (nome, idade, raca, especie, cliente_id) VALUES (?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, animal.getNome());
             stmt.setInt(2, animal.getIdade());
             stmt.setString(3, animal.getRaca());
@@ -81,6 +82,32 @@ public class AnimalDaoJDBC implements AnimalDao {
         }
     }
 
+    /**
+     * Insere vários animais em lote ({@code addBatch}/{@code executeBatch}), em blocos de
+     * {@link DB#getBatchSize()} registros e em uma única transação.
+     * 
+     * @param animais Os animais a serem inseridos.
+     * @return Os IDs gerados, na mesma ordem da coleção.
+     * @throws IllegalArgumentException Se algum animal não tiver cliente com ID definido.
+     * @throws DbException Se ocorrer um erro na inserção; nenhum animal é inserido nesse caso.
+     */
+    @Override
+    public List<Integer> insertAll(Collection<Animal> animais) {
+        for (Animal animal : animais) {
+            if (animal.getCliente() == null || animal.getCliente().getId() == null) {
+                throw new IllegalArgumentException("Animal sem cliente definido: " + animal.getNome());
+            }
+        }
+        String sql = "INSERT INTO animais (nome, idade, raca, especie, cliente_id) VALUES (?, ?, ?, ?, ?)";
+        return JdbcBatch.insertAll(dataSource, sql, animais, DB.getBatchSize(), (st, animal) -> {
+            st.setString(1, animal.getNome());
+            st.setInt(2, animal.getIdade());
+            st.setString(3, animal.getRaca());
+            st.setString(4, animal.getEspecie());
+            st.setInt(5, animal.getCliente().getId());
+        }, Animal::setId);
+    }
+
     /**
      * Atualiza os dados de um animal no banco de dados.
      * 
@@ -88,7 +115,8 @@ public class AnimalDaoJDBC implements AnimalDao {
      */
     @Override
     public void update(Animal obj) {
-        try (PreparedStatement st = conn.prepareStatement(
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(
                 "UPDATE animais SET nome = ?, idade = ?, raca = ?, especie = ?, cliente_id = ? WHERE id = ?")) {
             st.setString(1, obj.getNome());
             st.setInt(2, obj.getIdade());
@@ -109,7 +137,8 @@ public class AnimalDaoJDBC implements AnimalDao {
      */
     @Override
     public void deleteById(Integer id) {
-        try (PreparedStatement st = conn.prepareStatement("DELETE FROM animais WHERE id = ?")) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement("DELETE FROM animais WHERE id = ?")) {
             st.setInt(1, id);
             st.executeUpdate();
         } catch (SQLException e) {
@@ -125,11 +154,12 @@ public class AnimalDaoJDBC implements AnimalDao {
      */
     @Override
     public Animal findById(Integer id) {
-        try (PreparedStatement st = conn.prepareStatement("SELECT * FROM animais WHERE id = ?")) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement("SELECT * FROM animais WHERE id = ?")) {
             st.setInt(1, id);
             try (ResultSet rs = st.executeQuery()) {
                 if (rs.next()) {
-                    return instantiateAnimal(rs);
+                    return instantiateAnimal(rs, new IdentityMap());
                 }
             }
         } catch (SQLException e) {
@@ -146,10 +176,12 @@ public class AnimalDaoJDBC implements AnimalDao {
     @Override
     public List<Animal> findAll() {
         List<Animal> list = new ArrayList<>();
-        try (PreparedStatement st = conn.prepareStatement("SELECT * FROM animais")) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement("SELECT * FROM animais")) {
             try (ResultSet rs = st.executeQuery()) {
+                IdentityMap identityMap = new IdentityMap();
                 while (rs.next()) {
-                    list.add(instantiateAnimal(rs));
+                    list.add(instantiateAnimal(rs, identityMap));
                 }
             }
         } catch (SQLException e) {
@@ -167,11 +199,13 @@ public class AnimalDaoJDBC implements AnimalDao {
     @Override
     public List<Animal> findByClienteId(Integer clienteId) {
         List<Animal> list = new ArrayList<>();
-        try (PreparedStatement st = conn.prepareStatement("SELECT * FROM animais WHERE cliente_id = ?")) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement("SELECT * FROM animais WHERE cliente_id = ?")) {
             st.setInt(1, clienteId);
             try (ResultSet rs = st.executeQuery()) {
+                IdentityMap identityMap = new IdentityMap();
                 while (rs.next()) {
-                    list.add(instantiateAnimal(rs));
+                    list.add(instantiateAnimal(rs, identityMap));
                 }
             }
         } catch (SQLException e) {
@@ -190,19 +224,23 @@ public class AnimalDaoJDBC implements AnimalDao {
      * Método auxiliar para instanciar um objeto Animal a partir de um ResultSet.
      * 
      * @param rs O ResultSet contendo os dados do animal.
+     * @param identityMap O mapa de identidade da leitura em andamento, que reaproveita o cliente já visto.
      * @return O objeto Animal instanciado.
      * @throws SQLException Se ocorrer um erro ao acessar os dados no ResultSet.
      */
-    private Animal instantiateAnimal(ResultSet rs) throws SQLException {
+    private Animal instantiateAnimal(ResultSet rs, IdentityMap identityMap) throws SQLException {
         Animal animal = new Animal();
         animal.setId(rs.getInt("id"));
         animal.setNome(rs.getString("nome"));
         animal.setIdade(rs.getInt("idade"));
         animal.setRaca(rs.getString("raca"));
         animal.setEspecie(rs.getString("especie"));
-        Cliente cliente = new Cliente(); 
-        cliente.setId(rs.getInt("cliente_id"));
-        animal.setCliente(cliente);
+        int clienteId = rs.getInt("cliente_id");
+        animal.setCliente(identityMap.get(Cliente.class, clienteId, () -> {
+            Cliente cliente = new Cliente();
+            cliente.setId(clienteId);
+            return cliente;
+        }));
         return animal;
     }
     
@@ -217,7 +255,8 @@ public class AnimalDaoJDBC implements AnimalDao {
         List<Animal> lista = new ArrayList<>();
         String sql = "SELECT * FROM animais WHERE cliente_id = ?";
         
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, clienteId);
             try (ResultSet rs = st.executeQuery()) {
                 while (rs.next()) {
@@ -245,7 +284,8 @@ public class AnimalDaoJDBC implements AnimalDao {
     public void deleteByClienteId(Integer clienteId) {
         String sql = "DELETE FROM animais WHERE cliente_id = ?";
 
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, clienteId);
             st.executeUpdate();
         } catch (SQLException e) {
@@ -0,0 +1,158 @@
+package model.dao.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Preparação dos termos da busca por texto e extração dos trechos exibidos nos resultados.
+ * <p>
+ * Os termos digitados são reduzidos a palavras (letras e dígitos), de modo que nenhum operador da busca
+ * booleana do MySQL chega ao banco vindo do usuário. Cada palavra vira um termo obrigatório com busca por
+ * prefixo ({@code +febre*}), então "vomit" encontra "vômito" e "vomitando". Palavras menores que o tamanho
+ * mínimo indexado pelo InnoDB ({@code innodb_ft_min_token_size}, 3 por padrão) são descartadas, porque o
+ * índice não as contém.
+ */
+final class BuscaTexto {
+
+    /**
+     * Tamanho mínimo de palavra indexado pelo InnoDB com a configuração padrão.
+     */
+    static final int TAMANHO_MINIMO = 3;
+
+    /**
+     * Número máximo de termos enviados ao banco; termos além deste são ignorados.
+     */
+    static final int MAX_TERMOS = 8;
+
+    private static final int TAMANHO_TRECHO = 160;
+    private static final int CONTEXTO_ANTES = 50;
+
+    private BuscaTexto() {
+    }
+
+    /**
+     * Extrai as palavras procuradas do texto digitado.
+     *
+     * @param texto O texto digitado pelo usuário.
+     * @return As palavras distintas, em minúsculas, na ordem digitada (vazia se nenhuma puder ser buscada).
+     */
+    static List<String> termos(String texto) {
+        Set<String> termos = new LinkedHashSet<>();
+        if (texto != null) {
+            for (String palavra : texto.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (palavra.length() >= TAMANHO_MINIMO && termos.size() < MAX_TERMOS) {
+                    termos.add(palavra);
+                }
+            }
+        }
+        return new ArrayList<>(termos);
+    }
+
+    /**
+     * Monta a expressão da busca booleana: todos os termos obrigatórios, cada um por prefixo.
+     *
+     * @param termos As palavras obtidas por {@link #termos(String)}.
+     * @return A expressão para {@code MATCH ... AGAINST (? IN BOOLEAN MODE)}.
+     */
+    static String expressaoBooleana(List<String> termos) {
+        StringBuilder expressao = new StringBuilder();
+        for (String termo : termos) {
+            if (expressao.length() > 0) {
+                expressao.append(' ');
+            }
+            expressao.append('+').append(termo).append('*');
+        }
+        return expressao.toString();
+    }
+
+    /**
+     * Escolhe, entre os textos de um relatório, o que contém mais termos e recorta um trecho em torno
+     * da primeira ocorrência. A comparação ignora maiúsculas e acentos, como o índice do banco.
+     *
+     * @param termos As palavras procuradas.
+     * @param textos Os textos do relatório, em ordem de preferência (nulos são ignorados).
+     * @return O trecho, com reticências onde o texto foi cortado, ou uma string vazia se não houver texto.
+     */
+    static String trecho(List<String> termos, String... textos) {
+        List<String> termosSemAcento = new ArrayList<>(termos.size());
+        for (String termo : termos) {
+            termosSemAcento.add(semAcento(termo));
+        }
+        String melhorTexto = null;
+        int melhorPosicao = -1;
+        int melhorQuantidade = -1;
+        for (String texto : textos) {
+            if (texto == null || texto.isBlank()) {
+                continue;
+            }
+            String comparavel = semAcento(texto);
+            int quantidade = 0;
+            int primeira = -1;
+            for (String termo : termosSemAcento) {
+                int posicao = inicioDePalavra(comparavel, termo);
+                if (posicao >= 0) {
+                    quantidade++;
+                    primeira = primeira < 0 ? posicao : Math.min(primeira, posicao);
+                }
+            }
+            if (quantidade > melhorQuantidade) {
+                melhorTexto = texto;
+                melhorPosicao = primeira;
+                melhorQuantidade = quantidade;
+            }
+        }
+        if (melhorTexto == null) {
+            return "";
+        }
+        return recortar(melhorTexto, Math.max(0, melhorPosicao));
+    }
+
+    /**
+     * @return A primeira posição em que o termo aparece no início de uma palavra, ou -1.
+     */
+    private static int inicioDePalavra(String texto, String termo) {
+        int posicao = texto.indexOf(termo);
+        while (posicao > 0 && Character.isLetterOrDigit(texto.charAt(posicao - 1))) {
+            posicao = texto.indexOf(termo, posicao + 1);
+        }
+        return posicao;
+    }
+
+    private static String recortar(String texto, int posicao) {
+        int inicio = Math.max(0, posicao - CONTEXTO_ANTES);
+        while (inicio > 0 && !Character.isWhitespace(texto.charAt(inicio - 1))) {
+            inicio--;
+        }
+        int fim = Math.min(texto.length(), inicio + TAMANHO_TRECHO);
+        while (fim < texto.length() && fim > posicao && !Character.isWhitespace(texto.charAt(fim))) {
+            fim--;
+        }
+        if (fim <= posicao) {
+            fim = Math.min(texto.length(), inicio + TAMANHO_TRECHO);
+        }
+        String trecho = texto.substring(inicio, fim).strip().replaceAll("\\s+", " ");
+        return (inicio > 0 ? "…" : "") + trecho + (fim < texto.length() ? "…" : "");
+    }
+
+    /**
+     * Converte o texto para minúsculas sem acentos, mantendo o comprimento (um caractere por caractere),
+     * para que as posições encontradas valham também no texto original.
+     */
+    private static String semAcento(String texto) {
+        StringBuilder resultado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 128) {
+                resultado.append(Character.toLowerCase(c));
+            } else {
+                String decomposto = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+                resultado.append(Character.toLowerCase(decomposto.charAt(0)));
+            }
+        }
+        return resultado.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package model.dao.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import model.dao.AnimalDao;
+import model.dao.EntityCache;
+import model.entities.Animal;
+import model.entities.Cliente;
+
+/**
+ * {@link AnimalDao} que remove do cache de clientes o dono de cada animal gravado, delegando todas as
+ * operações ao DAO original.
+ * <p>
+ * Os clientes ficam em cache junto com os seus animais ({@link CachingClienteDao}), então qualquer
+ * inclusão, alteração ou exclusão de animal precisa invalidar o cliente dono, mesmo quando a operação
+ * falha. Na alteração e na exclusão, o dono gravado é lido antes, para que um animal transferido de
+ * cliente invalide também o dono anterior.
+ */
+public class CachingAnimalDao implements AnimalDao {
+
+    private final AnimalDao dao;
+    private final EntityCache<Integer, Cliente> clienteCache;
+
+    /**
+     * Cria o DAO.
+     * 
+     * @param dao O DAO que acessa o banco de dados.
+     * @param clienteCache O cache de clientes a ser invalidado.
+     */
+    public CachingAnimalDao(AnimalDao dao, EntityCache<Integer, Cliente> clienteCache) {
+        this.dao = dao;
+        this.clienteCache = clienteCache;
+    }
+
+    @Override
+    public void insert(Animal obj) {
+        try {
+            dao.insert(obj);
+        } finally {
+            evictDono(obj);
+        }
+    }
+
+    @Override
+    public List<Integer> insertAll(Collection<Animal> animais) {
+        try {
+            return dao.insertAll(animais);
+        } finally {
+            for (Animal animal : animais) {
+                evictDono(animal);
+            }
+        }
+    }
+
+    @Override
+    public void update(Animal obj) {
+        Animal gravado = obj.getId() != null ? dao.findById(obj.getId()) : null;
+        try {
+            dao.update(obj);
+        } finally {
+            evictDono(gravado);
+            evictDono(obj);
+        }
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        Animal gravado = id != null ? dao.findById(id) : null;
+        try {
+            dao.deleteById(id);
+        } finally {
+            evictDono(gravado);
+        }
+    }
+
+    @Override
+    public void deleteByClienteId(Integer clienteId) {
+        try {
+            dao.deleteByClienteId(clienteId);
+        } finally {
+            clienteCache.evict(clienteId);
+        }
+    }
+
+    @Override
+    public Animal findById(Integer id) {
+        return dao.findById(id);
+    }
+
+    @Override
+    public List<Animal> findAll() {
+        return dao.findAll();
+    }
+
+    @Override
+    public List<Animal> findByClienteId(Integer clienteId) {
+        return dao.findByClienteId(clienteId);
+    }
+
+    @Override
+    public List<Animal> findAnimaisByClienteId(Integer clienteId) {
+        return dao.findAnimaisByClienteId(clienteId);
+    }
+
+    @Override
+    public List<Animal> buscarPorClienteId(int clienteId) {
+        return dao.buscarPorClienteId(clienteId);
+    }
+
+    private void evictDono(Animal animal) {
+        if (animal != null && animal.getCliente() != null) {
+            clienteCache.evict(animal.getCliente().getId());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package model.dao.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import model.dao.AnimalDao;
+import model.dao.ClienteDao;
+import model.dao.EntityCache;
+import model.entities.Animal;
+import model.entities.Cliente;
+
+/**
+ * {@link ClienteDao} que atende {@link #findById(Integer)} a partir de um {@link EntityCache},
+ * delegando as demais operações ao DAO original.
+ * <p>
+ * O cache guarda o cliente junto com os seus animais, que é o que a tela de consultas lê ao selecionar um
+ * cliente; um acerto não acessa o banco. {@code insert}, {@code insertAll}, {@code update} e
+ * {@code deleteById} removem do cache os clientes alterados, mesmo quando a operação falha, e as gravações
+ * de animais feitas pelo {@link AnimalDao} da {@code DaoFactory} ({@link CachingAnimalDao}) removem o
+ * cliente dono do animal. A busca por usuário não passa pelo cache, pois é usada na
+ * autenticação e precisa da senha atual.
+ */
+public class CachingClienteDao implements ClienteDao {
+
+    private final ClienteDao dao;
+    private final EntityCache<Integer, Cliente> cache;
+
+    /**
+     * Cria o DAO com cache.
+     * 
+     * @param dao O DAO que acessa o banco de dados.
+     * @param cache O cache de clientes, compartilhado entre as instâncias.
+     */
+    public CachingClienteDao(ClienteDao dao, EntityCache<Integer, Cliente> cache) {
+        this.dao = dao;
+        this.cache = cache;
+    }
+
+    /**
+     * Copia um cliente e os seus animais; os animais copiados apontam para o cliente copiado.
+     * 
+     * @param obj O cliente a ser copiado.
+     * @return A cópia.
+     */
+    public static Cliente copy(Cliente obj) {
+        Cliente copia = new Cliente(obj.getId(), obj.getNome(), obj.getEmail(), obj.getTelefone(), obj.getSenha(),
+                obj.getEndereco(), obj.getCpf());
+        List<Animal> animais = new ArrayList<>();
+        if (obj.getAnimais() != null) {
+            for (Animal animal : obj.getAnimais()) {
+                animais.add(new Animal(animal.getId(), animal.getNome(), animal.getIdade(), animal.getRaca(),
+                        animal.getEspecie(), copia));
+            }
+        }
+        copia.setAnimais(animais);
+        return copia;
+    }
+
+    @Override
+    public List<Cliente> findAll() {
+        return dao.findAll();
+    }
+
+    @Override
+    public List<Cliente> findPage(Integer afterId, int limit) {
+        return dao.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<Cliente> findPageOrderByNome(String afterNome, Integer afterId, String nomePrefixo, int limit) {
+        return dao.findPageOrderByNome(afterNome, afterId, nomePrefixo, limit);
+    }
+
+    @Override
+    public List<Cliente> searchByNamePrefix(String prefix, int limit) {
+        return dao.searchByNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public Cliente findById(Integer id) {
+        return cache.get(id, dao::findById);
+    }
+
+    @Override
+    public Cliente findByUsername(String username) {
+        return dao.findByUsername(username);
+    }
+
+    @Override
+    public void insert(Cliente cliente) {
+        try {
+            dao.insert(cliente);
+        } finally {
+            cache.evict(cliente.getId());
+        }
+    }
+
+    @Override
+    public List<Integer> insertAll(Collection<Cliente> clientes) {
+        try {
+            return dao.insertAll(clientes);
+        } finally {
+            for (Cliente cliente : clientes) {
+                cache.evict(cliente.getId());
+            }
+        }
+    }
+
+    @Override
+    public void update(Cliente cliente) {
+        try {
+            dao.update(cliente);
+        } finally {
+            cache.evict(cliente.getId());
+        }
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        try {
+            dao.deleteById(id);
+        } finally {
+            cache.evict(id);
+        }
+    }
+}
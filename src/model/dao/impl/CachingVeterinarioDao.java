@@ -0,0 +1,129 @@
+package model.dao.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.dao.EntityCache;
+import model.dao.VeterinarioDao;
+import model.entities.Veterinario;
+
+/**
+ * {@link VeterinarioDao} que atende {@link #findAll()} a partir de um {@link EntityCache}, delegando as
+ * demais operações ao DAO original.
+ * <p>
+ * A lista completa de veterinários é lida a cada abertura das telas de consulta, por isso é ela que fica em
+ * cache; {@link #findById(Integer)} também é respondido a partir dessa lista. {@code insert}, {@code update} e
+ * {@code deleteById} removem a lista do cache, mesmo quando a operação falha. As buscas por email, CPF e
+ * usuário não passam pelo cache, pois são usadas na autenticação e precisam da senha atual.
+ */
+public class CachingVeterinarioDao implements VeterinarioDao {
+
+    /**
+     * Chave da lista completa de veterinários no cache.
+     */
+    public static final String TODOS = "todos";
+
+    private final VeterinarioDao dao;
+    private final EntityCache<String, List<Veterinario>> cache;
+
+    /**
+     * Cria o DAO com cache.
+     * 
+     * @param dao O DAO que acessa o banco de dados.
+     * @param cache O cache da lista de veterinários, compartilhado entre as instâncias.
+     */
+    public CachingVeterinarioDao(VeterinarioDao dao, EntityCache<String, List<Veterinario>> cache) {
+        this.dao = dao;
+        this.cache = cache;
+    }
+
+    /**
+     * Copia um veterinário, para que o objeto em cache não seja alterado por quem o recebeu.
+     * 
+     * @param obj O veterinário a ser copiado.
+     * @return A cópia.
+     */
+    public static Veterinario copy(Veterinario obj) {
+        return new Veterinario(obj.getId(), obj.getNome(), obj.getCpf(), obj.getEmail(), obj.getTelefone(),
+                obj.getSenha());
+    }
+
+    /**
+     * Copia uma lista de veterinários, copiando também cada veterinário.
+     * 
+     * @param lista A lista a ser copiada.
+     * @return A cópia.
+     */
+    public static List<Veterinario> copyAll(List<Veterinario> lista) {
+        List<Veterinario> copia = new ArrayList<>(lista.size());
+        for (Veterinario obj : lista) {
+            copia.add(copy(obj));
+        }
+        return copia;
+    }
+
+    @Override
+    public void insert(Veterinario obj) {
+        try {
+            dao.insert(obj);
+        } finally {
+            cache.evict(TODOS);
+        }
+    }
+
+    @Override
+    public void update(Veterinario obj) {
+        try {
+            dao.update(obj);
+        } finally {
+            cache.evict(TODOS);
+        }
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        try {
+            dao.deleteById(id);
+        } finally {
+            cache.evict(TODOS);
+        }
+    }
+
+    @Override
+    public Veterinario findById(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        for (Veterinario obj : findAll()) {
+            if (id.equals(obj.getId())) {
+                return obj;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Veterinario findByEmail(String email) {
+        return dao.findByEmail(email);
+    }
+
+    @Override
+    public Veterinario findByCpf(String cpf) {
+        return dao.findByCpf(cpf);
+    }
+
+    @Override
+    public Veterinario findByUsername(String username) {
+        return dao.findByUsername(username);
+    }
+
+    @Override
+    public List<Veterinario> findAll() {
+        return cache.get(TODOS, key -> dao.findAll());
+    }
+
+    @Override
+    public List<Veterinario> findPageOrderByNome(String afterNome, Integer afterId, int limit) {
+        return dao.findPageOrderByNome(afterNome, afterId, limit);
+    }
+}
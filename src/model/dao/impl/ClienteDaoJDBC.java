@@ -5,10 +5,15 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import db.DB;
 import db.DbException;
+import db.JdbcBatch;
+import db.SingleConnectionDataSource;
 import model.dao.ClienteDao;
 import model.entities.Cliente;
 import model.entities.Animal;
@@ -20,7 +25,7 @@ import model.entities.Animal;
  */
 public class ClienteDaoJDBC implements ClienteDao {
 
-    private Connection conn;
+    private DataSource dataSource;
 
     /**
      * Construtor que recebe a conexão com o banco de dados.
@@ -28,29 +33,24 @@ public class ClienteDaoJDBC implements ClienteDao {
      * @param conn A conexão com o banco de dados.
      */
     public ClienteDaoJDBC(Connection conn) {
-        this.conn = conn;
+        this.dataSource = new SingleConnectionDataSource(conn);
     }
-    
+
     /**
-     * Construtor padrão.
+     * Construtor que recebe a fonte de conexões (normalmente o pool da aplicação).
+     * Cada operação empresta uma conexão da fonte e a devolve ao final.
+     * 
+     * @param dataSource A fonte de conexões com o banco de dados.
      */
-    public ClienteDaoJDBC () {
-    	
+    public ClienteDaoJDBC(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
     
     /**
-     * Verifica se a conexão com o banco de dados está aberta e, caso não esteja, reabre a conexão.
+     * Construtor padrão, que utiliza o pool de conexões da aplicação.
      */
-    public void verificarConexao() {
-        try {
-            if (conn == null || conn.isClosed()) {
-                System.out.println("Conexão fechada ou nula, reabrindo...");
-                conn = DB.getConnection();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erro ao verificar ou reabrir a conexão", e);
-        }
+    public ClienteDaoJDBC () {
+        this.dataSource = DB.getDataSource();
     }
     
     /**
@@ -60,8 +60,10 @@ public class ClienteDaoJDBC implements ClienteDao {
      */
     @Override
     public void insert(Cliente obj) {
+        Connection conn = null;
         PreparedStatement st = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement(
                     "INSERT INTO cliente "
                     + "(nome, email, telefone, senha, endereco, cpf) "
@@ -97,6 +99,74 @@ public class ClienteDaoJDBC implements ClienteDao {
             throw new DbException(e.getMessage());
         } finally {
             DB.closeStatement(st);
+            DB.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Insere vários clientes em lote, seguidos de todos os seus animais, em uma única transação.
+     * Os clientes e os animais são enviados em blocos de {@link DB#getBatchSize()} registros.
+     * 
+     * @param clientes Os clientes a serem inseridos.
+     * @return Os IDs gerados dos clientes, na mesma ordem da coleção.
+     * @throws DbException Se ocorrer um erro na inserção; nenhum cliente ou animal é inserido nesse caso.
+     */
+    @Override
+    public List<Integer> insertAll(Collection<Cliente> clientes) {
+        Connection conn = null;
+        boolean ownTransaction = false;
+        try {
+            conn = dataSource.getConnection();
+            ownTransaction = conn.getAutoCommit();
+            if (ownTransaction) {
+                conn.setAutoCommit(false);
+            }
+
+            // Com o autocommit desligado, os dois lotes participam da mesma transação
+            List<Integer> ids = JdbcBatch.insertAll(new SingleConnectionDataSource(conn),
+                    "INSERT INTO cliente (nome, email, telefone, senha, endereco, cpf) VALUES (?, ?, ?, ?, ?, ?)",
+                    clientes, DB.getBatchSize(), (st, obj) -> {
+                        st.setString(1, obj.getNome());
+                        st.setString(2, obj.getEmail());
+                        st.setString(3, obj.getTelefone());
+                        st.setString(4, obj.getSenha());
+                        st.setString(5, obj.getEndereco());
+                        st.setString(6, obj.getCpf());
+                    }, Cliente::setId);
+
+            List<Animal> animais = new ArrayList<>();
+            for (Cliente obj : clientes) {
+                if (obj.getAnimais() != null) {
+                    for (Animal animal : obj.getAnimais()) {
+                        animal.setClienteId(obj.getId());
+                        animais.add(animal);
+                    }
+                }
+            }
+            new AnimalDaoJDBC(conn).insertAll(animais);
+
+            if (ownTransaction) {
+                conn.commit();
+            }
+            return ids;
+        } catch (SQLException | RuntimeException e) {
+            if (ownTransaction) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    e.addSuppressed(ex);
+                }
+            }
+            throw e instanceof DbException ? (DbException) e : new DbException(e.getMessage());
+        } finally {
+            if (ownTransaction) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    // A conexão será descartada pelo pool caso esteja inutilizável.
+                }
+            }
+            DB.closeConnection(conn);
         }
     }
 
@@ -107,8 +177,10 @@ public class ClienteDaoJDBC implements ClienteDao {
      */
     @Override
     public void update(Cliente obj) {
+        Connection conn = null;
         PreparedStatement st = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement(
                     "UPDATE cliente "
                     + "SET nome = ?, email = ?, telefone = ?, senha = ?, endereco = ?, cpf = ? "
@@ -134,30 +206,33 @@ public class ClienteDaoJDBC implements ClienteDao {
             throw new DbException(e.getMessage());
         } finally {
             DB.closeStatement(st);
+            DB.closeConnection(conn);
         }
     }
 
     /**
-     * Exclui um cliente do banco de dados, removendo também seus animais associados.
+     * Exclui um cliente do banco de dados.
+     * <p>
+     * Os animais do cliente precisam ser removidos antes, na mesma transação
+     * (ver {@code ClienteService.remove}), pois referenciam o cliente por chave estrangeira.
      * 
      * @param id O id do cliente a ser excluído.
      */
     @Override
     public void deleteById(Integer id) {
+        Connection conn = null;
         PreparedStatement st = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement("DELETE FROM cliente WHERE id = ?");
 
             st.setInt(1, id);
             st.executeUpdate();
-
-            // Remover os animais do cliente
-            new AnimalDaoJDBC(conn).deleteByClienteId(id);
-
         } catch (SQLException e) {
             throw new DbException(e.getMessage());
         } finally {
             DB.closeStatement(st);
+            DB.closeConnection(conn);
         }
     }
 
@@ -169,9 +244,11 @@ public class ClienteDaoJDBC implements ClienteDao {
      */
     @Override
     public Cliente findById(Integer id) {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement(
                     "SELECT * FROM cliente WHERE id = ?");
 
@@ -192,6 +269,7 @@ public class ClienteDaoJDBC implements ClienteDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
         }
     }
 
@@ -203,9 +281,11 @@ public class ClienteDaoJDBC implements ClienteDao {
      */
     @Override
     public Cliente findByUsername(String username) {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement(
                     "SELECT * FROM cliente WHERE nome = ?");
 
@@ -226,6 +306,7 @@ public class ClienteDaoJDBC implements ClienteDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
         }
     }
 
@@ -255,9 +336,11 @@ public class ClienteDaoJDBC implements ClienteDao {
      */
     @Override
     public List<Cliente> findAll() {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement("SELECT * FROM cliente ORDER BY nome");
             rs = st.executeQuery();
 
@@ -271,6 +354,121 @@ public class ClienteDaoJDBC implements ClienteDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Retorna uma página de clientes ordenada pelo ID, a partir do cliente seguinte a {@code afterId}.
+     * 
+     * @param afterId O ID do último cliente da página anterior, ou null para a primeira página.
+     * @param limit O número máximo de clientes na página.
+     * @return Os clientes da página.
+     */
+    @Override
+    public List<Cliente> findPage(Integer afterId, int limit) {
+        Connection conn = null;
+        PreparedStatement st = null;
+        ResultSet rs = null;
+        try {
+            conn = dataSource.getConnection();
+            st = conn.prepareStatement("SELECT * FROM cliente WHERE id > ? ORDER BY id LIMIT ?");
+            st.setInt(1, afterId != null ? afterId : 0);
+            st.setInt(2, limit);
+            rs = st.executeQuery();
+
+            List<Cliente> list = new ArrayList<>();
+            while (rs.next()) {
+                list.add(instantiateCliente(rs));
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new DbException(e.getMessage());
+        } finally {
+            DB.closeStatement(st);
+            DB.closeResultSet(rs);
+            DB.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Retorna uma página de clientes ordenada por nome e ID, a partir do cliente seguinte a
+     * ({@code afterNome}, {@code afterId}), opcionalmente filtrando pelo início do nome.
+     * 
+     * @param afterNome O nome do último cliente da página anterior, ou null para a primeira página.
+     * @param afterId O ID do último cliente da página anterior, ou null para a primeira página.
+     * @param nomePrefixo Início do nome dos clientes a retornar, ou null para todos.
+     * @param limit O número máximo de clientes na página.
+     * @return Os clientes da página.
+     */
+    @Override
+    public List<Cliente> findPageOrderByNome(String afterNome, Integer afterId, String nomePrefixo, int limit) {
+        boolean temCursor = afterNome != null && afterId != null;
+        boolean temFiltro = nomePrefixo != null && !nomePrefixo.isBlank();
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM cliente WHERE 1 = 1");
+        if (temFiltro) {
+            sql.append(" AND nome LIKE ?");
         }
+        if (temCursor) {
+            sql.append(" AND (nome > ? OR (nome = ? AND id > ?))");
+        }
+        sql.append(" ORDER BY nome, id LIMIT ?");
+
+        Connection conn = null;
+        PreparedStatement st = null;
+        ResultSet rs = null;
+        try {
+            conn = dataSource.getConnection();
+            st = conn.prepareStatement(sql.toString());
+            int i = 1;
+            if (temFiltro) {
+                st.setString(i++, escapeLike(nomePrefixo.trim()) + "%");
+            }
+            if (temCursor) {
+                st.setString(i++, afterNome);
+                st.setString(i++, afterNome);
+                st.setInt(i++, afterId);
+            }
+            st.setInt(i, limit);
+            rs = st.executeQuery();
+
+            List<Cliente> list = new ArrayList<>();
+            while (rs.next()) {
+                list.add(instantiateCliente(rs));
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new DbException(e.getMessage());
+        } finally {
+            DB.closeStatement(st);
+            DB.closeResultSet(rs);
+            DB.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Busca os clientes cujo nome começa com o texto informado, ordenados por nome.
+     * 
+     * @param prefix O início do nome.
+     * @param limit O número máximo de clientes retornados.
+     * @return Os clientes encontrados (vazia se {@code prefix} estiver em branco).
+     */
+    @Override
+    public List<Cliente> searchByNamePrefix(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return new ArrayList<>();
+        }
+        return findPageOrderByNome(null, null, prefix, limit);
+    }
+
+    /**
+     * Escapa os caracteres especiais do LIKE para que o texto seja tratado literalmente.
+     * 
+     * @param texto O texto digitado pelo usuário.
+     * @return O texto com {@code \}, {@code %} e {@code _} escapados.
+     */
+    private static String escapeLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
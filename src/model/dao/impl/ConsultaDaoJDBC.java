@@ -10,15 +10,28 @@ import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
 
 import db.DB;
 import db.DbException;
+import db.JdbcBatch;
+import db.SingleConnectionDataSource;
 import model.dao.ConsultaDao;
-import model.dao.VeterinarioDao;
+import model.dao.ConsultaQuery;
 import model.entities.Animal;
 import model.entities.Cliente;
 import model.entities.Consulta;
+import model.entities.ConsultaResumo;
+import model.entities.HorarioOcupado;
+import model.entities.ResultadoTransicao;
 import model.entities.Veterinario;
 
 /**
@@ -30,7 +43,40 @@ import model.entities.Veterinario;
  */
 public class ConsultaDaoJDBC implements ConsultaDao {
     
-    private Connection conn;
+    private DataSource dataSource;
+
+    /**
+     * Consulta base que traz a consulta com cliente, animal e veterinário em uma única linha,
+     * mapeada por {@link #instantiateConsultaCompleta(ResultSet, IdentityMap)}.
+     */
+    private static final String SELECT_CONSULTA_COMPLETA = """
+        SELECT
+            c.id, c.data, c.hora, c.descricao, c.status, c.criadoPor,
+            cl.id AS cliente_id, cl.nome AS cliente_nome, cl.email AS cliente_email, cl.telefone AS cliente_telefone,
+            cl.senha AS cliente_senha, cl.endereco AS cliente_endereco, cl.cpf AS cliente_cpf,
+            a.id AS animal_id, a.nome AS animal_nome, a.idade AS animal_idade, a.raca AS animal_raca, a.especie AS animal_especie,
+            v.id AS veterinario_id, v.nome AS veterinario_nome, v.cpf AS veterinario_cpf, v.email AS veterinario_email,
+            v.telefone AS veterinario_telefone, v.senha AS veterinario_senha
+        FROM consulta c
+        LEFT JOIN cliente cl ON c.clienteId = cl.id
+        LEFT JOIN animais a ON c.animal_id = a.id
+        LEFT JOIN veterinario v ON c.veterinarioId = v.id
+        """;
+
+    /**
+     * Inserção de uma consulta, compartilhada por {@link #insert(Consulta)} e {@link #insertAll(Collection)}
+     * para que os dois caminhos gravem sempre as mesmas colunas.
+     */
+    private static final String INSERT_CONSULTA = """
+        INSERT INTO Consulta (data, hora, descricao, status, clienteId, veterinarioId, criadoPor, animal_id)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    /**
+     * Montador dos comandos de {@link #search(ConsultaQuery)}, com o cache dos formatos de busca
+     * compartilhado por todas as instâncias do DAO.
+     */
+    private static final ConsultaSqlBuilder BUSCA = new ConsultaSqlBuilder(SELECT_CONSULTA_COMPLETA);
 
     /**
      * Construtor que recebe uma conexão {@link Connection} já estabelecida.
@@ -38,32 +84,25 @@ public class ConsultaDaoJDBC implements ConsultaDao {
      * @param conn A conexão com o banco de dados.
      */
     public ConsultaDaoJDBC(Connection conn) {
-        this.conn = conn;
+        this.dataSource = new SingleConnectionDataSource(conn);
     }
 
     /**
-     * Construtor padrão. 
-     * Este construtor não inicializa a conexão. A conexão deve ser fornecida posteriormente.
+     * Construtor que recebe a fonte de conexões (normalmente o pool da aplicação).
+     * Cada operação empresta uma conexão da fonte e a devolve ao final.
+     * 
+     * @param dataSource A fonte de conexões com o banco de dados.
      */
-    public ConsultaDaoJDBC () {
+    public ConsultaDaoJDBC(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     /**
-     * Verifica a validade da conexão com o banco de dados e a reabre se necessário.
-     * <p>
-     * Esse método é utilizado para garantir que a conexão não esteja fechada ou nula antes de
-     * executar operações no banco de dados.
+     * Construtor padrão. 
+     * Utiliza o pool de conexões da aplicação.
      */
-    public void verificarConexao() {
-        try {
-            if (conn == null || conn.isClosed()) {
-                System.out.println("Conexão fechada ou nula, reabrindo...");
-                conn = DB.getConnection();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erro ao verificar ou reabrir a conexão", e);
-        }
+    public ConsultaDaoJDBC () {
+        this.dataSource = DB.getDataSource();
     }
 
     /**
@@ -82,12 +121,8 @@ public class ConsultaDaoJDBC implements ConsultaDao {
     	    throw new IllegalArgumentException("Cliente inválido ou sem ID configurado na consulta.");
     	}
 
-    	String sql = """
-            INSERT INTO Consulta (data, hora, descricao, status, clienteId, veterinarioId, criadoPor, animal_id) 
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-
-        try (PreparedStatement st = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(INSERT_CONSULTA, Statement.RETURN_GENERATED_KEYS)) {
             // Configurando os parâmetros da consulta
             st.setDate(1, Date.valueOf(consulta.getData()));  // Convertendo LocalDate para Date
             st.setTime(2, Time.valueOf(consulta.getHora()));  // Convertendo LocalTime para Time
@@ -122,52 +157,36 @@ public class ConsultaDaoJDBC implements ConsultaDao {
     /**
      * Atualiza uma consulta existente no banco de dados.
      * <p>
-     * Esse método atualiza os dados de uma consulta no banco de dados, baseado no ID da consulta.
+     * Esse método atualiza os dados de uma consulta no banco de dados, baseado no ID da consulta, incluindo
+     * o veterinário, para que a reserva feita em {@code ConsultaService} corresponda ao que fica gravado.
      * 
      * @param consulta A consulta a ser atualizada, contendo os novos dados.
      * @throws DbException Se ocorrer um erro ao atualizar os dados da consulta.
      */
     @Override
     public void update(Consulta consulta) {
-        String sql = "UPDATE consulta SET descricao = ?, hora = ?, data = ? WHERE id = ?";
+        String sql = "UPDATE consulta SET descricao = ?, hora = ?, data = ?, veterinarioId = ? WHERE id = ?";
 
-        try {
-            // Verifica se a conexão está fechada e reabre, se necessário
-            if (conn == null || conn.isClosed()) {
-                conn = getConnection(); // Método para obter conexão
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
+            // Define os parâmetros na ordem correta
+            st.setString(1, consulta.getDescricao());             // descricao
+            st.setTime(2, Time.valueOf(consulta.getHora()));      // hora
+            st.setDate(3, Date.valueOf(consulta.getData()));      // data
+            if (consulta.getVeterinario() != null) {
+                st.setInt(4, consulta.getVeterinario().getId());  // veterinarioId
+            } else {
+                st.setNull(4, java.sql.Types.INTEGER);
             }
+            st.setInt(5, consulta.getId());                       // id
 
-            try (PreparedStatement st = conn.prepareStatement(sql)) {
-                // Define os parâmetros na ordem correta
-                st.setString(1, consulta.getDescricao());             // descricao
-                st.setTime(2, Time.valueOf(consulta.getHora()));      // hora
-                st.setDate(3, Date.valueOf(consulta.getData()));      // data
-                st.setInt(4, consulta.getId());                       // id
-
-                // Executa a atualização
-                st.executeUpdate();
-            }
+            // Executa a atualização
+            st.executeUpdate();
         } catch (SQLException e) {
             throw new DbException("Erro ao atualizar consulta: " + e.getMessage());
         }
     }
 
-    /**
-     * Obtém uma conexão com o banco de dados, verificando se a conexão já está estabelecida.
-     * <p>
-     * Se a conexão estiver nula ou fechada, este método irá criar uma nova conexão com o banco.
-     * 
-     * @return A conexão com o banco de dados.
-     * @throws SQLException Se ocorrer um erro ao obter a conexão.
-     */
-    private Connection getConnection() throws SQLException {
-        // Verifica se a conexão já foi estabelecida, caso contrário, cria uma nova conexão.
-        if (conn == null || conn.isClosed()) {
-            conn = DB.getConnection();  
-        }
-        return conn;
-    }
-
     /**
      * Exclui uma consulta do banco de dados pelo ID.
      * 
@@ -177,7 +196,8 @@ public class ConsultaDaoJDBC implements ConsultaDao {
     @Override
     public void deleteById(Integer id) {
         String sql = "DELETE FROM Consulta WHERE id = ?";
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, id);
             st.executeUpdate();
         } catch (SQLException e) {
@@ -185,8 +205,47 @@ public class ConsultaDaoJDBC implements ConsultaDao {
         }
     }
 
+    /**
+     * Insere várias consultas em lote ({@code addBatch}/{@code executeBatch}), em blocos de
+     * {@link DB#getBatchSize()} registros e em uma única transação.
+     * 
+     * @param consultas As consultas a serem inseridas.
+     * @return Os IDs gerados, na mesma ordem da coleção.
+     * @throws IllegalArgumentException Se alguma consulta não tiver cliente ou animal com ID configurado.
+     * @throws DbException Se ocorrer um erro na inserção; nenhuma consulta é inserida nesse caso.
+     */
+    @Override
+    public List<Integer> insertAll(Collection<Consulta> consultas) {
+        for (Consulta consulta : consultas) {
+            if (consulta.getCliente() == null || consulta.getCliente().getId() == null) {
+                throw new IllegalArgumentException("Cliente inválido ou sem ID configurado na consulta.");
+            }
+            if (consulta.getAnimal() == null || consulta.getAnimal().getId() == null) {
+                throw new IllegalArgumentException("Animal inválido ou sem ID configurado na consulta.");
+            }
+        }
+
+        return JdbcBatch.insertAll(dataSource, INSERT_CONSULTA, consultas, DB.getBatchSize(), (st, consulta) -> {
+            st.setDate(1, Date.valueOf(consulta.getData()));
+            st.setTime(2, Time.valueOf(consulta.getHora()));
+            st.setString(3, consulta.getDescricao());
+            st.setString(4, consulta.getStatus());
+            st.setInt(5, consulta.getCliente().getId());
+            if (consulta.getVeterinario() != null) {
+                st.setInt(6, consulta.getVeterinario().getId());
+            } else {
+                st.setNull(6, java.sql.Types.INTEGER);
+            }
+            st.setString(7, consulta.getCriadoPor());
+            st.setInt(8, consulta.getAnimal().getId());
+        }, Consulta::setId);
+    }
+
     /**
      * Busca uma consulta no banco de dados pelo ID.
+     * <p>
+     * A consulta é carregada completa (cliente, animal e veterinário) em uma única ida ao banco,
+     * por meio de LEFT JOINs a partir da tabela de consultas.
      * 
      * @param id O ID da consulta a ser buscada.
      * @return A consulta correspondente ao ID fornecido, ou {@code null} caso não seja encontrada.
@@ -194,40 +253,195 @@ public class ConsultaDaoJDBC implements ConsultaDao {
      */
     @Override
     public Consulta findById(Integer id) {
-        PreparedStatement st = null;
-        ResultSet rs = null;
-        try {
-            st = conn.prepareStatement("SELECT * FROM consulta WHERE id = ?");
-            st.setInt(1, id);
-            rs = st.executeQuery();
+        String sql = SELECT_CONSULTA_COMPLETA + "WHERE c.id = ?";
 
-            if (rs.next()) {
-                Consulta consulta = new Consulta();
-                consulta.setId(rs.getInt("id"));
-                
-                // Verificação de null para a data
-                LocalDate data = rs.getDate("data") != null ? rs.getDate("data").toLocalDate() : null;
-                consulta.setData(data);
-
-                // Atribuindo Veterinário à consulta
-                VeterinarioDao veterinarioDao = new VeterinarioDaoJDBC(conn);
-                Veterinario veterinario = veterinarioDao.findById(rs.getInt("veterinario_id"));
-
-                // Verificando se o veterinário é null antes de atribuir
-                if (veterinario != null) {
-                    consulta.setVeterinario(veterinario);
-                } else {
-                    consulta.setVeterinario(null);  
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
+            st.setInt(1, id);
+            try (ResultSet rs = st.executeQuery()) {
+                if (rs.next()) {
+                    return instantiateConsultaCompleta(rs, new IdentityMap());
                 }
-
-                return consulta;
             }
             return null;
         } catch (SQLException e) {
             throw new DbException("Erro ao buscar consulta com id " + id + ": " + e.getMessage(), e);
-        } finally {
-            DB.closeStatement(st);
-            DB.closeResultSet(rs);
+        }
+    }
+
+    /**
+     * Instancia uma {@link Consulta} completa a partir de uma linha com as colunas de consulta,
+     * cliente, animal e veterinário (como a produzida por {@link #SELECT_CONSULTA_COMPLETA}).
+     * <p>
+     * Cliente, animal e veterinário ficam nulos quando o LEFT JOIN não encontra o registro associado.
+     * Os que já apareceram em linhas anteriores da mesma leitura são reaproveitados de {@code identityMap}.
+     * 
+     * @param rs O {@link ResultSet} posicionado na linha a ser mapeada.
+     * @param identityMap O mapa de identidade da leitura em andamento.
+     * @return A consulta com todas as associações preenchidas.
+     * @throws SQLException Se ocorrer um erro ao ler os dados do {@link ResultSet}.
+     */
+    private Consulta instantiateConsultaCompleta(ResultSet rs, IdentityMap identityMap) throws SQLException {
+        Consulta consulta = new Consulta();
+        consulta.setId(rs.getInt("id"));
+
+        Date data = rs.getDate("data");
+        consulta.setData(data != null ? data.toLocalDate() : null);
+        Time hora = rs.getTime("hora");
+        consulta.setHora(hora != null ? hora.toLocalTime() : null);
+        consulta.setDescricao(rs.getString("descricao"));
+        consulta.setStatus(rs.getString("status"));
+        consulta.setCriadoPor(rs.getString("criadoPor"));
+
+        Cliente cliente = null;
+        int clienteId = rs.getInt("cliente_id");
+        if (!rs.wasNull()) {
+            cliente = identityMap.get(Cliente.class, clienteId, () -> new Cliente(
+                clienteId,
+                rs.getString("cliente_nome"),
+                rs.getString("cliente_email"),
+                rs.getString("cliente_telefone"),
+                rs.getString("cliente_senha"),
+                rs.getString("cliente_endereco"),
+                rs.getString("cliente_cpf")
+            ));
+            consulta.setCliente(cliente);
+            consulta.setClienteId(clienteId);
+            consulta.setClienteNome(cliente.getNome());
+        }
+
+        int animalId = rs.getInt("animal_id");
+        if (!rs.wasNull()) {
+            Cliente dono = cliente;
+            Animal animal = identityMap.get(Animal.class, animalId, () -> new Animal(
+                animalId,
+                rs.getString("animal_nome"),
+                rs.getInt("animal_idade"),
+                rs.getString("animal_raca"),
+                rs.getString("animal_especie"),
+                dono
+            ));
+            consulta.setAnimal(animal);
+            consulta.setAnimalNome(animal.getNome());
+        }
+
+        int veterinarioId = rs.getInt("veterinario_id");
+        if (!rs.wasNull()) {
+            consulta.setVeterinario(identityMap.get(Veterinario.class, veterinarioId, () -> new Veterinario(
+                veterinarioId,
+                rs.getString("veterinario_nome"),
+                rs.getString("veterinario_cpf"),
+                rs.getString("veterinario_email"),
+                rs.getString("veterinario_telefone"),
+                rs.getString("veterinario_senha")
+            )));
+        }
+
+        return consulta;
+    }
+
+    /**
+     * Retorna uma página de consultas completas ordenada pelo ID, a partir da consulta seguinte a {@code afterId}.
+     * 
+     * @param afterId O ID da última consulta da página anterior, ou {@code null} para a primeira página.
+     * @param limit O número máximo de consultas na página.
+     * @return Uma lista de {@link Consulta} da página.
+     * @throws DbException Se ocorrer um erro ao buscar as consultas no banco de dados.
+     */
+    @Override
+    public List<Consulta> findPage(Integer afterId, int limit) {
+        return findPage(afterId, limit, null, null, null, false);
+    }
+
+    /**
+     * Retorna uma página de consultas completas com filtros opcionais.
+     * <p>
+     * A paginação é feita por chave (keyset) sobre {@code c.id}: em vez de OFFSET, a página seguinte
+     * começa logo após o último ID já exibido, de modo que o custo de cada página não cresce com a
+     * posição na lista.
+     * 
+     * @param afterId O ID da última consulta da página anterior, ou {@code null} para a primeira página.
+     * @param limit O número máximo de consultas na página.
+     * @param status Filtro opcional pelo status da consulta.
+     * @param veterinarioId Filtro opcional pelo ID do veterinário.
+     * @param clienteId Filtro opcional pelo ID do cliente.
+     * @param maisRecentesPrimeiro {@code true} para ordenar do ID maior para o menor.
+     * @return Uma lista de {@link Consulta} da página.
+     * @throws DbException Se ocorrer um erro ao buscar as consultas no banco de dados.
+     */
+    @Override
+    public List<Consulta> findPage(Integer afterId, int limit, String status, Integer veterinarioId, Integer clienteId,
+                                   boolean maisRecentesPrimeiro) {
+        StringBuilder sql = new StringBuilder(SELECT_CONSULTA_COMPLETA).append("WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (afterId != null) {
+            sql.append(maisRecentesPrimeiro ? " AND c.id < ?" : " AND c.id > ?");
+            params.add(afterId);
+        }
+        if (status != null) {
+            sql.append(" AND c.status = ?");
+            params.add(status);
+        }
+        if (veterinarioId != null) {
+            sql.append(" AND c.veterinarioId = ?");
+            params.add(veterinarioId);
+        }
+        if (clienteId != null) {
+            sql.append(" AND c.clienteId = ?");
+            params.add(clienteId);
+        }
+        sql.append(maisRecentesPrimeiro ? " ORDER BY c.id DESC" : " ORDER BY c.id").append(" LIMIT ?");
+        params.add(limit);
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                st.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = st.executeQuery()) {
+                List<Consulta> consultas = new ArrayList<>();
+                IdentityMap identityMap = new IdentityMap();
+                while (rs.next()) {
+                    consultas.add(instantiateConsultaCompleta(rs, identityMap));
+                }
+                return consultas;
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao buscar página de consultas: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Busca consultas completas por critérios combinados, com um único comando parametrizado montado por
+     * {@link ConsultaSqlBuilder}. O texto do comando depende apenas de quais critérios foram informados, de
+     * modo que buscas repetidas reaproveitam o statement preparado.
+     * 
+     * @param query Os critérios, a ordenação e o limite da busca.
+     * @return Uma lista de {@link Consulta} na ordem pedida.
+     * @throws DbException Se ocorrer um erro ao buscar as consultas no banco de dados.
+     */
+    @Override
+    public List<Consulta> search(ConsultaQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Critérios de busca não podem ser nulos.");
+        }
+        ConsultaSqlBuilder.Comando comando = BUSCA.build(query);
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(comando.getSql())) {
+            List<Object> parametros = comando.getParametros();
+            for (int i = 0; i < parametros.size(); i++) {
+                st.setObject(i + 1, parametros.get(i));
+            }
+            try (ResultSet rs = st.executeQuery()) {
+                List<Consulta> consultas = new ArrayList<>();
+                IdentityMap identityMap = new IdentityMap();
+                while (rs.next()) {
+                    consultas.add(instantiateConsultaCompleta(rs, identityMap));
+                }
+                return consultas;
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao buscar consultas: " + e.getMessage(), e);
         }
     }
 
@@ -241,8 +455,7 @@ public class ConsultaDaoJDBC implements ConsultaDao {
      * @throws RuntimeException Se ocorrer um erro ao executar a consulta SQL ou ao mapear os resultados.
      */
     public List<Consulta> findAll() {
-        verificarConexao();  // Verifica e reabre a conexão se necessário
-        try {
+        try (Connection conn = dataSource.getConnection()) {
             // Atualizando a consulta para buscar todos os dados necessários
             String sql = "SELECT c.id, c.descricao, c.data, c.hora, c.status, c.criadoPor, " + 
                          "a.id AS animal_id, a.nome AS animal_nome, a.idade AS animal_idade, a.raca AS animal_raca, a.especie AS animal_especie, " +
@@ -253,66 +466,69 @@ public class ConsultaDaoJDBC implements ConsultaDao {
                          "LEFT JOIN cliente cl ON c.clienteid = cl.id " +
                          "LEFT JOIN veterinario v ON c.veterinarioid = v.id";
             
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-            List<Consulta> consultas = new ArrayList<>();
-            
-            while (rs.next()) {
-                // Criando Cliente
-                Cliente cliente = new Cliente(
-                    rs.getInt("clienteid"), 
-                    rs.getString("cliente_nome"),
-                    rs.getString("cliente_email"),
-                    rs.getString("cliente_telefone"),
-                    rs.getString("cliente_senha"),
-                    rs.getString("cliente_endereco"),
-                    rs.getString("cliente_cpf")
-                );
-                
-                // Criando Veterinário
-                Veterinario veterinario = new Veterinario(
-                    rs.getInt("veterinarioid"), 
-                    rs.getString("veterinario_nome"),
-                    rs.getString("veterinario_cpf"),
-                    rs.getString("veterinario_email"),
-                    rs.getString("veterinario_telefone"),
-                    rs.getString("veterinario_senha")
-                );
-                
-                // Criando Animal, se existir
-                Animal animal = null;
-                int animalId = rs.getInt("animal_id");
-                if (animalId != 0) {
-                    animal = new Animal(
-                        animalId, 
-                        rs.getString("animal_nome"),
-                        rs.getInt("animal_idade"),
-                        rs.getString("animal_raca"),
-                        rs.getString("animal_especie"),
-                        cliente  // Associando o cliente ao animal
+            try (PreparedStatement ps = conn.prepareStatement(sql);
+                 ResultSet rs = ps.executeQuery()) {
+                List<Consulta> consultas = new ArrayList<>();
+                // Clientes, veterinários e animais repetidos entre as linhas são instanciados uma única vez
+                IdentityMap identityMap = new IdentityMap();
+
+                while (rs.next()) {
+                    // Criando Cliente
+                    Cliente cliente = identityMap.get(Cliente.class, rs.getInt("clienteid"), () -> new Cliente(
+                        rs.getInt("clienteid"), 
+                        rs.getString("cliente_nome"),
+                        rs.getString("cliente_email"),
+                        rs.getString("cliente_telefone"),
+                        rs.getString("cliente_senha"),
+                        rs.getString("cliente_endereco"),
+                        rs.getString("cliente_cpf")
+                    ));
+                    
+                    // Criando Veterinário
+                    Veterinario veterinario = identityMap.get(Veterinario.class, rs.getInt("veterinarioid"), () -> new Veterinario(
+                        rs.getInt("veterinarioid"), 
+                        rs.getString("veterinario_nome"),
+                        rs.getString("veterinario_cpf"),
+                        rs.getString("veterinario_email"),
+                        rs.getString("veterinario_telefone"),
+                        rs.getString("veterinario_senha")
+                    ));
+                    
+                    // Criando Animal, se existir
+                    Animal animal = null;
+                    int animalId = rs.getInt("animal_id");
+                    if (animalId != 0) {
+                        animal = identityMap.get(Animal.class, animalId, () -> new Animal(
+                            animalId, 
+                            rs.getString("animal_nome"),
+                            rs.getInt("animal_idade"),
+                            rs.getString("animal_raca"),
+                            rs.getString("animal_especie"),
+                            cliente  // Associando o cliente ao animal
+                        ));
+                    }
+                    
+                    // Criando a data e hora
+                    LocalDate data = rs.getDate("data").toLocalDate();
+                    LocalTime hora = rs.getTime("hora").toLocalTime();
+                    
+                    // Criando a consulta
+                    Consulta consulta = new Consulta(
+                        rs.getInt("id"), 
+                        cliente, 
+                        veterinario, 
+                        data, 
+                        hora, 
+                        rs.getString("descricao"), 
+                        rs.getString("status"), 
+                        rs.getString("criadoPor"), 
+                        animal
                     );
+                    
+                    consultas.add(consulta);
                 }
-                
-                // Criando a data e hora
-                LocalDate data = rs.getDate("data").toLocalDate();
-                LocalTime hora = rs.getTime("hora").toLocalTime();
-                
-                // Criando a consulta
-                Consulta consulta = new Consulta(
-                    rs.getInt("id"), 
-                    cliente, 
-                    veterinario, 
-                    data, 
-                    hora, 
-                    rs.getString("descricao"), 
-                    rs.getString("status"), 
-                    rs.getString("criadoPor"), 
-                    animal
-                );
-                
-                consultas.add(consulta);
+                return consultas;
             }
-            return consultas;
         } catch (SQLException e) {
             e.printStackTrace();
             throw new RuntimeException("Erro ao consultar o banco de dados", e);
@@ -375,7 +591,7 @@ public class ConsultaDaoJDBC implements ConsultaDao {
         """;
 
         List<Consulta> consultas = new ArrayList<>();
-        try (Connection conn = DB.getConnection();
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, status);
@@ -434,7 +650,8 @@ public class ConsultaDaoJDBC implements ConsultaDao {
     public List<Consulta> findConsultasPendentesByVeterinarioId(Integer veterinarioId) {
         List<Consulta> consultas = new ArrayList<>();
         String sql = "SELECT * FROM consulta WHERE veterinarioId = ? AND status = 'Pendente'"; 
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, veterinarioId);
             ResultSet rs = st.executeQuery();
             
@@ -486,7 +703,8 @@ public class ConsultaDaoJDBC implements ConsultaDao {
         List<Consulta> consultas = new ArrayList<>();
         String sql = "SELECT * FROM consulta WHERE status = 'pendente'";
 
-        try (PreparedStatement pst = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pst = conn.prepareStatement(sql)) {
             ResultSet rs = pst.executeQuery();
             while (rs.next()) {
                 Consulta consulta = new Consulta();
@@ -514,7 +732,8 @@ public class ConsultaDaoJDBC implements ConsultaDao {
     @Override
     public void updateStatus(Consulta consulta, String status) {
         String sql = "UPDATE consulta SET status = ? WHERE id = ?";
-        try (PreparedStatement pst = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pst = conn.prepareStatement(sql)) {
             pst.setString(1, status);  // 'aceita' ou 'negada'
             pst.setInt(2, consulta.getId());
             pst.executeUpdate();
@@ -523,16 +742,115 @@ public class ConsultaDaoJDBC implements ConsultaDao {
         }
     }
 
+    /**
+     * Altera o status de várias consultas com um único UPDATE por bloco de IDs, protegido pelo status atual.
+     * <p>
+     * Em uma única transação, as consultas são primeiro lidas e bloqueadas ({@code SELECT ... FOR UPDATE}),
+     * para saber o resultado de cada ID, e depois atualizadas com
+     * {@code UPDATE ... WHERE status = ? AND id IN (...)}. Consultas que não estão no status esperado
+     * (por exemplo, já aprovadas por outro usuário) não são alteradas. Listas grandes de IDs são
+     * divididas em blocos de {@link DB#getBatchSize()}.
+     * 
+     * @param ids Os IDs das consultas a serem alteradas.
+     * @param statusAtual O status em que cada consulta precisa estar para ser alterada.
+     * @param novoStatus O novo status das consultas.
+     * @return O resultado da transição para cada ID, na ordem em que os IDs foram informados.
+     * @throws DbException Se ocorrer um erro no banco de dados; nesse caso nenhuma consulta é alterada.
+     */
+    @Override
+    public Map<Integer, ResultadoTransicao> updateStatus(Collection<Integer> ids, String statusAtual, String novoStatus) {
+        List<Integer> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Integer, ResultadoTransicao> resultados = new LinkedHashMap<>();
+        if (distintos.isEmpty()) {
+            return resultados;
+        }
+        int bloco = DB.getBatchSize();
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean ownTransaction = conn.getAutoCommit();
+            if (ownTransaction) {
+                conn.setAutoCommit(false);
+            }
+            try {
+                for (int inicio = 0; inicio < distintos.size(); inicio += bloco) {
+                    List<Integer> parte = distintos.subList(inicio, Math.min(inicio + bloco, distintos.size()));
+                    resultados.putAll(updateStatusBloco(conn, parte, statusAtual, novoStatus));
+                }
+                if (ownTransaction) {
+                    conn.commit();
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (ownTransaction) {
+                    conn.rollback();
+                }
+                throw e;
+            } finally {
+                if (ownTransaction) {
+                    conn.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao atualizar o status das consultas: " + e.getMessage(), e);
+        }
+        return resultados;
+    }
+
+    /**
+     * Atualiza um bloco de consultas na conexão informada, sem controlar a transação.
+     */
+    private Map<Integer, ResultadoTransicao> updateStatusBloco(Connection conn, List<Integer> ids,
+                                                               String statusAtual, String novoStatus) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+
+        Map<Integer, String> statusEncontrados = new HashMap<>();
+        try (PreparedStatement st = conn.prepareStatement(
+                "SELECT id, status FROM consulta WHERE id IN (" + placeholders + ") FOR UPDATE")) {
+            for (int i = 0; i < ids.size(); i++) {
+                st.setInt(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = st.executeQuery()) {
+                while (rs.next()) {
+                    statusEncontrados.put(rs.getInt("id"), rs.getString("status"));
+                }
+            }
+        }
+
+        try (PreparedStatement st = conn.prepareStatement(
+                "UPDATE consulta SET status = ? WHERE status = ? AND id IN (" + placeholders + ")")) {
+            st.setString(1, novoStatus);
+            st.setString(2, statusAtual);
+            for (int i = 0; i < ids.size(); i++) {
+                st.setInt(i + 3, ids.get(i));
+            }
+            st.executeUpdate();
+        }
+
+        Map<Integer, ResultadoTransicao> resultados = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            String status = statusEncontrados.get(id);
+            if (status == null && !statusEncontrados.containsKey(id)) {
+                resultados.put(id, ResultadoTransicao.NAO_ENCONTRADA);
+            } else if (status != null && status.equalsIgnoreCase(statusAtual)) {
+                // Mesma regra do banco, cuja collation compara o status sem diferenciar maiúsculas
+                resultados.put(id, ResultadoTransicao.ATUALIZADA);
+            } else {
+                resultados.put(id, ResultadoTransicao.STATUS_DIFERENTE);
+            }
+        }
+        return resultados;
+    }
+
     /**
      * Método responsável por instanciar uma consulta a partir de um {@link ResultSet}.
      * <p>
      * Este método é utilizado internamente para mapear os dados de um {@link ResultSet} em um objeto {@link Consulta}.
      * 
      * @param rs O {@link ResultSet} contendo os dados da consulta.
+     * @param identityMap O mapa de identidade da leitura em andamento, que reaproveita cliente e veterinário já vistos.
      * @return Um objeto {@link Consulta} com os dados mapeados.
      * @throws SQLException Se ocorrer um erro ao ler os dados do {@link ResultSet}.
      */
-    private Consulta instantiateConsulta(ResultSet rs) throws SQLException {
+    private Consulta instantiateConsulta(ResultSet rs, IdentityMap identityMap) throws SQLException {
         Consulta consulta = new Consulta();
         consulta.setId(rs.getInt("id"));
         consulta.setData(rs.getDate("data").toLocalDate());  // Converting Date to LocalDate
@@ -541,13 +859,19 @@ public class ConsultaDaoJDBC implements ConsultaDao {
         consulta.setStatus(rs.getString("status"));
         consulta.setCriadoPor(rs.getString("criadoPor"));
 
-        Cliente cliente = new Cliente();
-        cliente.setId(rs.getInt("clienteId"));
-        consulta.setCliente(cliente);
+        int clienteId = rs.getInt("clienteId");
+        consulta.setCliente(identityMap.get(Cliente.class, clienteId, () -> {
+            Cliente cliente = new Cliente();
+            cliente.setId(clienteId);
+            return cliente;
+        }));
 
-        Veterinario veterinario = new Veterinario();
-        veterinario.setId(rs.getInt("veterinarioId"));
-        consulta.setVeterinario(veterinario);
+        int veterinarioId = rs.getInt("veterinarioId");
+        consulta.setVeterinario(identityMap.get(Veterinario.class, veterinarioId, () -> {
+            Veterinario veterinario = new Veterinario();
+            veterinario.setId(veterinarioId);
+            return veterinario;
+        }));
 
         return consulta;
     }
@@ -571,7 +895,8 @@ public class ConsultaDaoJDBC implements ConsultaDao {
                      "JOIN cliente cl ON c.clienteid = cl.id " +  // Relacionando consulta com cliente
                      "WHERE c.status = 'Requisitada'";  // Alterando o status para "Requisitada"
 
-        try (PreparedStatement pst = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pst = conn.prepareStatement(sql)) {
             ResultSet rs = pst.executeQuery();
             while (rs.next()) {
                 Consulta consulta = new Consulta();
@@ -588,6 +913,96 @@ public class ConsultaDaoJDBC implements ConsultaDao {
         return consultas;
     }
 
+    /**
+     * Busca o resumo das consultas com o status informado.
+     * <p>
+     * Seleciona apenas as colunas exibidas nas listagens (ID, data, hora, status e os nomes do cliente,
+     * do animal e do veterinário) e as mapeia diretamente para {@link ConsultaResumo}, sem trafegar
+     * senhas, CPFs e endereços nem instanciar as entidades associadas.
+     * 
+     * @param status O status das consultas a serem buscadas.
+     * @return Uma lista de {@link ConsultaResumo} ordenada por data e hora.
+     * @throws DbException Se ocorrer um erro ao executar a consulta SQL.
+     */
+    @Override
+    public List<ConsultaResumo> findResumoByStatus(String status) {
+        String sql = """
+            SELECT c.id, c.data, c.hora, c.status,
+                   cl.nome AS cliente_nome, a.nome AS animal_nome, v.nome AS veterinario_nome
+            FROM consulta c
+            LEFT JOIN cliente cl ON c.clienteId = cl.id
+            LEFT JOIN animais a ON c.animal_id = a.id
+            LEFT JOIN veterinario v ON c.veterinarioId = v.id
+            WHERE c.status = ?
+            ORDER BY c.data, c.hora, c.id
+        """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
+            st.setString(1, status);
+            try (ResultSet rs = st.executeQuery()) {
+                List<ConsultaResumo> resumos = new ArrayList<>();
+                while (rs.next()) {
+                    Date data = rs.getDate("data");
+                    Time hora = rs.getTime("hora");
+                    resumos.add(new ConsultaResumo(
+                        rs.getInt("id"),
+                        data != null ? data.toLocalDate() : null,
+                        hora != null ? hora.toLocalTime() : null,
+                        rs.getString("status"),
+                        rs.getString("cliente_nome"),
+                        rs.getString("animal_nome"),
+                        rs.getString("veterinario_nome")
+                    ));
+                }
+                return resumos;
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao buscar resumo das consultas com status " + status + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Busca os horários ocupados em um intervalo de datas com uma única consulta por faixa,
+     * respondida pelo índice {@code (data, veterinarioId, hora, status)}.
+     * 
+     * @param inicio A primeira data do intervalo.
+     * @param fim A última data do intervalo (inclusive).
+     * @return Os horários ocupados, ordenados por data, veterinário e hora.
+     */
+    @Override
+    public List<HorarioOcupado> findHorariosOcupados(LocalDate inicio, LocalDate fim) {
+        String sql = """
+            SELECT c.id, c.veterinarioId, c.data, c.hora
+            FROM consulta c
+            WHERE c.data BETWEEN ? AND ?
+              AND c.veterinarioId IS NOT NULL
+              AND c.hora IS NOT NULL
+              AND LOWER(c.status) NOT IN ('cancelada', 'negada')
+            ORDER BY c.data, c.veterinarioId, c.hora
+        """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
+            st.setDate(1, Date.valueOf(inicio));
+            st.setDate(2, Date.valueOf(fim));
+            try (ResultSet rs = st.executeQuery()) {
+                List<HorarioOcupado> horarios = new ArrayList<>();
+                while (rs.next()) {
+                    horarios.add(new HorarioOcupado(
+                        rs.getInt("id"),
+                        rs.getInt("veterinarioId"),
+                        rs.getDate("data").toLocalDate(),
+                        rs.getTime("hora").toLocalTime()
+                    ));
+                }
+                return horarios;
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao buscar os horários ocupados: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Método auxiliar para buscar consultas baseadas em uma chave estrangeira no banco de dados.
      * <p>
@@ -599,12 +1014,14 @@ public class ConsultaDaoJDBC implements ConsultaDao {
      * @throws DbException Se ocorrer um erro ao executar a consulta SQL ou ao mapear os resultados.
      */
     private List<Consulta> findByForeignKey(String sql, Object param) {
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setObject(1, param);
             try (ResultSet rs = st.executeQuery()) {
                 List<Consulta> consultas = new ArrayList<>();
+                IdentityMap identityMap = new IdentityMap();
                 while (rs.next()) {
-                    consultas.add(instantiateConsulta(rs));
+                    consultas.add(instantiateConsulta(rs, identityMap));
                 }
                 return consultas;
             }
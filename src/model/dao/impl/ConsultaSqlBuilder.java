@@ -0,0 +1,180 @@
+package model.dao.impl;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.dao.ConsultaQuery;
+
+/**
+ * Converte um {@link ConsultaQuery} em um único comando SQL parametrizado.
+ * <p>
+ * O texto do SQL depende apenas do formato da busca (quais critérios foram informados, a quantidade de
+ * status e a ordenação), nunca dos valores. Cada formato é montado uma única vez e guardado em cache; buscas
+ * repetidas com valores diferentes geram exatamente o mesmo texto e, portanto, reaproveitam o statement
+ * preparado pelo cache de statements do pool. A lista de status é completada até a próxima potência de dois,
+ * repetindo o último valor, para que 3 ou 4 status usem o mesmo formato.
+ * <p>
+ * Os filtros por período, status, veterinário e cliente usam colunas indexadas da tabela {@code consulta};
+ * a espécie e o texto livre são avaliados apenas nas linhas que passam pelos filtros indexados.
+ */
+final class ConsultaSqlBuilder {
+
+    private static final int DATA_INICIO = 1;
+    private static final int DATA_FIM = 1 << 1;
+    private static final int VETERINARIO = 1 << 2;
+    private static final int CLIENTE = 1 << 3;
+    private static final int ESPECIE = 1 << 4;
+    private static final int TEXTO = 1 << 5;
+    private static final int ORDEM_ID = 1 << 6;
+    private static final int DECRESCENTE = 1 << 7;
+    private static final int STATUS_SHIFT = 8;
+
+    /**
+     * Início comum a todos os comandos (colunas e junções), terminado antes do WHERE.
+     */
+    private final String select;
+
+    /**
+     * SQL de cada formato de busca já montado.
+     */
+    private final Map<Integer, String> formatos = new ConcurrentHashMap<>();
+
+    /**
+     * Um comando pronto para execução: o SQL e os parâmetros, na ordem dos {@code ?}.
+     */
+    static final class Comando {
+        private final String sql;
+        private final List<Object> parametros;
+
+        private Comando(String sql, List<Object> parametros) {
+            this.sql = sql;
+            this.parametros = parametros;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        List<Object> getParametros() {
+            return parametros;
+        }
+    }
+
+    /**
+     * Cria o montador de comandos.
+     *
+     * @param select O início comum dos comandos (colunas e junções com os aliases {@code c}, {@code cl}
+     *               e {@code a}), terminado antes do WHERE.
+     */
+    ConsultaSqlBuilder(String select) {
+        this.select = select;
+    }
+
+    /**
+     * Monta o comando da busca.
+     *
+     * @param query Os critérios da busca.
+     * @return O comando, com o SQL do cache e os parâmetros da busca.
+     */
+    Comando build(ConsultaQuery query) {
+        int formato = 0;
+        List<Object> parametros = new ArrayList<>();
+        if (query.getDataInicio() != null) {
+            formato |= DATA_INICIO;
+            parametros.add(Date.valueOf(query.getDataInicio()));
+        }
+        if (query.getDataFim() != null) {
+            formato |= DATA_FIM;
+            parametros.add(Date.valueOf(query.getDataFim()));
+        }
+        List<String> status = query.getStatus();
+        int posicoesStatus = status.isEmpty() ? 0 : Integer.highestOneBit(status.size() * 2 - 1);
+        for (int i = 0; i < posicoesStatus; i++) {
+            parametros.add(status.get(Math.min(i, status.size() - 1)));
+        }
+        formato |= posicoesStatus << STATUS_SHIFT;
+        if (query.getVeterinarioId() != null) {
+            formato |= VETERINARIO;
+            parametros.add(query.getVeterinarioId());
+        }
+        if (query.getClienteId() != null) {
+            formato |= CLIENTE;
+            parametros.add(query.getClienteId());
+        }
+        if (query.getEspecie() != null) {
+            formato |= ESPECIE;
+            parametros.add(query.getEspecie());
+        }
+        if (query.getTexto() != null) {
+            formato |= TEXTO;
+            String padrao = "%" + escapeLike(query.getTexto()) + "%";
+            parametros.add(padrao);
+            parametros.add(padrao);
+            parametros.add(padrao);
+        }
+        if (query.getOrdem() == ConsultaQuery.Ordem.ID) {
+            formato |= ORDEM_ID;
+        }
+        if (query.isDecrescente()) {
+            formato |= DECRESCENTE;
+        }
+        parametros.add(query.getLimite());
+
+        String sql = formatos.computeIfAbsent(formato, f -> select + where(f));
+        return new Comando(sql, parametros);
+    }
+
+    /**
+     * @return A quantidade de formatos de busca já montados.
+     */
+    int formatosEmCache() {
+        return formatos.size();
+    }
+
+    private static String where(int formato) {
+        StringBuilder sql = new StringBuilder("WHERE 1 = 1");
+        if ((formato & DATA_INICIO) != 0) {
+            sql.append(" AND c.data >= ?");
+        }
+        if ((formato & DATA_FIM) != 0) {
+            sql.append(" AND c.data <= ?");
+        }
+        int posicoesStatus = formato >>> STATUS_SHIFT;
+        if (posicoesStatus > 0) {
+            sql.append(" AND c.status IN (?").append(", ?".repeat(posicoesStatus - 1)).append(')');
+        }
+        if ((formato & VETERINARIO) != 0) {
+            sql.append(" AND c.veterinarioId = ?");
+        }
+        if ((formato & CLIENTE) != 0) {
+            sql.append(" AND c.clienteId = ?");
+        }
+        if ((formato & ESPECIE) != 0) {
+            sql.append(" AND a.especie = ?");
+        }
+        if ((formato & TEXTO) != 0) {
+            sql.append(" AND (c.descricao LIKE ? OR cl.nome LIKE ? OR a.nome LIKE ?)");
+        }
+        String direcao = (formato & DECRESCENTE) != 0 ? " DESC" : "";
+        if ((formato & ORDEM_ID) != 0) {
+            sql.append(" ORDER BY c.id").append(direcao);
+        } else {
+            sql.append(" ORDER BY c.data").append(direcao).append(", c.hora").append(direcao)
+               .append(", c.id").append(direcao);
+        }
+        return sql.append(" LIMIT ?").toString();
+    }
+
+    /**
+     * Escapa os caracteres especiais do LIKE para que o texto seja tratado literalmente.
+     *
+     * @param texto O texto digitado pelo usuário.
+     * @return O texto com {@code \}, {@code %} e {@code _} escapados.
+     */
+    private static String escapeLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -7,8 +7,11 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import db.DB;
 import db.DbException;
+import db.SingleConnectionDataSource;
 import model.dao.FuncionarioDao;
 import model.entities.Funcionario;
 
@@ -18,13 +21,15 @@ import model.entities.Funcionario;
  */
 public class FuncionarioDaoJDBC implements FuncionarioDao {
 
-    private Connection conn;
+    private DataSource dataSource;
 
     /**
      * Construtor padrão da classe {@link FuncionarioDaoJDBC}.
-     * Cria uma instância sem conexão (será necessário configurar a conexão posteriormente).
+     * Utiliza o pool de conexões da aplicação.
      */
-    public FuncionarioDaoJDBC() {}
+    public FuncionarioDaoJDBC() {
+        this.dataSource = DB.getDataSource();
+    }
 
     /**
      * Construtor da classe {@link FuncionarioDaoJDBC} com uma conexão já existente.
@@ -32,24 +37,17 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
      * @param conn A conexão JDBC a ser utilizada para realizar as operações no banco de dados.
      */
     public FuncionarioDaoJDBC(Connection conn) {
-        this.conn = conn;
+        this.dataSource = new SingleConnectionDataSource(conn);
     }
 
     /**
-     * Verifica se a conexão com o banco de dados está aberta e, caso não esteja, reabre a conexão.
+     * Construtor que recebe a fonte de conexões (normalmente o pool da aplicação).
+     * Cada operação empresta uma conexão da fonte e a devolve ao final.
      * 
-     * @throws RuntimeException Se ocorrer um erro ao verificar ou reabrir a conexão.
+     * @param dataSource A fonte de conexões com o banco de dados.
      */
-    public void verificarConexao() {
-        try {
-            if (conn == null || conn.isClosed()) {
-                System.out.println("Conexão fechada ou nula, reabrindo...");
-                conn = DB.getConnection();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erro ao verificar ou reabrir a conexão", e);
-        }
+    public FuncionarioDaoJDBC(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     /**
@@ -60,8 +58,10 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
      */
     @Override
     public void insert(Funcionario obj) {
+        Connection conn = null;
         PreparedStatement st = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement(
                     "INSERT INTO Funcionario "
                     + "(name, email, birthDate, baseSalary, password) "
@@ -90,6 +90,7 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
             throw new DbException(e.getMessage());
         } finally {
             DB.closeStatement(st);
+            DB.closeConnection(conn);
         }
     }
 
@@ -101,8 +102,10 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
      */
     @Override
     public void update(Funcionario obj) {
+        Connection conn = null;
         PreparedStatement st = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement(
                     "UPDATE Funcionario "
                     + "SET name = ?, email = ?, birthDate = ?, baseSalary = ?, password = ? "
@@ -120,6 +123,7 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
             throw new DbException(e.getMessage());
         } finally {
             DB.closeStatement(st);
+            DB.closeConnection(conn);
         }
     }
 
@@ -131,8 +135,10 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
      */
     @Override
     public void deleteById(Integer id) {
+        Connection conn = null;
         PreparedStatement st = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement("DELETE FROM Funcionario WHERE id = ?");
 
             st.setInt(1, id);
@@ -141,6 +147,7 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
             throw new DbException(e.getMessage());
         } finally {
             DB.closeStatement(st);
+            DB.closeConnection(conn);
         }
     }
 
@@ -153,9 +160,11 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
      */
     @Override
     public Funcionario findById(Integer id) {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement(
                     "SELECT * FROM Funcionario WHERE id = ?");
 
@@ -170,6 +179,7 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
         }
     }
 
@@ -182,9 +192,11 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
      */
     @Override
     public Funcionario findByUsername(String username) {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement(
                     "SELECT * FROM Funcionario WHERE email = ?");
             st.setString(1, username);
@@ -198,6 +210,7 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
         }
     }
 
@@ -227,9 +240,11 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
      */
     @Override
     public List<Funcionario> findAll() {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement("SELECT * FROM Funcionario ORDER BY name");
             rs = st.executeQuery();
 
@@ -243,6 +258,7 @@ public class FuncionarioDaoJDBC implements FuncionarioDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
         }
     }
 }
@@ -0,0 +1,51 @@
+package model.dao.impl;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mapa de identidade de uma unidade de trabalho: durante uma mesma leitura (por exemplo, uma chamada de
+ * {@code findAll}), cada entidade associada é instanciada uma única vez por par (tipo, ID).
+ * <p>
+ * Quando 500 consultas pertencem aos mesmos 10 veterinários, as linhas passam a compartilhar as 10
+ * instâncias de {@link model.entities.Veterinario} em vez de criar uma por linha, o que reduz a memória
+ * ocupada pela lista e faz com que comparações por identidade (como a seleção de um {@code ComboBox})
+ * funcionem entre linhas. O mapa vale apenas para a leitura que o criou e não é seguro entre threads.
+ */
+final class IdentityMap {
+
+    /**
+     * Cria a entidade a partir da linha atual do {@link java.sql.ResultSet}.
+     *
+     * @param <T> O tipo da entidade.
+     */
+    @FunctionalInterface
+    interface Mapper<T> {
+        T map() throws SQLException;
+    }
+
+    private final Map<Class<?>, Map<Object, Object>> entities = new HashMap<>();
+
+    /**
+     * Devolve a instância já carregada da entidade ou, na primeira ocorrência do ID, cria-a com
+     * {@code mapper} e a registra.
+     *
+     * @param <T> O tipo da entidade.
+     * @param type A classe da entidade.
+     * @param id O ID da entidade.
+     * @param mapper A função que cria a entidade a partir da linha atual.
+     * @return A instância única da entidade nesta leitura.
+     * @throws SQLException Se ocorrer um erro ao ler a linha.
+     */
+    <T> T get(Class<T> type, Object id, Mapper<T> mapper) throws SQLException {
+        Map<Object, Object> byId = entities.computeIfAbsent(type, k -> new HashMap<>());
+        Object existing = byId.get(id);
+        if (existing != null) {
+            return type.cast(existing);
+        }
+        T entity = mapper.map();
+        byId.put(id, entity);
+        return entity;
+    }
+}
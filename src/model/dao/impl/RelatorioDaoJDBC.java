@@ -9,12 +9,15 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import db.DB;
 import db.DbException;
+import db.SingleConnectionDataSource;
 import model.dao.RelatorioDao;
-import model.dao.VeterinarioDao;
 import model.entities.Consulta;
 import model.entities.Relatorio;
+import model.entities.RelatorioResultado;
 import model.entities.Veterinario;
 
 /**
@@ -23,13 +26,39 @@ import model.entities.Veterinario;
  */
 public class RelatorioDaoJDBC implements RelatorioDao {
 
-    private Connection conn;
+    /**
+     * Consulta base dos relatórios, já trazendo os dados do veterinário em um único JOIN
+     * para evitar uma busca adicional por relatório.
+     */
+    private static final String SELECT_RELATORIO = """
+            SELECT r.*, v.id AS vet_id, v.nome AS vet_nome, v.telefone AS vet_telefone
+            FROM Relatorio r
+            LEFT JOIN veterinario v ON r.veterinario_id = v.id
+            """;
+
+    /**
+     * Busca por texto nos campos livres do relatório, resolvida pelo índice FULLTEXT
+     * {@code ft_relatorio_texto}. A relevância é calculada uma única vez pelo índice e usada na ordenação.
+     */
+    private static final String SEARCH_RELATORIO = """
+            SELECT r.*, v.id AS vet_id, v.nome AS vet_nome, v.telefone AS vet_telefone,
+                   MATCH (r.descricao, r.diagnostico, r.recomendacao) AGAINST (? IN BOOLEAN MODE) AS relevancia
+            FROM Relatorio r
+            LEFT JOIN veterinario v ON r.veterinario_id = v.id
+            WHERE MATCH (r.descricao, r.diagnostico, r.recomendacao) AGAINST (? IN BOOLEAN MODE)
+            ORDER BY relevancia DESC, r.id DESC
+            LIMIT ? OFFSET ?
+            """;
+
+    private DataSource dataSource;
 
     /**
      * Construtor padrão da classe {@link RelatorioDaoJDBC}.
-     * Cria uma instância sem conexão (será necessário configurar a conexão posteriormente).
+     * Utiliza o pool de conexões da aplicação.
      */
-    public RelatorioDaoJDBC() {}
+    public RelatorioDaoJDBC() {
+        this.dataSource = DB.getDataSource();
+    }
 
     /**
      * Construtor da classe {@link RelatorioDaoJDBC} com uma conexão já existente.
@@ -37,24 +66,17 @@ public class RelatorioDaoJDBC implements RelatorioDao {
      * @param conn A conexão JDBC a ser utilizada para realizar as operações no banco de dados.
      */
     public RelatorioDaoJDBC(Connection conn) {
-        this.conn = conn;
+        this.dataSource = new SingleConnectionDataSource(conn);
     }
 
     /**
-     * Verifica se a conexão com o banco de dados está aberta e, caso não esteja, reabre a conexão.
+     * Construtor que recebe a fonte de conexões (normalmente o pool da aplicação).
+     * Cada operação empresta uma conexão da fonte e a devolve ao final.
      * 
-     * @throws RuntimeException Se ocorrer um erro ao verificar ou reabrir a conexão.
+     * @param dataSource A fonte de conexões com o banco de dados.
      */
-    public void verificarConexao() {
-        try {
-            if (conn == null || conn.isClosed()) {
-                System.out.println("Conexão fechada ou nula, reabrindo...");
-                conn = DB.getConnection();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erro ao verificar ou reabrir a conexão", e);
-        }
+    public RelatorioDaoJDBC(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     /**
@@ -74,7 +96,8 @@ public class RelatorioDaoJDBC implements RelatorioDao {
             VALUES (?, ?, ?, ?, ?, ?)
         """;
 
-        try (PreparedStatement st = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             st.setInt(1, relatorio.getConsulta().getId());
             st.setInt(2, relatorio.getVeterinario().getId()); 
             st.setString(3, relatorio.getDescricao());
@@ -111,7 +134,8 @@ public class RelatorioDaoJDBC implements RelatorioDao {
             WHERE id = ?
         """;
 
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setString(1, relatorio.getDescricao());
             st.setString(2, relatorio.getDiagnostico());
             st.setString(3, relatorio.getRecomendacao());
@@ -132,7 +156,8 @@ public class RelatorioDaoJDBC implements RelatorioDao {
     @Override
     public void deleteById(Integer id) {
         String sql = "DELETE FROM Relatorio WHERE id = ?";
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, id);
             st.executeUpdate();
         } catch (SQLException e) {
@@ -149,12 +174,13 @@ public class RelatorioDaoJDBC implements RelatorioDao {
      */
     @Override
     public Relatorio findById(Integer id) {
-        String sql = "SELECT * FROM Relatorio WHERE id = ?";
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        String sql = SELECT_RELATORIO + "WHERE r.id = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, id);
             try (ResultSet rs = st.executeQuery()) {
                 if (rs.next()) {
-                    return instantiateRelatorio(rs);
+                    return instantiateRelatorio(rs, new IdentityMap());
                 }
             }
             return null;
@@ -171,11 +197,13 @@ public class RelatorioDaoJDBC implements RelatorioDao {
      */
     @Override
     public List<Relatorio> findAll() {
-        String sql = "SELECT * FROM Relatorio";
-        try (PreparedStatement st = conn.prepareStatement(sql); ResultSet rs = st.executeQuery()) {
+        String sql = SELECT_RELATORIO;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql); ResultSet rs = st.executeQuery()) {
             List<Relatorio> relatorios = new ArrayList<>();
+            IdentityMap identityMap = new IdentityMap();
             while (rs.next()) {
-                relatorios.add(instantiateRelatorio(rs));
+                relatorios.add(instantiateRelatorio(rs, identityMap));
             }
             return relatorios;
         } catch (SQLException e) {
@@ -192,13 +220,15 @@ public class RelatorioDaoJDBC implements RelatorioDao {
      */
     @Override
     public List<Relatorio> findByConsultaId(Integer consultaId) {
-        String sql = "SELECT * FROM Relatorio WHERE consulta_id = ?";
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        String sql = SELECT_RELATORIO + "WHERE r.consulta_id = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, consultaId);
             try (ResultSet rs = st.executeQuery()) {
                 List<Relatorio> relatorios = new ArrayList<>();
+                IdentityMap identityMap = new IdentityMap();
                 while (rs.next()) {
-                    relatorios.add(instantiateRelatorio(rs));
+                    relatorios.add(instantiateRelatorio(rs, identityMap));
                 }
                 return relatorios;
             }
@@ -216,13 +246,15 @@ public class RelatorioDaoJDBC implements RelatorioDao {
      */
     @Override
     public List<Relatorio> findByVeterinarioId(Integer veterinarioId) {
-        String sql = "SELECT * FROM Relatorio WHERE veterinario_id = ?";
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        String sql = SELECT_RELATORIO + "WHERE r.veterinario_id = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, veterinarioId);
             try (ResultSet rs = st.executeQuery()) {
                 List<Relatorio> relatorios = new ArrayList<>();
+                IdentityMap identityMap = new IdentityMap();
                 while (rs.next()) {
-                    relatorios.add(instantiateRelatorio(rs));
+                    relatorios.add(instantiateRelatorio(rs, identityMap));
                 }
                 return relatorios;
             }
@@ -232,24 +264,83 @@ public class RelatorioDaoJDBC implements RelatorioDao {
     }
 
     /**
-     * Instancia um objeto {@link Relatorio} a partir de um {@link ResultSet}.
+     * Busca relatórios por texto usando o índice FULLTEXT sobre descrição, diagnóstico e recomendação.
+     * Cada palavra digitada é obrigatória e buscada por prefixo; os operadores da busca booleana digitados
+     * pelo usuário são descartados por {@link BuscaTexto}. O trecho de cada resultado é recortado em memória,
+     * apenas para as linhas da página.
+     * 
+     * @param texto As palavras procuradas.
+     * @param offset O número de resultados a pular (início da página).
+     * @param limite O número máximo de resultados da página.
+     * @return Os resultados da página, do mais relevante para o menos relevante (vazia se nenhuma palavra
+     *         tiver o tamanho mínimo indexado).
+     * @throws DbException Se ocorrer um erro ao realizar a busca no banco de dados.
+     */
+    @Override
+    public List<RelatorioResultado> searchByText(String texto, int offset, int limite) {
+        if (offset < 0 || limite < 1) {
+            throw new IllegalArgumentException("Página inválida: offset " + offset + ", limite " + limite + ".");
+        }
+        List<String> termos = BuscaTexto.termos(texto);
+        List<RelatorioResultado> resultados = new ArrayList<>();
+        if (termos.isEmpty()) {
+            return resultados;
+        }
+        String expressao = BuscaTexto.expressaoBooleana(termos);
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(SEARCH_RELATORIO)) {
+            st.setString(1, expressao);
+            st.setString(2, expressao);
+            st.setInt(3, limite);
+            st.setInt(4, offset);
+            try (ResultSet rs = st.executeQuery()) {
+                IdentityMap identityMap = new IdentityMap();
+                while (rs.next()) {
+                    Relatorio relatorio = instantiateRelatorio(rs, identityMap);
+                    String trecho = BuscaTexto.trecho(termos, relatorio.getDiagnostico(), relatorio.getDescricao(),
+                            relatorio.getRecomendacao());
+                    resultados.add(new RelatorioResultado(relatorio, rs.getDouble("relevancia"), trecho));
+                }
+            }
+            return resultados;
+        } catch (SQLException e) {
+            throw new DbException("Erro ao buscar relatórios: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Instancia um objeto {@link Relatorio} a partir de um {@link ResultSet} produzido por {@link #SELECT_RELATORIO}.
      * 
      * @param rs O {@link ResultSet} contendo os dados do relatório.
+     * @param identityMap O mapa de identidade da leitura em andamento, que reaproveita consulta e veterinário já vistos.
      * @return O objeto {@link Relatorio} instanciado com os dados do {@link ResultSet}.
      * @throws SQLException Se ocorrer um erro ao extrair os dados do {@link ResultSet}.
      */
-    private Relatorio instantiateRelatorio(ResultSet rs) throws SQLException {
+    private Relatorio instantiateRelatorio(ResultSet rs, IdentityMap identityMap) throws SQLException {
         Relatorio relatorio = new Relatorio();
         relatorio.setId(rs.getInt("id"));
         
-        Consulta consulta = new Consulta();
-        consulta.setId(rs.getInt("consulta_id"));
-        relatorio.setConsulta(consulta);
+        int consultaId = rs.getInt("consulta_id");
+        relatorio.setConsulta(identityMap.get(Consulta.class, consultaId, () -> {
+            Consulta consulta = new Consulta();
+            consulta.setId(consultaId);
+            return consulta;
+        }));
         
-        // Carrega o Veterinário completo ao invés de apenas setar o ID
-        VeterinarioDao veterinarioDao = new VeterinarioDaoJDBC(conn);
-        Veterinario veterinario = veterinarioDao.findById(rs.getInt("veterinario_id"));
+        // Veterinário vem do LEFT JOIN; fica nulo se o veterinário não existir mais
+        Veterinario veterinario = null;
+        int veterinarioId = rs.getInt("vet_id");
+        if (!rs.wasNull()) {
+            veterinario = identityMap.get(Veterinario.class, veterinarioId, () -> {
+                Veterinario vet = new Veterinario();
+                vet.setId(veterinarioId);
+                vet.setNome(rs.getString("vet_nome"));
+                vet.setTelefone(rs.getString("vet_telefone"));
+                return vet;
+            });
+        }
         relatorio.setVeterinario(veterinario);
+        relatorio.setVeterinarioResponsavel(veterinario);
         
         relatorio.setDescricao(rs.getString("descricao"));
         relatorio.setDiagnostico(rs.getString("diagnostico"));
@@ -270,7 +361,7 @@ public class RelatorioDaoJDBC implements RelatorioDao {
         String sql = "SELECT r.*, v.nome AS veterinario_nome FROM relatorio r "
                    + "JOIN veterinario v ON r.veterinario_id = v.id";
 
-        try (Connection conn = DB.getConnection();
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
@@ -7,8 +7,11 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import db.DB;
 import db.DbException;
+import db.SingleConnectionDataSource;
 import model.dao.VeterinarioDao;
 import model.entities.Veterinario;
 
@@ -18,13 +21,15 @@ import model.entities.Veterinario;
  */
 public class VeterinarioDaoJDBC implements VeterinarioDao {
 
-    private Connection conn;
+    private DataSource dataSource;
 
     /**
      * Construtor padrão da classe {@link VeterinarioDaoJDBC}.
-     * Cria uma instância sem conexão (será necessário configurar a conexão posteriormente).
+     * Utiliza o pool de conexões da aplicação.
      */
-    public VeterinarioDaoJDBC () {}
+    public VeterinarioDaoJDBC () {
+        this.dataSource = DB.getDataSource();
+    }
 
     /**
      * Construtor da classe {@link VeterinarioDaoJDBC} com uma conexão já existente.
@@ -32,24 +37,17 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
      * @param conn A conexão JDBC a ser utilizada para realizar as operações no banco de dados.
      */
     public VeterinarioDaoJDBC(Connection conn) {
-        this.conn = conn;
+        this.dataSource = new SingleConnectionDataSource(conn);
     }
 
     /**
-     * Verifica se a conexão com o banco de dados está aberta e, caso não esteja, reabre a conexão.
+     * Construtor que recebe a fonte de conexões (normalmente o pool da aplicação).
+     * Cada operação empresta uma conexão da fonte e a devolve ao final.
      * 
-     * @throws RuntimeException Se ocorrer um erro ao verificar ou reabrir a conexão.
+     * @param dataSource A fonte de conexões com o banco de dados.
      */
-    public void verificarConexao() {
-        try {
-            if (conn == null || conn.isClosed()) {
-                System.out.println("Conexão fechada ou nula, reabrindo...");
-                conn = DB.getConnection();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erro ao verificar ou reabrir a conexão", e);
-        }
+    public VeterinarioDaoJDBC(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     /**
@@ -60,8 +58,10 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
      */
     @Override
     public void insert(Veterinario obj) {
+        Connection conn = null;
         PreparedStatement st = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement(
                     "INSERT INTO Veterinario (nome, cpf, email, telefone, senha) VALUES (?, ?, ?, ?, ?)", 
                     PreparedStatement.RETURN_GENERATED_KEYS);
@@ -87,6 +87,7 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
             throw new DbException(e.getMessage());
         } finally {
             DB.closeStatement(st);
+            DB.closeConnection(conn);
         }
     }
 
@@ -99,7 +100,8 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
     @Override
     public void update(Veterinario obj) {
         String sql = "UPDATE veterinario SET nome = ?, email = ?, telefone = ?, senha = ?, cpf = ? WHERE id = ?";
-        try (PreparedStatement st = conn.prepareStatement(sql)) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement st = conn.prepareStatement(sql)) {
             st.setString(1, obj.getNome());
             st.setString(2, obj.getEmail());
             st.setString(3, obj.getTelefone());
@@ -120,8 +122,10 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
      */
     @Override
     public void deleteById(Integer id) {
+        Connection conn = null;
         PreparedStatement st = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement("DELETE FROM Veterinario WHERE id = ?");
             st.setInt(1, id);
             st.executeUpdate();
@@ -129,6 +133,7 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
             throw new DbException(e.getMessage());
         } finally {
             DB.closeStatement(st);
+            DB.closeConnection(conn);
         }
     }
 
@@ -141,9 +146,11 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
      */
     @Override
     public Veterinario findById(Integer id) {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement("SELECT * FROM veterinario WHERE id = ?");
             st.setInt(1, id);
             rs = st.executeQuery();
@@ -161,6 +168,7 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
         }
     }
 
@@ -173,9 +181,11 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
      */
     @Override
     public Veterinario findByEmail(String email) {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement("SELECT * FROM Veterinario WHERE email = ?");
             st.setString(1, email);
             rs = st.executeQuery();
@@ -188,6 +198,7 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
         }
     }
 
@@ -200,9 +211,11 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
      */
     @Override
     public Veterinario findByCpf(String cpf) {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement("SELECT * FROM Veterinario WHERE cpf = ?");
             st.setString(1, cpf);
             rs = st.executeQuery();
@@ -215,6 +228,7 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
         }
     }
 
@@ -227,9 +241,11 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
      */
     @Override
     public Veterinario findByUsername(String username) {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement("SELECT * FROM Veterinario WHERE nome = ?"); // ou qualquer outro campo que represente o username
             st.setString(1, username);
             rs = st.executeQuery();
@@ -242,6 +258,7 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
         }
     }
 
@@ -271,9 +288,11 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
      */
     @Override
     public List<Veterinario> findAll() {
+        Connection conn = null;
         PreparedStatement st = null;
         ResultSet rs = null;
         try {
+            conn = dataSource.getConnection();
             st = conn.prepareStatement("SELECT * FROM Veterinario ORDER BY nome");
             rs = st.executeQuery();
 
@@ -287,6 +306,53 @@ public class VeterinarioDaoJDBC implements VeterinarioDao {
         } finally {
             DB.closeStatement(st);
             DB.closeResultSet(rs);
+            DB.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Retorna uma página de veterinários ordenada por nome e ID, a partir do veterinário seguinte a
+     * ({@code afterNome}, {@code afterId}).
+     * 
+     * @param afterNome O nome do último veterinário da página anterior, ou {@code null} para a primeira página.
+     * @param afterId O ID do último veterinário da página anterior, ou {@code null} para a primeira página.
+     * @param limit O número máximo de veterinários na página.
+     * @return Uma lista de objetos {@link Veterinario} da página.
+     * @throws DbException Se ocorrer um erro ao realizar a consulta no banco de dados.
+     */
+    @Override
+    public List<Veterinario> findPageOrderByNome(String afterNome, Integer afterId, int limit) {
+        boolean temCursor = afterNome != null && afterId != null;
+        String sql = temCursor
+                ? "SELECT * FROM Veterinario WHERE nome > ? OR (nome = ? AND id > ?) ORDER BY nome, id LIMIT ?"
+                : "SELECT * FROM Veterinario ORDER BY nome, id LIMIT ?";
+
+        Connection conn = null;
+        PreparedStatement st = null;
+        ResultSet rs = null;
+        try {
+            conn = dataSource.getConnection();
+            st = conn.prepareStatement(sql);
+            int i = 1;
+            if (temCursor) {
+                st.setString(i++, afterNome);
+                st.setString(i++, afterNome);
+                st.setInt(i++, afterId);
+            }
+            st.setInt(i, limit);
+            rs = st.executeQuery();
+
+            List<Veterinario> list = new ArrayList<>();
+            while (rs.next()) {
+                list.add(instantiateVeterinario(rs));
+            }
+            return list;
+        } catch (SQLException e) {
+            throw new DbException(e.getMessage());
+        } finally {
+            DB.closeStatement(st);
+            DB.closeResultSet(rs);
+            DB.closeConnection(conn);
         }
     }
 }
@@ -0,0 +1,100 @@
+package model.entities;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projeção somente leitura de uma {@link Consulta}, com apenas os dados exibidos nas listagens:
+ * ID, data, hora, status e os nomes do cliente, do animal e do veterinário.
+ * <p>
+ * Usada pelas telas de listagem no lugar da entidade completa, evitando trazer do banco
+ * colunas que não são exibidas (senhas, CPFs, endereços) e instanciar {@link Cliente},
+ * {@link Animal} e {@link Veterinario} para cada linha. Quando a consulta completa for
+ * necessária, ela pode ser carregada pelo {@link #getId()}.
+ */
+public final class ConsultaResumo {
+
+    private final Integer id;
+    private final LocalDate data;
+    private final LocalTime hora;
+    private final String status;
+    private final String clienteNome;
+    private final String animalNome;
+    private final String veterinarioNome;
+
+    /**
+     * Cria o resumo de uma consulta.
+     *
+     * @param id O ID da consulta.
+     * @param data A data da consulta.
+     * @param hora A hora da consulta.
+     * @param status O status da consulta.
+     * @param clienteNome O nome do cliente, ou {@code null} se não houver cliente associado.
+     * @param animalNome O nome do animal, ou {@code null} se não houver animal associado.
+     * @param veterinarioNome O nome do veterinário, ou {@code null} se não houver veterinário associado.
+     */
+    public ConsultaResumo(Integer id, LocalDate data, LocalTime hora, String status,
+                          String clienteNome, String animalNome, String veterinarioNome) {
+        this.id = id;
+        this.data = data;
+        this.hora = hora;
+        this.status = status;
+        this.clienteNome = clienteNome;
+        this.animalNome = animalNome;
+        this.veterinarioNome = veterinarioNome;
+    }
+
+    /**
+     * @return O ID da consulta.
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * @return A data da consulta.
+     */
+    public LocalDate getData() {
+        return data;
+    }
+
+    /**
+     * @return A hora da consulta.
+     */
+    public LocalTime getHora() {
+        return hora;
+    }
+
+    /**
+     * @return O status da consulta.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return O nome do cliente, ou {@code null} se não houver cliente associado.
+     */
+    public String getClienteNome() {
+        return clienteNome;
+    }
+
+    /**
+     * @return O nome do animal, ou {@code null} se não houver animal associado.
+     */
+    public String getAnimalNome() {
+        return animalNome;
+    }
+
+    /**
+     * @return O nome do veterinário, ou {@code null} se não houver veterinário associado.
+     */
+    public String getVeterinarioNome() {
+        return veterinarioNome;
+    }
+
+    @Override
+    public String toString() {
+        return "Consulta ID: " + id + ", Cliente: " + clienteNome + ", Animal: " + animalNome + ", Data: " + data;
+    }
+}
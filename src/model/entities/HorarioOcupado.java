@@ -0,0 +1,67 @@
+package model.entities;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projeção somente leitura de uma {@link Consulta} que ocupa a agenda de um veterinário:
+ * apenas o ID da consulta, o ID do veterinário, a data e a hora.
+ * <p>
+ * Usada para montar a agenda de disponibilidade sem instanciar cliente, animal e veterinário.
+ */
+public final class HorarioOcupado {
+
+    private final Integer consultaId;
+    private final Integer veterinarioId;
+    private final LocalDate data;
+    private final LocalTime hora;
+
+    /**
+     * Cria o horário ocupado por uma consulta.
+     *
+     * @param consultaId O ID da consulta.
+     * @param veterinarioId O ID do veterinário.
+     * @param data A data da consulta.
+     * @param hora A hora da consulta.
+     */
+    public HorarioOcupado(Integer consultaId, Integer veterinarioId, LocalDate data, LocalTime hora) {
+        this.consultaId = consultaId;
+        this.veterinarioId = veterinarioId;
+        this.data = data;
+        this.hora = hora;
+    }
+
+    /**
+     * @return O ID da consulta.
+     */
+    public Integer getConsultaId() {
+        return consultaId;
+    }
+
+    /**
+     * @return O ID do veterinário.
+     */
+    public Integer getVeterinarioId() {
+        return veterinarioId;
+    }
+
+    /**
+     * @return A data da consulta.
+     */
+    public LocalDate getData() {
+        return data;
+    }
+
+    /**
+     * @return A hora da consulta.
+     */
+    public LocalTime getHora() {
+        return hora;
+    }
+
+    @Override
+    public String toString() {
+        return "HorarioOcupado [consultaId=" + consultaId + ", veterinarioId=" + veterinarioId + ", data=" + data
+                + ", hora=" + hora + "]";
+    }
+}
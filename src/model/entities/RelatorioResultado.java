@@ -0,0 +1,55 @@
+package model.entities;
+
+/**
+ * Um relatório encontrado pela busca por texto, com a relevância calculada pelo banco de dados e um
+ * trecho do texto em que os termos procurados aparecem.
+ * <p>
+ * Usado para exibir a lista de resultados sem mostrar o relatório inteiro; o relatório completo fica
+ * disponível em {@link #getRelatorio()}.
+ */
+public final class RelatorioResultado {
+
+    private final Relatorio relatorio;
+    private final double relevancia;
+    private final String trecho;
+
+    /**
+     * Cria o resultado de uma busca.
+     *
+     * @param relatorio O relatório encontrado.
+     * @param relevancia A relevância do relatório para os termos procurados (maior é mais relevante).
+     * @param trecho O trecho do texto que contém os termos procurados.
+     */
+    public RelatorioResultado(Relatorio relatorio, double relevancia, String trecho) {
+        this.relatorio = relatorio;
+        this.relevancia = relevancia;
+        this.trecho = trecho;
+    }
+
+    /**
+     * @return O relatório encontrado.
+     */
+    public Relatorio getRelatorio() {
+        return relatorio;
+    }
+
+    /**
+     * @return A relevância do relatório para os termos procurados (maior é mais relevante).
+     */
+    public double getRelevancia() {
+        return relevancia;
+    }
+
+    /**
+     * @return O trecho do texto que contém os termos procurados.
+     */
+    public String getTrecho() {
+        return trecho;
+    }
+
+    @Override
+    public String toString() {
+        return "RelatorioResultado [relatorioId=" + (relatorio == null ? null : relatorio.getId())
+                + ", relevancia=" + relevancia + ", trecho=" + trecho + "]";
+    }
+}
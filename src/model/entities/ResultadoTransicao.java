@@ -0,0 +1,23 @@
+package model.entities;
+
+/**
+ * Resultado de uma mudança de status de uma consulta em uma atualização em lote.
+ */
+public enum ResultadoTransicao {
+
+    /**
+     * A consulta estava no status esperado e foi atualizada.
+     */
+    ATUALIZADA,
+
+    /**
+     * A consulta existe, mas não estava no status esperado (por exemplo, já foi tratada por outro usuário)
+     * e por isso não foi alterada.
+     */
+    STATUS_DIFERENTE,
+
+    /**
+     * Não existe consulta com o ID informado.
+     */
+    NAO_ENCONTRADA
+}
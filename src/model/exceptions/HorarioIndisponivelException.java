@@ -0,0 +1,41 @@
+package model.exceptions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exceção lançada quando o horário escolhido para uma consulta já foi reservado para o mesmo veterinário,
+ * inclusive quando outra reserva foi confirmada no mesmo instante por outro usuário.
+ * 
+ * A exceção traz os próximos horários livres do veterinário, para que a tela ofereça uma alternativa
+ * em vez de simplesmente tentar gravar de novo.
+ */
+public class HorarioIndisponivelException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Próximos horários livres do veterinário, a partir do horário pedido.
+     */
+    private final List<LocalDateTime> horariosLivres;
+
+    /**
+     * Construtor da exceção.
+     * 
+     * @param msg A mensagem que descreve o conflito.
+     * @param horariosLivres Os próximos horários livres do veterinário.
+     */
+    public HorarioIndisponivelException(String msg, List<LocalDateTime> horariosLivres) {
+        super(msg);
+        this.horariosLivres = List.copyOf(horariosLivres);
+    }
+
+    /**
+     * Retorna os próximos horários livres do veterinário.
+     * 
+     * @return Os horários livres, em ordem (pode ser vazia).
+     */
+    public List<LocalDateTime> getHorariosLivres() {
+        return horariosLivres;
+    }
+}
@@ -0,0 +1,470 @@
+package model.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import model.entities.HorarioOcupado;
+
+/**
+ * Mapa de ocupação da agenda dos veterinários: para cada veterinário e cada dia, um {@link BitSet} com um
+ * bit por horário de atendimento (bit ligado = horário ocupado).
+ * <p>
+ * O dia de atendimento vai de {@code abertura} até {@code abertura + horariosPorDia * duracaoMin} e é
+ * dividido em horários de {@code duracaoMin} minutos; uma consulta ocupa o horário que contém a sua hora.
+ * As datas são lidas do banco em janelas fixas de {@code janelaDias} dias, com uma única consulta por janela
+ * e apenas quando uma data da janela é perguntada: uma data distante carrega somente a sua janela. Entre
+ * as leituras, a agenda é mantida pelas chamadas a {@link #registrar} e {@link #liberar} feitas pelo serviço
+ * de consultas a cada gravação, e cada janela é lida de novo depois de {@code ttlSegundos}, para incluir as
+ * consultas gravadas por outras instâncias da aplicação. As perguntas "este horário está livre?" e "quais os
+ * próximos horários livres?" são respondidas com operações de bits.
+ * <p>
+ * O estado é protegido pelo monitor da agenda, mas a leitura do banco acontece fora dele: as outras
+ * perguntas continuam sendo respondidas durante a leitura (uma janela vencida responde com os dados
+ * anteriores até a nova leitura terminar). As gravações e liberações feitas durante a leitura de uma janela
+ * são anotadas e reaplicadas sobre o resultado, de modo que não são perdidas nem contadas duas vezes.
+ */
+final class AgendaOcupacao {
+
+    /**
+     * Lê os horários ocupados de uma faixa de datas.
+     */
+    @FunctionalInterface
+    interface Carregador {
+        List<HorarioOcupado> carregar(LocalDate inicio, LocalDate fim);
+    }
+
+    /**
+     * Um horário da agenda de um veterinário.
+     */
+    private static final class Horario {
+        private final Integer veterinarioId;
+        private final LocalDate data;
+        private final int indice;
+
+        private Horario(Integer veterinarioId, LocalDate data, int indice) {
+            this.veterinarioId = veterinarioId;
+            this.data = data;
+            this.indice = indice;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(veterinarioId, data, indice);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Horario)) {
+                return false;
+            }
+            Horario other = (Horario) obj;
+            return indice == other.indice && veterinarioId.equals(other.veterinarioId) && data.equals(other.data);
+        }
+    }
+
+    /**
+     * Uma janela de datas lida do banco.
+     */
+    private static final class Janela {
+        private boolean carregada;
+        private long carregadaEm;
+
+        /**
+         * A leitura em andamento, ou {@code null}.
+         */
+        private CompletableFuture<Void> carga;
+
+        /**
+         * Consultas registradas ({@code ID -> horário}) ou liberadas ({@code ID -> null}) durante a leitura.
+         */
+        private Map<Integer, Horario> alteracoes;
+    }
+
+    private final Carregador carregador;
+    private final LocalTime abertura;
+    private final int duracaoMin;
+    private final int horariosPorDia;
+    private final int janelaDias;
+    private final long ttlNanos;
+
+    private final Map<Long, Janela> janelas = new HashMap<>();
+
+    private final Map<Integer, Map<LocalDate, BitSet>> ocupados = new HashMap<>();
+    private final Map<Integer, Horario> porConsulta = new HashMap<>();
+
+    /**
+     * Quantidade de consultas além da primeira no mesmo horário (agendamentos duplicados já existentes),
+     * para que liberar uma delas não marque o horário como livre.
+     */
+    private final Map<Horario, Integer> excedentes = new HashMap<>();
+
+    /**
+     * Cria a agenda vazia; as datas são carregadas na primeira pergunta.
+     *
+     * @param carregador A leitura dos horários ocupados no banco.
+     * @param abertura A hora do primeiro horário do dia.
+     * @param duracaoMin A duração de cada horário, em minutos.
+     * @param horariosPorDia A quantidade de horários por dia.
+     * @param janelaDias O tamanho, em dias, de cada janela lida do banco.
+     * @param ttlSegundos O tempo, em segundos, após o qual uma janela é lida de novo.
+     */
+    AgendaOcupacao(Carregador carregador, LocalTime abertura, int duracaoMin, int horariosPorDia, int janelaDias,
+                   long ttlSegundos) {
+        this.carregador = carregador;
+        this.abertura = abertura;
+        this.duracaoMin = duracaoMin;
+        this.horariosPorDia = horariosPorDia;
+        this.janelaDias = Math.max(1, janelaDias);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, ttlSegundos));
+    }
+
+    /**
+     * @return A duração de cada horário, em minutos.
+     */
+    int getDuracaoMin() {
+        return duracaoMin;
+    }
+
+    /**
+     * Obtém o horário da agenda que contém a hora.
+     *
+     * @param hora A hora.
+     * @return O início (inclusive) e o fim (exclusive) do horário; para horas fora do expediente, apenas a própria hora.
+     */
+    LocalTime[] faixa(LocalTime hora) {
+        int indice = indice(hora);
+        if (indice < 0) {
+            return new LocalTime[] { hora, hora.plusSeconds(1) };
+        }
+        LocalTime inicio = inicio(indice);
+        LocalTime fim = inicio.plusMinutes(duracaoMin);
+        return new LocalTime[] { inicio, fim.isAfter(inicio) ? fim : LocalTime.MAX };
+    }
+
+    /**
+     * Indica se a hora está dentro do expediente e o horário que a contém não está ocupado.
+     *
+     * @param veterinarioId O ID do veterinário.
+     * @param data A data.
+     * @param hora A hora.
+     * @return {@code true} se o horário estiver livre.
+     */
+    boolean isLivre(Integer veterinarioId, LocalDate data, LocalTime hora) {
+        return indice(hora) >= 0 && !isOcupado(veterinarioId, data, hora, null);
+    }
+
+    /**
+     * Indica se o horário que contém a hora já está ocupado por outra consulta. Horas fora do expediente
+     * não são controladas pela agenda e nunca estão ocupadas.
+     *
+     * @param veterinarioId O ID do veterinário.
+     * @param data A data.
+     * @param hora A hora.
+     * @param ignorarConsultaId A consulta que está sendo remarcada, que não conflita consigo mesma, ou {@code null}.
+     * @return {@code true} se outra consulta ocupar o horário.
+     */
+    boolean isOcupado(Integer veterinarioId, LocalDate data, LocalTime hora, Integer ignorarConsultaId) {
+        int indice = indice(hora);
+        if (veterinarioId == null || data == null || indice < 0) {
+            return false;
+        }
+        garantirCarregado(data);
+        synchronized (this) {
+            BitSet dia = dia(veterinarioId, data, false);
+            if (dia == null || !dia.get(indice)) {
+                return false;
+            }
+            Horario horario = new Horario(veterinarioId, data, indice);
+            if (ignorarConsultaId != null && horario.equals(porConsulta.get(ignorarConsultaId))) {
+                return excedentes.getOrDefault(horario, 0) > 0; // Ocupado também por outra consulta
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Busca os próximos horários livres de um veterinário.
+     *
+     * @param veterinarioId O ID do veterinário.
+     * @param aPartirDe O instante a partir do qual procurar; horários que começam antes dele são ignorados.
+     * @param quantidade O número de horários desejado.
+     * @param maxDias O número máximo de dias examinados.
+     * @return Os horários livres, em ordem.
+     */
+    List<LocalDateTime> proximosLivres(Integer veterinarioId, LocalDateTime aPartirDe, int quantidade, int maxDias) {
+        List<LocalDateTime> livres = new ArrayList<>();
+        LocalDate data = aPartirDe.toLocalDate();
+        for (int d = 0; d < maxDias && livres.size() < quantidade; d++, data = data.plusDays(1)) {
+            garantirCarregado(data);
+            synchronized (this) {
+                BitSet dia = dia(veterinarioId, data, false);
+                int i = d == 0 ? primeiroIndiceApos(aPartirDe.toLocalTime()) : 0;
+                while (livres.size() < quantidade) {
+                    i = dia == null ? i : dia.nextClearBit(i);
+                    if (i >= horariosPorDia) {
+                        break;
+                    }
+                    livres.add(LocalDateTime.of(data, inicio(i)));
+                    i++;
+                }
+            }
+        }
+        return livres;
+    }
+
+    /**
+     * Registra a consulta no horário informado, substituindo o horário anterior da mesma consulta.
+     * Datas ainda não carregadas são ignoradas, pois serão lidas do banco quando forem consultadas; numa
+     * janela sendo lida, o registro também é anotado para ser reaplicado sobre o resultado da leitura.
+     *
+     * @param consultaId O ID da consulta.
+     * @param veterinarioId O ID do veterinário, ou {@code null} se ainda não houver.
+     * @param data A data da consulta.
+     * @param hora A hora da consulta.
+     */
+    synchronized void registrar(Integer consultaId, Integer veterinarioId, LocalDate data, LocalTime hora) {
+        if (consultaId == null) {
+            return;
+        }
+        liberar(consultaId);
+        int indice = indice(hora);
+        if (veterinarioId == null || data == null || indice < 0) {
+            return;
+        }
+        Janela janela = janelas.get(indiceJanela(data));
+        if (janela == null) {
+            return;
+        }
+        Horario horario = new Horario(veterinarioId, data, indice);
+        if (janela.alteracoes != null) {
+            janela.alteracoes.put(consultaId, horario);
+        }
+        if (janela.carregada) {
+            marcar(consultaId, horario);
+        }
+    }
+
+    /**
+     * Libera o horário ocupado pela consulta (cancelada, negada, removida ou remarcada).
+     *
+     * @param consultaId O ID da consulta.
+     */
+    synchronized void liberar(Integer consultaId) {
+        for (Janela janela : janelas.values()) {
+            if (janela.alteracoes != null) {
+                janela.alteracoes.put(consultaId, null);
+            }
+        }
+        desmarcar(consultaId);
+    }
+
+    private void desmarcar(Integer consultaId) {
+        Horario horario = porConsulta.remove(consultaId);
+        if (horario == null) {
+            return;
+        }
+        Integer extra = excedentes.get(horario);
+        if (extra != null) {
+            if (extra > 1) {
+                excedentes.put(horario, extra - 1);
+            } else {
+                excedentes.remove(horario);
+            }
+            return;
+        }
+        BitSet dia = dia(horario.veterinarioId, horario.data, false);
+        if (dia != null) {
+            dia.clear(horario.indice);
+        }
+    }
+
+    /**
+     * Descarta toda a ocupação carregada; a próxima pergunta lê novamente do banco. Leituras em andamento
+     * terminam normalmente.
+     */
+    synchronized void invalidar() {
+        for (Janela janela : janelas.values()) {
+            janela.carregadaEm = System.nanoTime() - ttlNanos;  // Vencida: lida de novo na próxima pergunta
+        }
+    }
+
+    /**
+     * @return O índice do horário que contém a hora, ou -1 se estiver fora do expediente.
+     */
+    private int indice(LocalTime hora) {
+        if (hora == null || hora.isBefore(abertura)) {
+            return -1;
+        }
+        int indice = (int) (ChronoUnit.MINUTES.between(abertura, hora) / duracaoMin);
+        return indice < horariosPorDia ? indice : -1;
+    }
+
+    private int primeiroIndiceApos(LocalTime hora) {
+        if (hora.isBefore(abertura)) {
+            return 0;
+        }
+        long segundos = ChronoUnit.SECONDS.between(abertura, hora);
+        long duracaoSeg = duracaoMin * 60L;
+        return (int) Math.min(horariosPorDia, (segundos + duracaoSeg - 1) / duracaoSeg);
+    }
+
+    private LocalTime inicio(int indice) {
+        return abertura.plusMinutes((long) indice * duracaoMin);
+    }
+
+    private BitSet dia(Integer veterinarioId, LocalDate data, boolean criar) {
+        Map<LocalDate, BitSet> dias = criar
+                ? ocupados.computeIfAbsent(veterinarioId, v -> new HashMap<>())
+                : ocupados.get(veterinarioId);
+        if (dias == null) {
+            return null;
+        }
+        return criar ? dias.computeIfAbsent(data, d -> new BitSet(horariosPorDia)) : dias.get(data);
+    }
+
+    private void marcar(Integer consultaId, Horario horario) {
+        porConsulta.put(consultaId, horario);
+        BitSet dia = dia(horario.veterinarioId, horario.data, true);
+        if (dia.get(horario.indice)) {
+            excedentes.merge(horario, 1, Integer::sum);
+        } else {
+            dia.set(horario.indice);
+        }
+    }
+
+    private long indiceJanela(LocalDate data) {
+        return Math.floorDiv(data.toEpochDay(), (long) janelaDias);
+    }
+
+    private LocalDate inicioJanela(long indiceJanela) {
+        return LocalDate.ofEpochDay(indiceJanela * janelaDias);
+    }
+
+    private boolean isNaJanela(LocalDate data, long indiceJanela) {
+        return indiceJanela(data) == indiceJanela;
+    }
+
+    /**
+     * Garante que a janela da data foi lida do banco e não venceu. A leitura acontece fora do monitor; quem
+     * pergunta por uma janela que outra thread está lendo pela primeira vez aguarda o fim dessa leitura.
+     */
+    private void garantirCarregado(LocalDate data) {
+        long indiceJanela = indiceJanela(data);
+        Janela janela;
+        CompletableFuture<Void> carga;
+        synchronized (this) {
+            janela = janelas.computeIfAbsent(indiceJanela, k -> new Janela());
+            if (janela.carga != null) {
+                if (janela.carregada) {
+                    return;  // Releitura em andamento: responde com os dados anteriores
+                }
+                carga = janela.carga;
+            } else if (janela.carregada && System.nanoTime() - janela.carregadaEm < ttlNanos) {
+                return;
+            } else {
+                descartarVencidas(indiceJanela);
+                carga = null;
+                janela.carga = new CompletableFuture<>();
+                janela.alteracoes = new HashMap<>();
+            }
+        }
+        if (carga == null) {
+            carregar(indiceJanela, janela);
+            return;
+        }
+        try {
+            carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Lê a janela do banco, fora do monitor, e substitui a sua ocupação pelo resultado, reaplicando as
+     * alterações anotadas durante a leitura.
+     */
+    private void carregar(long indiceJanela, Janela janela) {
+        CompletableFuture<Void> carga = janela.carga;
+        List<HorarioOcupado> lidos;
+        try {
+            LocalDate de = inicioJanela(indiceJanela);
+            lidos = carregador.carregar(de, de.plusDays(janelaDias - 1L));
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                janela.carga = null;
+                janela.alteracoes = null;
+            }
+            carga.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            descartar(indiceJanela);
+            for (HorarioOcupado ocupado : lidos) {
+                int indice = indice(ocupado.getHora());
+                if (indice >= 0 && !porConsulta.containsKey(ocupado.getConsultaId())) {
+                    marcar(ocupado.getConsultaId(), new Horario(ocupado.getVeterinarioId(), ocupado.getData(), indice));
+                }
+            }
+            for (Map.Entry<Integer, Horario> alteracao : janela.alteracoes.entrySet()) {
+                desmarcar(alteracao.getKey());
+                if (alteracao.getValue() != null) {
+                    marcar(alteracao.getKey(), alteracao.getValue());
+                }
+            }
+            janela.carregada = true;
+            janela.carregadaEm = System.nanoTime();
+            janela.carga = null;
+            janela.alteracoes = null;
+        }
+        carga.complete(null);
+    }
+
+    /**
+     * Remove a ocupação em memória das datas da janela.
+     */
+    private void descartar(long indiceJanela) {
+        porConsulta.values().removeIf(horario -> isNaJanela(horario.data, indiceJanela));
+        excedentes.keySet().removeIf(horario -> isNaJanela(horario.data, indiceJanela));
+        for (Map<LocalDate, BitSet> dias : ocupados.values()) {
+            dias.keySet().removeIf(data -> isNaJanela(data, indiceJanela));
+        }
+    }
+
+    /**
+     * Libera a memória das janelas vencidas que não estão sendo lidas; elas seriam lidas de novo de qualquer
+     * forma na próxima pergunta.
+     */
+    private void descartarVencidas(long exceto) {
+        long agora = System.nanoTime();
+        Iterator<Map.Entry<Long, Janela>> it = janelas.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Janela> entrada = it.next();
+            Janela janela = entrada.getValue();
+            if (entrada.getKey() != exceto && janela.carga == null && agora - janela.carregadaEm >= ttlNanos) {
+                if (janela.carregada) {
+                    descartar(entrada.getKey());
+                }
+                it.remove();
+            }
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package model.services;
 
 import java.sql.Connection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import db.DbException;
 import model.dao.AnimalDao;
@@ -65,6 +66,16 @@ public class AnimalService {
             dao.update(animal); 
         }
     }
+
+    /**
+     * Variante assíncrona de {@link #saveOrUpdate(Animal)}, executada por {@link AsyncServices}.
+     * 
+     * @param obj O animal a ser salvo ou atualizado.
+     * @return O future concluído quando a gravação terminar.
+     */
+    public CompletableFuture<Void> saveOrUpdateAsync(Animal obj) {
+        return AsyncServices.writeAsync(() -> saveOrUpdate(obj));
+    }
     
     /**
      * Atualiza os dados de um animal existente no banco de dados.
@@ -135,6 +146,15 @@ public class AnimalService {
         }
     }
 
+    /**
+     * Variante assíncrona de {@link #findAll()}, executada por {@link AsyncServices}.
+     * 
+     * @return O future com a lista de animais.
+     */
+    public CompletableFuture<List<Animal>> findAllAsync() {
+        return AsyncServices.supplyAsync(this::findAll);
+    }
+
     /**
      * Encontra todos os animais de um cliente específico, dado o seu ID.
      * 
@@ -154,6 +174,16 @@ public class AnimalService {
         }
     }
 
+    /**
+     * Variante assíncrona de {@link #findByClienteId(Integer)}, executada por {@link AsyncServices}.
+     * 
+     * @param clienteId O ID do cliente cujos animais serão encontrados.
+     * @return O future com a lista de animais do cliente.
+     */
+    public CompletableFuture<List<Animal>> findByClienteIdAsync(Integer clienteId) {
+        return AsyncServices.supplyAsync(() -> findByClienteId(clienteId));
+    }
+
     /**
      * Encontra todos os animais de um cliente, utilizando um método alternativo.
      * 
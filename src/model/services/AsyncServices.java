@@ -0,0 +1,166 @@
+package model.services;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import db.DB;
+import db.DbException;
+import db.QueryCancellation;
+
+/**
+ * Executor das variantes assíncronas dos serviços ({@code findAllAsync}, {@code saveOrUpdateAsync} etc.).
+ * <p>
+ * Cada chamada roda em um executor compartilhado com no máximo uma thread por conexão do pool, já que cada
+ * operação ocupa uma conexão; chamadas excedentes aguardam na fila. O mesmo executor atende as tarefas de
+ * tela de {@code gui.util.BackgroundTasks}, para que o total de operações simultâneas não passe do tamanho
+ * do pool. O resultado é um
+ * {@link CompletableFuture}, de modo que várias listas independentes podem ser buscadas ao mesmo tempo e
+ * combinadas com {@link CompletableFuture#allOf}.
+ * <p>
+ * Cada leitura tem um prazo ({@code async.timeoutSec} no arquivo {@code db.properties}, padrão 30 s). Ao
+ * expirar o prazo, ou ao cancelar o future com {@link CompletableFuture#cancel(boolean)}, o comando SQL em
+ * execução é interrompido com {@link java.sql.Statement#cancel()} por meio de um
+ * {@link QueryCancellation.Token}, e a thread é liberada para a próxima operação.
+ * <p>
+ * As gravações ({@link #writeAsync(Runnable)}) não têm prazo nem são interrompidas: uma transação pode ser
+ * confirmada no banco depois que o cliente desistiu de esperar, e a tela informaria uma falha para uma
+ * gravação que aconteceu. O future de uma gravação só termina com o resultado real da transação.
+ */
+public final class AsyncServices {
+
+    private AsyncServices() {
+    }
+
+    private static final int DEFAULT_TIMEOUT_SECONDS = 30;
+
+    /**
+     * O tamanho padrão do pool de conexões, o mesmo de {@link db.ConnectionPool}.
+     */
+    private static final int DEFAULT_POOL_MAX_SIZE = 10;
+
+    private static ThreadPoolExecutor executor;
+    private static Integer timeoutSeconds;
+
+    /**
+     * Executa {@code work} em segundo plano com o prazo padrão.
+     *
+     * @param <T> O tipo do resultado.
+     * @param work A operação, normalmente uma chamada a um serviço.
+     * @return O future com o resultado; falha com {@link java.util.concurrent.TimeoutException} se o prazo
+     *         terminar antes da conclusão.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Callable<T> work) {
+        return supplyAsync(work, defaultTimeoutSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Executa {@code work} em segundo plano com o prazo informado.
+     *
+     * @param <T> O tipo do resultado.
+     * @param work A operação, normalmente uma chamada a um serviço.
+     * @param timeout O prazo da operação, contado a partir do envio; 0 para nenhum.
+     * @param unit A unidade de {@code timeout}.
+     * @return O future com o resultado.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Callable<T> work, long timeout, TimeUnit unit) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        QueryCancellation.Token token = QueryCancellation.newToken(timeout, unit);
+        Future<?> task = executor().submit(() -> {
+            if (result.isDone()) {
+                return; // Cancelado ou expirado enquanto aguardava na fila
+            }
+            QueryCancellation.Scope scope = token.bind();
+            try {
+                result.complete(work.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                scope.close();
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                // Cancelamento ou prazo esgotado: interrompe o comando SQL e a thread
+                token.cancel();
+                task.cancel(true);
+            }
+        });
+        if (timeout > 0) {
+            result.orTimeout(timeout, unit);
+        }
+        return result;
+    }
+
+    /**
+     * Executa uma gravação em segundo plano, sem prazo e sem interromper o comando SQL. Cancelar o future
+     * devolvido apenas descarta o aviso de conclusão; a gravação segue até a confirmação ou o rollback.
+     *
+     * @param work A gravação, normalmente uma chamada a um serviço.
+     * @return O future concluído com o resultado real da gravação.
+     */
+    public static CompletableFuture<Void> writeAsync(Runnable work) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        executor().execute(() -> {
+            try {
+                work.run();
+                result.complete(null);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Encerra o executor, cancelando as operações em andamento. Chamado ao fechar a aplicação.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Obtém o executor compartilhado das operações de banco de dados em segundo plano, criado na primeira
+     * utilização com uma thread por conexão do pool. O tamanho vem de {@code pool.maxSize} no arquivo de
+     * configuração, sem abrir o pool: se o banco estiver inacessível nesse momento, o executor não fica
+     * reduzido pelo resto da sessão.
+     *
+     * @return O executor.
+     */
+    public static synchronized ExecutorService executor() {
+        if (executor == null || executor.isShutdown()) {
+            int threads;
+            try {
+                threads = Math.max(1, DB.getIntProperty("pool.maxSize", DEFAULT_POOL_MAX_SIZE));
+            } catch (DbException e) {
+                // Sem arquivo de configuração; as operações falharão individualmente com a mensagem do erro.
+                threads = DEFAULT_POOL_MAX_SIZE;
+            }
+            AtomicInteger count = new AtomicInteger();
+            ThreadFactory factory = runnable -> {
+                Thread thread = new Thread(runnable, "clinicavet-async-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    private static synchronized int defaultTimeoutSeconds() {
+        if (timeoutSeconds == null) {
+            timeoutSeconds = Math.max(0, DB.getIntProperty("async.timeoutSec", DEFAULT_TIMEOUT_SECONDS));
+        }
+        return timeoutSeconds;
+    }
+}
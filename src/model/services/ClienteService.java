@@ -1,7 +1,20 @@
 package model.services;
 
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import db.DB;
+import db.DbException;
+import db.TransactionTemplate;
 import model.dao.ClienteDao;
 import model.dao.DaoFactory;
 import model.entities.Cliente;
@@ -15,6 +28,30 @@ public class ClienteService {
 
     private ClienteDao dao;
     private static Cliente loggedCliente;  // Cliente atualmente autenticado
+
+    private static final int PAGINA_INDICE = 500;
+
+    /**
+     * Índice em memória dos nomes dos clientes (apenas ID e nome), usado pela busca enquanto o usuário digita
+     * depois de carregado. Cada recarga monta um índice novo, que substitui este ao terminar.
+     */
+    private static volatile PrefixIndex<Integer> indiceNomes = new PrefixIndex<>();
+    private static volatile boolean indiceCarregado;
+    private static volatile long indiceCarregadoEm;
+    private static long validadeIndiceNanos = -1;
+    private static CompletableFuture<Void> carregamentoIndice;
+
+    /**
+     * Protege a troca do índice e as alterações feitas por esta instância durante uma recarga.
+     */
+    private static final Object LOCK_INDICE = new Object();
+
+    /**
+     * Clientes gravados ({@code ID -> nome}) ou removidos ({@code ID -> null}) enquanto uma recarga está em
+     * andamento, aplicados ao índice novo antes da troca para que uma página lida antes da alteração não
+     * traga de volta um nome antigo ou um cliente removido; {@code null} quando não há recarga.
+     */
+    private static Map<Integer, String> alteracoesDuranteCarga;
     
     /**
      * Construtor que inicializa o serviço com o DAO de clientes.
@@ -38,6 +75,222 @@ public class ClienteService {
         return clientes;
     }
 
+    /**
+     * Variante assíncrona de {@link #findAll()}, executada por {@link AsyncServices}.
+     * 
+     * @return O future com a lista de clientes.
+     * O future falha com {@link IllegalStateException} se não houver clientes.
+     */
+    public CompletableFuture<List<Cliente>> findAllAsync() {
+        return AsyncServices.supplyAsync(this::findAll);
+    }
+
+    /**
+     * Busca um cliente pelo ID, com seus animais. O cliente e os animais ficam em cache até que um deles
+     * seja alterado.
+     * 
+     * @param id O ID do cliente.
+     * @return O {@link Cliente} encontrado, ou {@code null} se não existir.
+     */
+    public Cliente findById(Integer id) {
+        return dao.findById(id);
+    }
+
+    /**
+     * Variante assíncrona de {@link #findById(Integer)}, executada por {@link AsyncServices}.
+     * 
+     * @param id O ID do cliente.
+     * @return O future com o cliente encontrado, ou {@code null} se não existir.
+     */
+    public CompletableFuture<Cliente> findByIdAsync(Integer id) {
+        return AsyncServices.supplyAsync(() -> findById(id));
+    }
+
+    /**
+     * Busca uma página de clientes ordenada por nome, continuando a partir do último cliente já exibido.
+     * 
+     * @param ultimo O último cliente da página anterior, ou {@code null} para a primeira página.
+     * @param nomePrefixo Filtro opcional pelo início do nome ({@code null} para todos).
+     * @param limit O número máximo de clientes na página.
+     * @return Uma lista de {@link Cliente} da página (vazia quando não há mais clientes).
+     */
+    public List<Cliente> findPage(Cliente ultimo, String nomePrefixo, int limit) {
+        if (ultimo == null) {
+            return dao.findPageOrderByNome(null, null, nomePrefixo, limit);
+        }
+        return dao.findPageOrderByNome(ultimo.getNome(), ultimo.getId(), nomePrefixo, limit);
+    }
+
+    /**
+     * Busca clientes pelo nome enquanto o usuário digita.
+     * <p>
+     * A busca não procura o texto em qualquer posição do nome: cada palavra digitada precisa ser o início de
+     * alguma palavra do nome. Com o índice em memória carregado (veja {@link #aquecerIndiceBusca()}), "sil"
+     * encontra "Silvana Costa" e "Maria da Silva", sem diferenciar acentos, mas não "Vassilis". Quando o índice
+     * traz menos que {@code limit} clientes (ou ainda não foi carregado), a busca é completada no banco de
+     * dados pelo início do nome, que enxerga os clientes gravados por outras estações desde a última recarga.
+     * Os clientes devolvidos trazem apenas o ID e o nome.
+     * 
+     * @param termo O texto digitado.
+     * @param limit O número máximo de clientes retornados.
+     * @return Os clientes encontrados, ordenados por nome (vazia se {@code termo} estiver em branco).
+     */
+    public List<Cliente> buscarPorNome(String termo, int limit) {
+        List<Cliente> clientes = buscarNoIndice(termo, limit);
+        if (termo == null || termo.isBlank() || clientes.size() >= limit) {
+            return clientes;
+        }
+        Set<Integer> encontrados = new HashSet<>();
+        for (Cliente cliente : clientes) {
+            encontrados.add(cliente.getId());
+        }
+        for (Cliente cliente : dao.searchByNamePrefix(termo.trim(), limit)) {
+            if (encontrados.add(cliente.getId())) {
+                clientes.add(cliente);
+            }
+        }
+        Collator ordemNome = Collator.getInstance(Locale.forLanguageTag("pt-BR"));
+        ordemNome.setStrength(Collator.PRIMARY);  // Sem diferenciar acentos e maiúsculas, como o índice
+        clientes.sort(Comparator.comparing(Cliente::getNome, ordemNome));
+        return clientes.size() > limit ? new ArrayList<>(clientes.subList(0, limit)) : clientes;
+    }
+
+    /**
+     * Busca clientes pelo nome apenas no índice em memória, sem acessar o banco de dados; pode ser chamado na
+     * thread da interface. Com o índice vencido, dispara a sua recarga em segundo plano e responde com o
+     * índice atual.
+     * 
+     * @param termo O texto digitado.
+     * @param limit O número máximo de clientes retornados.
+     * @return Os clientes encontrados, ordenados por nome (vazia se o índice ainda não foi carregado).
+     */
+    public List<Cliente> buscarNoIndice(String termo, int limit) {
+        List<Cliente> clientes = new ArrayList<>();
+        if (termo == null || termo.isBlank() || !indiceCarregado) {
+            return clientes;
+        }
+        if (isIndiceVencido()) {
+            aquecerIndiceBusca();
+        }
+        for (PrefixIndex.Entry<Integer> entrada : indiceNomes.search(termo, limit)) {
+            Cliente cliente = new Cliente();
+            cliente.setId(entrada.getKey());
+            cliente.setNome(entrada.getText());
+            clientes.add(cliente);
+        }
+        return clientes;
+    }
+
+    /**
+     * Variante assíncrona de {@link #buscarPorNome(String, int)}, executada por {@link AsyncServices}.
+     * 
+     * @param termo O texto digitado.
+     * @param limit O número máximo de clientes retornados.
+     * @return O future com os clientes encontrados.
+     */
+    public CompletableFuture<List<Cliente>> buscarPorNomeAsync(String termo, int limit) {
+        return AsyncServices.supplyAsync(() -> buscarPorNome(termo, limit));
+    }
+
+    /**
+     * Indica se o índice em memória já foi carregado, caso em que {@link #buscarNoIndice(String, int)} tem
+     * resultados a oferecer sem acessar o banco de dados.
+     * 
+     * @return {@code true} se o índice estiver carregado.
+     */
+    public static boolean isIndiceCarregado() {
+        return indiceCarregado;
+    }
+
+    /**
+     * Carrega em segundo plano o índice em memória da busca por nome, lendo os clientes em páginas por nome.
+     * Chamadas repetidas reaproveitam o carregamento em andamento ou concluído; depois de
+     * {@code cliente.indiceTtlSec} segundos (padrão 300, no arquivo {@code db.properties}) o índice é
+     * recarregado, para incluir os clientes gravados por outras estações. Durante a recarga, as buscas
+     * continuam respondendo com o índice anterior.
+     * 
+     * @return O future concluído quando o índice estiver carregado.
+     */
+    public CompletableFuture<Void> aquecerIndiceBusca() {
+        synchronized (ClienteService.class) {
+            boolean recarregar = carregamentoIndice == null || carregamentoIndice.isCompletedExceptionally()
+                    || (carregamentoIndice.isDone() && isIndiceVencido());
+            if (recarregar) {
+                carregamentoIndice = AsyncServices.supplyAsync(() -> {
+                    carregarIndice();
+                    return null;
+                }, 0, TimeUnit.SECONDS);
+            }
+            return carregamentoIndice;
+        }
+    }
+
+    /**
+     * Monta um índice novo a partir do banco e o coloca no lugar do atual, aplicando antes as gravações e
+     * remoções feitas durante a leitura.
+     */
+    private void carregarIndice() {
+        synchronized (LOCK_INDICE) {
+            alteracoesDuranteCarga = new HashMap<>();
+        }
+        try {
+            PrefixIndex<Integer> novo = new PrefixIndex<>();
+            List<Cliente> pagina = dao.findPageOrderByNome(null, null, null, PAGINA_INDICE);
+            while (!pagina.isEmpty()) {
+                for (Cliente cliente : pagina) {
+                    novo.put(cliente.getId(), cliente.getNome());
+                }
+                Cliente ultimo = pagina.get(pagina.size() - 1);
+                pagina = pagina.size() < PAGINA_INDICE ? new ArrayList<>()
+                        : dao.findPageOrderByNome(ultimo.getNome(), ultimo.getId(), null, PAGINA_INDICE);
+            }
+            synchronized (LOCK_INDICE) {
+                for (Map.Entry<Integer, String> alteracao : alteracoesDuranteCarga.entrySet()) {
+                    if (alteracao.getValue() == null) {
+                        novo.remove(alteracao.getKey());
+                    } else {
+                        novo.put(alteracao.getKey(), alteracao.getValue());
+                    }
+                }
+                indiceNomes = novo;
+                indiceCarregadoEm = System.nanoTime();
+                indiceCarregado = true;
+            }
+        } finally {
+            synchronized (LOCK_INDICE) {
+                alteracoesDuranteCarga = null;
+            }
+        }
+    }
+
+    /**
+     * Atualiza o índice após gravar ou remover um cliente.
+     * 
+     * @param id O ID do cliente.
+     * @param nome O nome gravado, ou {@code null} se o cliente foi removido.
+     */
+    private static void atualizarIndice(Integer id, String nome) {
+        synchronized (LOCK_INDICE) {
+            if (nome == null) {
+                indiceNomes.remove(id);
+            } else {
+                indiceNomes.put(id, nome);
+            }
+            if (alteracoesDuranteCarga != null) {
+                alteracoesDuranteCarga.put(id, nome);
+            }
+        }
+    }
+
+    private static boolean isIndiceVencido() {
+        synchronized (ClienteService.class) {
+            if (validadeIndiceNanos < 0) {
+                validadeIndiceNanos = TimeUnit.SECONDS.toNanos(Math.max(1, DB.getIntProperty("cliente.indiceTtlSec", 300)));
+            }
+        }
+        return indiceCarregado && System.nanoTime() - indiceCarregadoEm >= validadeIndiceNanos;
+    }
+
     /**
      * Salva um cliente, ou atualiza caso já exista.
      * 
@@ -50,19 +303,40 @@ public class ClienteService {
         } else {
             dao.update(obj); // Atualiza cliente existente
         }
+        atualizarIndice(obj.getId(), obj.getNome());
+    }
+
+    /**
+     * Variante assíncrona de {@link #saveOrUpdate(Cliente)}, executada por {@link AsyncServices}.
+     * 
+     * @param obj O cliente a ser salvo ou atualizado.
+     * @return O future concluído quando a gravação terminar.
+     */
+    public CompletableFuture<Void> saveOrUpdateAsync(Cliente obj) {
+        return AsyncServices.writeAsync(() -> saveOrUpdate(obj));
     }
 
     /**
-     * Remove um cliente do banco de dados.
+     * Remove um cliente do banco de dados, junto com seus animais, em uma única transação.
      * 
      * @param obj O objeto {@link Cliente} a ser removido.
      * @throws IllegalArgumentException Se o cliente ou ID for nulo.
+     * @throws DbException Se ocorrer um erro na remoção; nesse caso nada é removido.
      */
     public void remove(Cliente obj) {
         if (obj == null || obj.getId() == null) {
             throw new IllegalArgumentException("Cliente ou ID não pode ser nulo.");
         }
-        dao.deleteById(obj.getId()); // Deleta cliente
+        Integer id = obj.getId();
+        try {
+            new TransactionTemplate().run(conn -> {
+                DaoFactory.createAnimalDao(conn).deleteByClienteId(id); // Animais primeiro, pela chave estrangeira
+                DaoFactory.createClienteDao(conn).deleteById(id);
+            });
+        } finally {
+            DaoFactory.getClienteCache().evict(id);
+        }
+        atualizarIndice(id, null);
     }
 
     /**
@@ -103,9 +377,10 @@ public class ClienteService {
      * @param senha A senha do cliente.
      * @param endereco O endereço do cliente.
      * @param cpf O CPF do cliente.
+     * @return O cliente registrado, com o ID gerado.
      * @throws IllegalArgumentException Se algum campo for inválido ou faltar informação.
      */
-    public void registrarCliente(String nome, String email, String telefone, String senha, String endereco, String cpf) {
+    public Cliente registrarCliente(String nome, String email, String telefone, String senha, String endereco, String cpf) {
 
     	if (nome == null || nome.trim().isEmpty()) {
             throw new IllegalArgumentException("Nome não pode ser vazio.");
@@ -129,5 +404,7 @@ public class ClienteService {
         // Cria novo cliente
         Cliente cliente = new Cliente(null, nome, email, telefone, senha, endereco, cpf);
         dao.insert(cliente); // Insere o cliente no banco
+        indiceNomes.put(cliente.getId(), cliente.getNome());
+        return cliente;
     }
 }
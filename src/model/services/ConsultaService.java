@@ -1,15 +1,30 @@
 package model.services;
 
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import db.DB;
 import db.DbException;
+import db.TransactionTemplate;
 import model.dao.ConsultaDao;
+import model.dao.ConsultaQuery;
 import model.dao.DaoFactory;
 import model.entities.Consulta;
+import model.entities.ConsultaResumo;
+import model.entities.ResultadoTransicao;
+import model.exceptions.HorarioIndisponivelException;
 
 /**
  * Serviço responsável pela lógica de negócios relacionada às consultas.
@@ -22,6 +37,27 @@ public class ConsultaService {
 
     private ConsultaDao dao;
 
+    private static final DateTimeFormatter FORMATO_HORARIO = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    /**
+     * Sinaliza, dentro da transação de reserva, que outra consulta ocupa o horário. Não calcula nada: a
+     * transação é desfeita e a conexão devolvida ao pool antes de {@link #salvarOuAtualizar(Consulta)} montar a
+     * {@link HorarioIndisponivelException} com os próximos horários livres.
+     */
+    private static final class HorarioOcupadoNoBanco extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int consultaId;
+        private final LocalTime hora;
+
+        private HorarioOcupadoNoBanco(int consultaId, LocalTime hora) {
+            super(null, null, false, false);
+            this.consultaId = consultaId;
+            this.hora = hora;
+        }
+    }
+
     /**
      * Construtor que inicializa o serviço com o DAO de consultas.
      * O DAO é obtido através de uma fábrica de DAOs.
@@ -57,6 +93,16 @@ public class ConsultaService {
         return dao.findAllRequisitadas();  
     }
 
+    /**
+     * Busca o resumo das consultas com um status específico, para exibição em listagens.
+     * 
+     * @param status O status das consultas (ex: "Pendente", "Requisitada").
+     * @return Lista de resumos das consultas com o status especificado.
+     */
+    public List<ConsultaResumo> buscarResumosPorStatus(String status) {
+        return dao.findResumoByStatus(status);
+    }
+
     /**
      * Nega uma consulta, alterando seu status para "Negada".
      * 
@@ -64,14 +110,72 @@ public class ConsultaService {
      */
     public void negarConsulta(Consulta consulta) {
         dao.updateStatus(consulta, "negada");  
+        DisponibilidadeService.liberar(consulta.getId());
+    }
+
+    /**
+     * Aprova de uma só vez várias consultas requisitadas, alterando seu status de "Requisitada" para "Pendente".
+     * Consultas que não estão mais como "Requisitada" são ignoradas.
+     * 
+     * @param ids Os IDs das consultas a serem aprovadas.
+     * @return O resultado para cada ID.
+     */
+    public Map<Integer, ResultadoTransicao> aprovarConsultas(Collection<Integer> ids) {
+        return alterarStatus(ids, "Requisitada", "Pendente");
+    }
+
+    /**
+     * Nega de uma só vez várias consultas requisitadas, alterando seu status de "Requisitada" para "Negada".
+     * Consultas que não estão mais como "Requisitada" são ignoradas.
+     * 
+     * @param ids Os IDs das consultas a serem negadas.
+     * @return O resultado para cada ID.
+     */
+    public Map<Integer, ResultadoTransicao> negarConsultas(Collection<Integer> ids) {
+        return alterarStatus(ids, "Requisitada", "negada");
+    }
+
+    /**
+     * Altera em lote o status das consultas que estão no status esperado, com uma única atualização no banco.
+     * 
+     * @param ids Os IDs das consultas.
+     * @param statusAtual O status em que cada consulta precisa estar para ser alterada.
+     * @param novoStatus O novo status.
+     * @return O resultado para cada ID.
+     * @throws IllegalArgumentException Se os IDs ou os status forem nulos.
+     */
+    public Map<Integer, ResultadoTransicao> alterarStatus(Collection<Integer> ids, String statusAtual, String novoStatus) {
+        if (ids == null || ids.contains(null)) {
+            throw new IllegalArgumentException("Lista de consultas inválida.");
+        }
+        if (statusAtual == null || novoStatus == null) {
+            throw new IllegalArgumentException("Status inválido.");
+        }
+        Map<Integer, ResultadoTransicao> resultados = dao.updateStatus(ids, statusAtual, novoStatus);
+        if (!DisponibilidadeService.ocupaAgenda(novoStatus)) {
+            resultados.forEach((id, resultado) -> {
+                if (resultado == ResultadoTransicao.ATUALIZADA) {
+                    DisponibilidadeService.liberar(id);
+                }
+            });
+        }
+        return resultados;
     }
 
     /**
      * Salva ou atualiza uma consulta.
      * Se a consulta não tiver ID, ela é inserida. Caso contrário, ela é atualizada.
+     * <p>
+     * Quando a consulta tem veterinário, a gravação reserva o horário de forma atômica: em uma transação,
+     * a linha do veterinário é bloqueada ({@code SELECT ... FOR UPDATE}), o horário é verificado no banco e
+     * só então a consulta é gravada. Duas recepções gravando o mesmo horário ao mesmo tempo são atendidas
+     * uma de cada vez, e a segunda recebe {@link HorarioIndisponivelException}. Os próximos horários livres
+     * sugeridos na exceção são calculados depois que a transação é desfeita, sem manter a conexão e o
+     * bloqueio do veterinário.
      * 
      * @param consulta A consulta a ser salva ou atualizada.
      * @throws IllegalArgumentException Se a consulta for inválida.
+     * @throws HorarioIndisponivelException Se o veterinário já tiver outra consulta no mesmo horário.
      */
     public void salvarOuAtualizar(Consulta consulta) {
         if (consulta == null) {
@@ -80,13 +184,120 @@ public class ConsultaService {
 
         validarConsulta(consulta);
 
-        if (consulta.getId() == null || consulta.getId() == 0) {
-            dao.insert(consulta);  // Inserir nova consulta no banco de dados
+        boolean nova = consulta.getId() == null || consulta.getId() == 0;
+        if (consulta.getVeterinario() == null || !DisponibilidadeService.ocupaAgenda(consulta.getStatus())) {
+            if (nova) {
+                dao.insert(consulta);  // Inserir nova consulta no banco de dados
+            } else {
+                dao.update(consulta);  // Atualizar consulta existente
+            }
         } else {
-            dao.update(consulta);  // Atualizar consulta existente
+            try {
+                new TransactionTemplate().run(conn -> {
+                    reservarHorario(conn, consulta);
+                    ConsultaDao transacao = DaoFactory.createConsultaDao(conn);
+                    if (nova) {
+                        transacao.insert(consulta);
+                    } else {
+                        transacao.update(consulta);
+                    }
+                });
+            } catch (HorarioOcupadoNoBanco e) {
+                DisponibilidadeService.registrarOcupado(e.consultaId, consulta.getVeterinario().getId(),
+                        consulta.getData(), e.hora);
+                throw horarioIndisponivel(consulta);
+            }
+        }
+        DisponibilidadeService.registrar(consulta);
+    }
+
+    /**
+     * Reserva o horário da consulta na transação informada. O bloqueio da linha do veterinário dura até o fim
+     * da transação, de modo que a verificação e a gravação da consulta acontecem sem outra reserva no meio.
+     * <p>
+     * O veterinário bloqueado é o da consulta, que é o mesmo gravado por {@code ConsultaDao.update}. Numa
+     * remarcação, a linha da própria consulta também é bloqueada, sempre depois da do veterinário (a mesma
+     * ordem de uma reserva nova), para que duas edições da mesma consulta não se intercalem.
+     * 
+     * @param conn A conexão da transação, com autocommit desligado.
+     * @param consulta A consulta, com veterinário, data e hora.
+     * @throws SQLException Se ocorrer um erro no banco de dados.
+     * @throws DbException Se o veterinário ou a consulta remarcada não existirem.
+     * @throws HorarioOcupadoNoBanco Se outra consulta ocupar o horário.
+     */
+    static void reservarHorario(Connection conn, Consulta consulta) throws SQLException {
+        Integer veterinarioId = consulta.getVeterinario().getId();
+        try (PreparedStatement st = conn.prepareStatement("SELECT id FROM veterinario WHERE id = ? FOR UPDATE")) {
+            st.setInt(1, veterinarioId);
+            try (ResultSet rs = st.executeQuery()) {
+                if (!rs.next()) {
+                    throw new DbException("Veterinário não encontrado.");
+                }
+            }
+        }
+        if (consulta.getId() != null && consulta.getId() != 0) {
+            try (PreparedStatement st = conn.prepareStatement("SELECT id FROM consulta WHERE id = ? FOR UPDATE")) {
+                st.setInt(1, consulta.getId());
+                try (ResultSet rs = st.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new DbException("Consulta não encontrada.");
+                    }
+                }
+            }
+        }
+
+        // Leitura com bloqueio: enxerga as reservas confirmadas por quem tinha o bloqueio antes
+        LocalTime[] faixa = DisponibilidadeService.faixa(consulta.getHora());
+        String sql = """
+            SELECT id, hora FROM consulta
+            WHERE data = ? AND veterinarioId = ? AND hora >= ? AND hora < ?
+              AND LOWER(status) NOT IN ('cancelada', 'negada') AND id <> ?
+            LIMIT 1
+            FOR UPDATE
+            """;
+        try (PreparedStatement st = conn.prepareStatement(sql)) {
+            st.setDate(1, Date.valueOf(consulta.getData()));
+            st.setInt(2, veterinarioId);
+            st.setTime(3, Time.valueOf(faixa[0]));
+            st.setTime(4, Time.valueOf(faixa[1]));
+            st.setInt(5, consulta.getId() != null ? consulta.getId() : 0);
+            try (ResultSet rs = st.executeQuery()) {
+                if (rs.next()) {
+                    throw new HorarioOcupadoNoBanco(rs.getInt("id"), rs.getTime("hora").toLocalTime());
+                }
+            }
         }
     }
 
+    /**
+     * Cria a resposta de conflito com os próximos horários livres do veterinário.
+     * 
+     * @param consulta A consulta cujo horário está ocupado.
+     * @return A exceção a ser lançada.
+     */
+    private static HorarioIndisponivelException horarioIndisponivel(Consulta consulta) {
+        List<LocalDateTime> livres = new DisponibilidadeService().proximosHorariosLivres(
+                consulta.getVeterinario().getId(), LocalDateTime.of(consulta.getData(), consulta.getHora()), 3);
+        List<String> sugestoes = new ArrayList<>();
+        for (LocalDateTime livre : livres) {
+            sugestoes.add(livre.format(FORMATO_HORARIO));
+        }
+        return new HorarioIndisponivelException("O veterinário já tem uma consulta neste horário."
+                + (sugestoes.isEmpty() ? "" : " Próximos horários livres: " + String.join(", ", sugestoes) + "."), livres);
+    }
+
+    /**
+     * Variante assíncrona de {@link #salvarOuAtualizar(Consulta)}, executada por {@link AsyncServices}.
+     * A gravação não tem prazo: o future só falha quando a reserva não foi gravada, de modo que a tela nunca
+     * mostra erro para uma consulta que o banco confirmou.
+     * 
+     * @param obj A consulta a ser salva ou atualizada.
+     * @return O future concluído quando a gravação terminar.
+     */
+    public CompletableFuture<Void> salvarOuAtualizarAsync(Consulta obj) {
+        return AsyncServices.writeAsync(() -> salvarOuAtualizar(obj));
+    }
+
     /**
      * Marca uma consulta como realizada, alterando seu status para "Realizada".
      * 
@@ -94,26 +305,29 @@ public class ConsultaService {
      * @throws DbException Se ocorrer um erro ao atualizar o status no banco de dados.
      */
     public void marcarConsultaComoRealizada(Consulta consulta) {
-        Connection conn = null;
-        PreparedStatement st = null;
-        try {
-            conn = DB.getConnection();  // Abre a conexão
-            if (conn.isClosed()) {
-                throw new DbException("A conexão está fechada.");
-            }
-            
-            String sql = "UPDATE consulta SET status = 'realizada' WHERE id = ?";
-            st = conn.prepareStatement(sql);
-            st.setInt(1, consulta.getId());
+        new TransactionTemplate().run(conn -> {
+            marcarComoRealizada(conn, consulta.getId());
+        });
+    }
+
+    /**
+     * Marca uma consulta como realizada usando a conexão informada, para que a alteração participe
+     * de uma transação maior (como o registro do relatório da consulta).
+     * 
+     * @param conn A conexão da transação.
+     * @param consultaId O ID da consulta.
+     * @throws SQLException Se ocorrer um erro ao atualizar o status no banco de dados.
+     * @throws DbException Se a consulta não for encontrada.
+     */
+    static void marcarComoRealizada(Connection conn, Integer consultaId) throws SQLException {
+        String sql = "UPDATE consulta SET status = 'realizada' WHERE id = ?";
+        try (PreparedStatement st = conn.prepareStatement(sql)) {
+            st.setInt(1, consultaId);
             
             int rowsAffected = st.executeUpdate();  // Executa a atualização
             if (rowsAffected == 0) {
                 throw new DbException("Consulta não encontrada ou já realizada.");
             }
-        } catch (SQLException e) {
-            throw new DbException("Erro ao atualizar consulta: " + e.getMessage());
-        } finally {
-            DB.closeStatement(st);
         }
     }
     
@@ -122,6 +336,7 @@ public class ConsultaService {
      * 
      * @param consulta A consulta a ser validada.
      * @throws IllegalArgumentException Se algum campo obrigatório estiver inválido.
+     * @throws HorarioIndisponivelException Se o horário já estiver ocupado na agenda do veterinário.
      */
     public void validarConsulta(Consulta consulta) {
         if (consulta == null) {
@@ -145,6 +360,9 @@ public class ConsultaService {
         if (consulta.getHora() == null) {
             throw new IllegalArgumentException("Hora da consulta não pode ser nula.");
         }
+        if (DisponibilidadeService.conflita(consulta)) {
+            throw horarioIndisponivel(consulta);  // Verificação rápida em memória; a reserva confirma no banco
+        }
     }
 
     /**
@@ -156,6 +374,48 @@ public class ConsultaService {
         return dao.findAll();
     }
 
+    /**
+     * Variante assíncrona de {@link #findAll()}, executada por {@link AsyncServices}.
+     * 
+     * @return O future com a lista de consultas.
+     */
+    public CompletableFuture<List<Consulta>> findAllAsync() {
+        return AsyncServices.supplyAsync(this::findAll);
+    }
+
+    /**
+     * Busca uma página de consultas, continuando a partir da última consulta já exibida.
+     * 
+     * @param afterId O ID da última consulta da página anterior, ou null para a primeira página.
+     * @param limit O número máximo de consultas na página.
+     * @param status Filtro opcional pelo status (null para todos).
+     * @return Lista de consultas da página, das mais recentes para as mais antigas.
+     */
+    public List<Consulta> buscarPagina(Integer afterId, int limit, String status) {
+        return dao.findPage(afterId, limit, status, null, null, true);
+    }
+
+    /**
+     * Busca consultas por critérios combinados (período, status, veterinário, cliente, espécie e texto),
+     * filtradas e ordenadas no banco de dados.
+     * 
+     * @param query Os critérios da busca.
+     * @return Lista de consultas encontradas, na ordem pedida.
+     */
+    public List<Consulta> buscar(ConsultaQuery query) {
+        return dao.search(query);
+    }
+
+    /**
+     * Variante assíncrona de {@link #buscar(ConsultaQuery)}, executada por {@link AsyncServices}.
+     * 
+     * @param query Os critérios da busca.
+     * @return O future com as consultas encontradas.
+     */
+    public CompletableFuture<List<Consulta>> buscarAsync(ConsultaQuery query) {
+        return AsyncServices.supplyAsync(() -> buscar(query));
+    }
+
     /**
      * Deleta uma consulta pelo ID.
      * 
@@ -163,6 +423,7 @@ public class ConsultaService {
      */
     public void deletar(Integer id) {
         dao.deleteById(id);
+        DisponibilidadeService.liberar(id);
     }
 
     /**
@@ -239,7 +500,7 @@ public class ConsultaService {
         Connection conn = null;
         PreparedStatement st = null;
         try {
-            conn = DB.getConnection();  // Abre a conexão
+            conn = DB.getConnection();  // Empresta uma conexão do pool
             if (conn.isClosed()) {
                 throw new DbException("A conexão está fechada.");
             }
@@ -253,10 +514,12 @@ public class ConsultaService {
             if (rowsAffected == 0) {
                 throw new DbException("Consulta não encontrada ou já cancelada.");
             }
+            DisponibilidadeService.liberar(consulta.getId());
         } catch (SQLException e) {
             throw new DbException("Erro ao cancelar consulta: " + e.getMessage());
         } finally {
             DB.closeStatement(st);
+            DB.closeConnection(conn);
         }
     }
 }
@@ -0,0 +1,186 @@
+package model.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import db.DB;
+import model.dao.ConsultaDao;
+import model.dao.DaoFactory;
+import model.entities.Consulta;
+
+/**
+ * Serviço de disponibilidade da agenda dos veterinários.
+ * <p>
+ * Responde se um horário está livre e quais são os próximos horários livres de um veterinário a partir de um
+ * mapa de ocupação em memória ({@link AgendaOcupacao}), compartilhado pela aplicação e mantido atualizado
+ * pelo {@link ConsultaService} a cada consulta gravada, cancelada, negada ou removida. O expediente é
+ * configurado no arquivo {@code db.properties}: {@code agenda.aberturaHora} (padrão 8),
+ * {@code agenda.fechamentoHora} (padrão 18) e {@code agenda.duracaoMin} (duração de cada horário, padrão 30).
+ * A agenda é lida do banco em janelas de {@code agenda.horizonteDias} dias (padrão 14), cada uma lida de novo
+ * depois de {@code agenda.ttlSec} segundos (padrão 120), para incluir as consultas gravadas por outras
+ * instâncias da aplicação.
+ */
+public class DisponibilidadeService {
+
+    /**
+     * Número máximo de dias examinados na busca pelos próximos horários livres.
+     */
+    private static final int MAX_DIAS_BUSCA = 365;
+
+    private static AgendaOcupacao agenda;
+
+    /**
+     * Indica se um horário de um veterinário está dentro do expediente e livre.
+     *
+     * @param veterinarioId O ID do veterinário.
+     * @param data A data.
+     * @param hora A hora.
+     * @return {@code true} se o horário estiver livre.
+     */
+    public boolean isHorarioLivre(Integer veterinarioId, LocalDate data, LocalTime hora) {
+        if (veterinarioId == null || data == null || hora == null) {
+            throw new IllegalArgumentException("Veterinário, data e hora são obrigatórios.");
+        }
+        return agenda().isLivre(veterinarioId, data, hora);
+    }
+
+    /**
+     * Busca os próximos horários livres de um veterinário.
+     *
+     * @param veterinarioId O ID do veterinário.
+     * @param aPartirDe O instante a partir do qual procurar.
+     * @param quantidade O número de horários desejado.
+     * @return Os horários livres, em ordem (menos que {@code quantidade} se a agenda estiver cheia no próximo ano).
+     */
+    public List<LocalDateTime> proximosHorariosLivres(Integer veterinarioId, LocalDateTime aPartirDe, int quantidade) {
+        if (veterinarioId == null || aPartirDe == null) {
+            throw new IllegalArgumentException("Veterinário e data inicial são obrigatórios.");
+        }
+        return agenda().proximosLivres(veterinarioId, aPartirDe, quantidade, MAX_DIAS_BUSCA);
+    }
+
+    /**
+     * Variante assíncrona de {@link #proximosHorariosLivres(Integer, LocalDateTime, int)}, executada por
+     * {@link AsyncServices}. A primeira chamada pode ler do banco a ocupação das próximas semanas.
+     *
+     * @param veterinarioId O ID do veterinário.
+     * @param aPartirDe O instante a partir do qual procurar.
+     * @param quantidade O número de horários desejado.
+     * @return O future com os horários livres.
+     */
+    public CompletableFuture<List<LocalDateTime>> proximosHorariosLivresAsync(Integer veterinarioId, LocalDateTime aPartirDe,
+                                                                            int quantidade) {
+        return AsyncServices.supplyAsync(() -> proximosHorariosLivres(veterinarioId, aPartirDe, quantidade));
+    }
+
+    /**
+     * Indica se outra consulta já ocupa o horário da consulta informada.
+     *
+     * @param consulta A consulta a ser gravada.
+     * @return {@code true} se houver conflito com outra consulta do mesmo veterinário.
+     */
+    static boolean conflita(Consulta consulta) {
+        if (consulta.getVeterinario() == null || !ocupaAgenda(consulta.getStatus())) {
+            return false;
+        }
+        return agenda().isOcupado(consulta.getVeterinario().getId(), consulta.getData(), consulta.getHora(), consulta.getId());
+    }
+
+    /**
+     * Obtém o horário da agenda que contém a hora, usado na verificação de conflitos no banco.
+     *
+     * @param hora A hora.
+     * @return O início (inclusive) e o fim (exclusive) do horário.
+     */
+    static LocalTime[] faixa(LocalTime hora) {
+        return agenda().faixa(hora);
+    }
+
+    /**
+     * Atualiza a agenda após a gravação de uma consulta.
+     *
+     * @param consulta A consulta gravada, já com o ID.
+     */
+    static void registrar(Consulta consulta) {
+        AgendaOcupacao atual = agendaCarregada();
+        if (atual == null || consulta.getId() == null) {
+            return;
+        }
+        if (consulta.getVeterinario() == null || !ocupaAgenda(consulta.getStatus())) {
+            atual.liberar(consulta.getId());
+        } else {
+            atual.registrar(consulta.getId(), consulta.getVeterinario().getId(), consulta.getData(), consulta.getHora());
+        }
+    }
+
+    /**
+     * Registra na agenda uma consulta encontrada no banco que ainda não era conhecida (por exemplo, gravada
+     * por outra instância da aplicação), para que as sugestões de horários livres não a ofereçam.
+     *
+     * @param consultaId O ID da consulta.
+     * @param veterinarioId O ID do veterinário.
+     * @param data A data da consulta.
+     * @param hora A hora da consulta.
+     */
+    static void registrarOcupado(Integer consultaId, Integer veterinarioId, LocalDate data, LocalTime hora) {
+        AgendaOcupacao atual = agendaCarregada();
+        if (atual != null) {
+            atual.registrar(consultaId, veterinarioId, data, hora);
+        }
+    }
+
+    /**
+     * Libera na agenda o horário de uma consulta cancelada, negada ou removida.
+     *
+     * @param consultaId O ID da consulta.
+     */
+    static void liberar(Integer consultaId) {
+        AgendaOcupacao atual = agendaCarregada();
+        if (atual != null && consultaId != null) {
+            atual.liberar(consultaId);
+        }
+    }
+
+    /**
+     * Indica se uma consulta com o status informado ocupa a agenda do veterinário.
+     *
+     * @param status O status da consulta.
+     * @return {@code false} para consultas canceladas ou negadas.
+     */
+    static boolean ocupaAgenda(String status) {
+        if (status == null) {
+            return true;
+        }
+        String normalizado = status.trim().toLowerCase(Locale.ROOT);
+        return !normalizado.equals("cancelada") && !normalizado.equals("negada");
+    }
+
+    /**
+     * @return A agenda compartilhada, criada na primeira utilização.
+     */
+    private static synchronized AgendaOcupacao agenda() {
+        if (agenda == null) {
+            int abertura = DB.getIntProperty("agenda.aberturaHora", 8);
+            int fechamento = DB.getIntProperty("agenda.fechamentoHora", 18);
+            int duracao = Math.max(5, DB.getIntProperty("agenda.duracaoMin", 30));
+            int horizonte = Math.max(1, DB.getIntProperty("agenda.horizonteDias", 14));
+            int ttl = Math.max(1, DB.getIntProperty("agenda.ttlSec", 120));
+            int horariosPorDia = Math.max(1, (fechamento - abertura) * 60 / duracao);
+            ConsultaDao dao = DaoFactory.createConsultaDao();
+            agenda = new AgendaOcupacao(dao::findHorariosOcupados, LocalTime.of(abertura, 0), duracao, horariosPorDia,
+                    horizonte, ttl);
+        }
+        return agenda;
+    }
+
+    /**
+     * @return A agenda compartilhada, ou {@code null} se ainda não foi usada (nada a atualizar).
+     */
+    private static synchronized AgendaOcupacao agendaCarregada() {
+        return agenda;
+    }
+}
@@ -0,0 +1,226 @@
+package model.services;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória (trie) para a busca por nome enquanto o usuário digita.
+ * <p>
+ * Cada palavra do nome é indexada, sem acentos e sem diferenciar maiúsculas de minúsculas, de modo que
+ * "sil" encontra tanto "Silvana Costa" quanto "Maria da Silva". Quando a busca tem várias palavras, todas
+ * precisam ser início de alguma palavra do nome. O índice guarda apenas a chave e o nome de cada item
+ * (nunca a entidade completa); as palavras e a chave de ordenação são normalizadas uma única vez, na
+ * inclusão. Os métodos são sincronizados, pois o índice é preenchido em segundo plano e consultado na
+ * thread da interface.
+ *
+ * @param <K> O tipo da chave dos itens (por exemplo, o ID).
+ */
+final class PrefixIndex<K> {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    /**
+     * Ordem dos itens de um nó: pelo nome normalizado e, em caso de empate, pela ordem de inclusão.
+     */
+    private static final Comparator<Entry<?>> ORDEM = Comparator.<Entry<?>, String>comparing(e -> e.sortKey)
+            .thenComparingLong(e -> e.sequence);
+
+    private final Node<K> root = new Node<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long sequence;
+
+    /**
+     * Um item indexado: a chave, o texto original e os dados normalizados usados na busca.
+     *
+     * @param <K> O tipo da chave.
+     */
+    static final class Entry<K> {
+        private final K key;
+        private final String text;
+        private final String sortKey;
+        private final List<String> words;
+        private final long sequence;
+
+        private Entry(K key, String text, long sequence) {
+            this.key = key;
+            this.text = text;
+            this.sortKey = normalize(text);
+            this.words = words(sortKey);
+            this.sequence = sequence;
+        }
+
+        /**
+         * @return A chave do item.
+         */
+        K getKey() {
+            return key;
+        }
+
+        /**
+         * @return O texto indexado, como foi informado.
+         */
+        String getText() {
+            return text;
+        }
+    }
+
+    /**
+     * Indexa um item, substituindo o item de mesma chave, se houver.
+     *
+     * @param key A chave única do item.
+     * @param text O texto indexado (por exemplo, o nome).
+     */
+    synchronized void put(K key, String text) {
+        if (key == null) {
+            return;
+        }
+        remove(key);
+        Entry<K> entry = new Entry<>(key, text, sequence++);
+        entries.put(key, entry);
+        for (String word : entry.words) {
+            Node<K> node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.children.computeIfAbsent(word.charAt(i), c -> new Node<>());
+            }
+            node.entries.add(entry);
+        }
+    }
+
+    /**
+     * Remove do índice o item com a chave informada.
+     *
+     * @param key A chave do item.
+     */
+    synchronized void remove(K key) {
+        Entry<K> old = key != null ? entries.remove(key) : null;
+        if (old == null) {
+            return;
+        }
+        for (String word : old.words) {
+            Node<K> node = root;
+            for (int i = 0; i < word.length() && node != null; i++) {
+                node = node.children.get(word.charAt(i));
+            }
+            if (node != null) {
+                node.entries.remove(old);
+            }
+        }
+    }
+
+    /**
+     * Remove todos os itens.
+     */
+    synchronized void clear() {
+        root.children.clear();
+        root.entries.clear();
+        entries.clear();
+    }
+
+    /**
+     * @return O número de itens indexados.
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Busca os itens cujo texto tem palavras começando com cada palavra da busca.
+     * <p>
+     * A subárvore do primeiro termo é percorrida em ordem alfabética das palavras (a palavra exata antes das
+     * mais longas) e a busca para assim que {@code limit} itens forem encontrados; apenas esses itens são
+     * ordenados pelo nome.
+     *
+     * @param query O texto digitado.
+     * @param limit O número máximo de itens retornados.
+     * @return Os itens encontrados, ordenados pelo texto.
+     */
+    synchronized List<Entry<K>> search(String query, int limit) {
+        List<String> terms = words(normalize(query));
+        List<Entry<K>> result = new ArrayList<>();
+        if (terms.isEmpty() || limit <= 0) {
+            return result;
+        }
+        Node<K> node = root;
+        String first = terms.get(0);
+        for (int i = 0; i < first.length() && node != null; i++) {
+            node = node.children.get(first.charAt(i));
+        }
+        if (node == null) {
+            return result;
+        }
+
+        Set<K> seen = new HashSet<>();
+        Deque<Node<K>> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty() && result.size() < limit) {
+            Node<K> current = pending.pop();
+            for (Entry<K> entry : current.entries) {
+                if (seen.add(entry.key) && (terms.size() == 1 || matchesAll(entry.words, terms))) {
+                    result.add(entry);
+                    if (result.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            // Empilhados do maior para o menor, para que o menor caractere seja visitado primeiro
+            for (Node<K> child : current.children.descendingMap().values()) {
+                pending.push(child);
+            }
+        }
+        result.sort(ORDEM);
+        return result;
+    }
+
+    private static boolean matchesAll(List<String> words, List<String> terms) {
+        for (String term : terms) {
+            boolean matched = false;
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> words(String normalized) {
+        List<String> words = new ArrayList<>();
+        if (!normalized.isEmpty()) {
+            for (String word : ESPACOS.split(normalized)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static final class Node<K> {
+        private final NavigableMap<Character, Node<K>> children = new TreeMap<>();
+        private final Set<Entry<K>> entries = new TreeSet<>(ORDEM);
+    }
+}
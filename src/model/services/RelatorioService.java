@@ -1,24 +1,25 @@
 package model.services;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import db.DbException;
+import db.TransactionTemplate;
 import model.dao.DaoFactory;
 import model.dao.RelatorioDao;
-import model.dao.VeterinarioDao;
 import model.entities.Relatorio;
-import model.entities.Veterinario;
+import model.entities.RelatorioResultado;
 
 /**
  * Serviço responsável pela lógica de negócios relacionada aos relatórios de consultas.
  * Permite a criação, atualização, exclusão e consulta de relatórios, além de associar veterinários aos relatórios.
  * 
- * Utiliza {@link RelatorioDao} para interagir com o banco de dados de relatórios
- * e {@link VeterinarioDao} para buscar dados sobre veterinários.
+ * Utiliza {@link RelatorioDao} para interagir com o banco de dados de relatórios,
+ * que já traz os dados dos veterinários associados.
  */
 public class RelatorioService {
     
     private RelatorioDao relatorioDao = DaoFactory.createRelatorioDao();
-    private VeterinarioDao veterinarioDao = DaoFactory.createVeterinarioDao(); // Inicialização do VeterinarioDao
     
     /**
      * Insere um novo relatório no banco de dados.
@@ -29,6 +30,30 @@ public class RelatorioService {
         relatorioDao.insert(relatorio);
     }
 
+    /**
+     * Registra o relatório de uma consulta e marca a consulta como realizada, em uma única transação:
+     * ou as duas alterações são gravadas, ou nenhuma.
+     * 
+     * @param relatorio O relatório a ser inserido, com a consulta associada.
+     * @throws DbException Se ocorrer um erro no banco de dados ou se a consulta não for encontrada.
+     */
+    public void registrarRelatorio(Relatorio relatorio) {
+        new TransactionTemplate().run(conn -> {
+            DaoFactory.createRelatorioDao(conn).insert(relatorio);
+            ConsultaService.marcarComoRealizada(conn, relatorio.getConsulta().getId());
+        });
+    }
+
+    /**
+     * Variante assíncrona de {@link #registrarRelatorio(Relatorio)}, executada por {@link AsyncServices}.
+     * 
+     * @param relatorio O relatório a ser inserido, com a consulta associada.
+     * @return O future concluído quando a transação for confirmada.
+     */
+    public CompletableFuture<Void> registrarRelatorioAsync(Relatorio relatorio) {
+        return AsyncServices.writeAsync(() -> registrarRelatorio(relatorio));
+    }
+
     /**
      * Atualiza um relatório existente no banco de dados.
      * 
@@ -66,19 +91,56 @@ public class RelatorioService {
         return relatorioDao.findAll();
     }
 
+    /**
+     * Variante assíncrona de {@link #findAll()}, executada por {@link AsyncServices}.
+     * 
+     * @return O future com a lista de relatórios.
+     */
+    public CompletableFuture<List<Relatorio>> findAllAsync() {
+        return AsyncServices.supplyAsync(this::findAll);
+    }
+
+    /**
+     * Busca relatórios pelas palavras contidas na descrição, no diagnóstico ou na recomendação, para encontrar
+     * casos anteriores por sintoma ou diagnóstico. Os resultados vêm ordenados por relevância.
+     * 
+     * @param texto As palavras procuradas.
+     * @param pagina O número da página, começando em 0.
+     * @param tamanhoPagina O número de resultados por página.
+     * @return Os resultados da página, cada um com um trecho do texto encontrado.
+     */
+    public List<RelatorioResultado> buscarPorTexto(String texto, int pagina, int tamanhoPagina) {
+        if (pagina < 0 || tamanhoPagina < 1) {
+            throw new IllegalArgumentException("Página inválida.");
+        }
+        return relatorioDao.searchByText(texto, pagina * tamanhoPagina, tamanhoPagina);
+    }
+
+    /**
+     * Variante assíncrona de {@link #buscarPorTexto(String, int, int)}, executada por {@link AsyncServices}.
+     * 
+     * @param texto As palavras procuradas.
+     * @param pagina O número da página, começando em 0.
+     * @param tamanhoPagina O número de resultados por página.
+     * @return O future com os resultados da página.
+     */
+    public CompletableFuture<List<RelatorioResultado>> buscarPorTextoAsync(String texto, int pagina, int tamanhoPagina) {
+        return AsyncServices.supplyAsync(() -> buscarPorTexto(texto, pagina, tamanhoPagina));
+    }
+
     /**
      * Busca todos os relatórios, associando cada um com o veterinário responsável.
+     * O veterinário já é carregado pelo DAO na mesma consulta dos relatórios.
      * 
      * @return Uma lista de relatórios com veterinários responsáveis carregados.
      */
     public List<Relatorio> findAllRelatoriosComVeterinario() {
-        List<Relatorio> relatorios = relatorioDao.findAll();  // Busca todos os relatórios
+        List<Relatorio> relatorios = relatorioDao.findAll();  // Busca todos os relatórios com o veterinário
 
-        // Para cada relatório, se não houver veterinário responsável, ele é associado
+        // Garante o veterinário responsável sem novas consultas ao banco
         for (Relatorio relatorio : relatorios) {
             if (relatorio.getVeterinarioResponsavel() == null) {
-                Veterinario veterinario = veterinarioDao.findById(relatorio.getVeterinario().getId()); // Usa veterinarioDao
-                relatorio.setVeterinarioResponsavel(veterinario);
+                relatorio.setVeterinarioResponsavel(relatorio.getVeterinario());
             }
         }
 
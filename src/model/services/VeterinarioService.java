@@ -1,6 +1,7 @@
 package model.services;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import model.dao.DaoFactory;
 import model.dao.VeterinarioDao;
@@ -17,7 +18,8 @@ public class VeterinarioService {
     private VeterinarioDao dao = DaoFactory.createVeterinarioDao();
 
     /**
-     * Recupera todos os veterinários cadastrados no banco de dados.
+     * Recupera todos os veterinários cadastrados no banco de dados. A lista fica em cache até que um
+     * veterinário seja alterado.
      * 
      * @return Uma lista de todos os veterinários.
      */
@@ -25,6 +27,39 @@ public class VeterinarioService {
         return dao.findAll();
     }
 
+    /**
+     * Variante assíncrona de {@link #findAll()}, executada por {@link AsyncServices}.
+     * 
+     * @return O future com a lista de veterinários.
+     */
+    public CompletableFuture<List<Veterinario>> findAllAsync() {
+        return AsyncServices.supplyAsync(this::findAll);
+    }
+
+    /**
+     * Busca um veterinário pelo ID, a partir da lista de veterinários em cache.
+     * 
+     * @param id O ID do veterinário.
+     * @return O veterinário encontrado, ou {@code null} se não existir.
+     */
+    public Veterinario findById(Integer id) {
+        return dao.findById(id);
+    }
+
+    /**
+     * Busca uma página de veterinários ordenada por nome, continuando a partir do último veterinário já exibido.
+     * 
+     * @param ultimo O último veterinário da página anterior, ou {@code null} para a primeira página.
+     * @param limit O número máximo de veterinários na página.
+     * @return Uma lista de veterinários da página (vazia quando não há mais veterinários).
+     */
+    public List<Veterinario> findPage(Veterinario ultimo, int limit) {
+        if (ultimo == null) {
+            return dao.findPageOrderByNome(null, null, limit);
+        }
+        return dao.findPageOrderByNome(ultimo.getNome(), ultimo.getId(), limit);
+    }
+
     /**
      * Salva ou atualiza um veterinário no banco de dados.
      * Se o veterinário já possui um ID, o método realiza uma atualização; 
@@ -40,6 +75,16 @@ public class VeterinarioService {
         }
     }
 
+    /**
+     * Variante assíncrona de {@link #saveOrUpdate(Veterinario)}, executada por {@link AsyncServices}.
+     * 
+     * @param obj O veterinário a ser salvo ou atualizado.
+     * @return O future concluído quando a gravação terminar.
+     */
+    public CompletableFuture<Void> saveOrUpdateAsync(Veterinario obj) {
+        return AsyncServices.writeAsync(() -> saveOrUpdate(obj));
+    }
+
     /**
      * Remove um veterinário do banco de dados pelo seu ID.
      * 
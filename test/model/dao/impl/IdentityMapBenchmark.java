@@ -0,0 +1,264 @@
+package model.dao.impl;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import model.entities.Consulta;
+
+/**
+ * Medição da memória retida por uma lista grande de consultas, com e sem o {@link IdentityMap}.
+ * <p>
+ * As duas cargas passam pelo mapeamento real de {@link ConsultaDaoJDBC}, sobre um JDBC simulado em
+ * memória (nenhum banco é necessário):
+ * <ul>
+ * <li><b>antes</b>: uma chamada de {@code findById} por consulta. Cada chamada usa um mapa de identidade
+ * novo, exatamente como os mapeadores sem o mapa: cada linha cria o seu próprio cliente, animal e
+ * veterinário;</li>
+ * <li><b>depois</b>: um único {@code findAll}, em que as linhas compartilham as instâncias.</li>
+ * </ul>
+ * O {@link ResultSet} simulado devolve uma nova {@link String} a cada {@code getString}, como o driver
+ * faz ao decodificar cada linha, para que as duas cargas paguem o mesmo custo por texto lido.
+ * <p>
+ * Execução (a partir da raiz do projeto, com o JavaFX no module path ou no classpath):
+ *
+ * <pre>
+ * javac -d bin src/db/*.java src/model/entities/*.java src/model/dao/*.java src/model/dao/impl/*.java \
+ *       test/model/dao/impl/IdentityMapBenchmark.java
+ * java -Xmx1g -XX:+UseSerialGC -cp bin model.dao.impl.IdentityMapBenchmark [consultas] [clientes] [veterinarios]
+ * </pre>
+ *
+ * Termina com código 1 se as instâncias não forem compartilhadas ou se a memória retida não diminuir.
+ */
+public final class IdentityMapBenchmark {
+
+    private IdentityMapBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int consultas = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int veterinarios = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        List<Map<String, Object>> linhas = linhas(consultas, clientes, veterinarios);
+        ConsultaDaoJDBC dao = new ConsultaDaoJDBC(dataSource(linhas));
+
+        // Aquecimento: carrega as classes e compila os caminhos quentes antes de medir
+        dao.findAll();
+        carregarPorId(dao, Math.min(consultas, 1_000));
+
+        long base = usadoAposGc();
+        List<Consulta> antes = carregarPorId(dao, consultas);
+        long retidoAntes = usadoAposGc() - base;
+        Map<String, Integer> instanciasAntes = instancias(antes);
+        antes = null;
+
+        base = usadoAposGc();
+        List<Consulta> depois = dao.findAll();
+        long retidoDepois = usadoAposGc() - base;
+        Map<String, Integer> instanciasDepois = instancias(depois);
+
+        System.out.printf("%d consultas, %d clientes, %d veterinários%n", consultas, clientes, veterinarios);
+        System.out.printf("antes:  %,d bytes retidos (%,d por consulta), instâncias %s%n",
+                retidoAntes, retidoAntes / consultas, instanciasAntes);
+        System.out.printf("depois: %,d bytes retidos (%,d por consulta), instâncias %s%n",
+                retidoDepois, retidoDepois / consultas, instanciasDepois);
+        System.out.printf("redução: %.1f%%%n", 100.0 * (retidoAntes - retidoDepois) / retidoAntes);
+
+        boolean ok = instanciasDepois.get("veterinarios") == veterinarios
+                && instanciasDepois.get("clientes") == clientes
+                && instanciasDepois.get("animais") == clientes
+                && retidoDepois < retidoAntes;
+        if (depois.size() != consultas || !ok) {
+            System.err.println("FALHA: as entidades associadas não foram compartilhadas entre as linhas.");
+            System.exit(1);
+        }
+    }
+
+    private static List<Consulta> carregarPorId(ConsultaDaoJDBC dao, int quantidade) {
+        List<Consulta> lista = new ArrayList<>(quantidade);
+        for (int id = 1; id <= quantidade; id++) {
+            lista.add(dao.findById(id));
+        }
+        return lista;
+    }
+
+    /**
+     * @return O número de instâncias distintas de cliente, animal e veterinário referenciadas pela lista.
+     */
+    private static Map<String, Integer> instancias(List<Consulta> lista) {
+        Set<Object> clientes = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Object> animais = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Object> veterinarios = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Consulta consulta : lista) {
+            clientes.add(consulta.getCliente());
+            animais.add(consulta.getAnimal());
+            veterinarios.add(consulta.getVeterinario());
+        }
+        Map<String, Integer> resultado = new LinkedHashMap<>();
+        resultado.put("clientes", clientes.size());
+        resultado.put("animais", animais.size());
+        resultado.put("veterinarios", veterinarios.size());
+        return resultado;
+    }
+
+    private static long usadoAposGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long usado = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            usado = Math.min(usado, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return usado;
+    }
+
+    /**
+     * Gera as linhas do SELECT das consultas: cada cliente tem um animal, e as consultas se distribuem
+     * entre os clientes e os veterinários.
+     */
+    private static List<Map<String, Object>> linhas(int consultas, int clientes, int veterinarios) {
+        List<Map<String, Object>> linhas = new ArrayList<>(consultas);
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        for (int id = 1; id <= consultas; id++) {
+            int clienteId = 1 + id % clientes;
+            int veterinarioId = 1 + id % veterinarios;
+            Map<String, Object> linha = new HashMap<>();
+            linha.put("id", id);
+            linha.put("data", Date.valueOf(inicio.plusDays(id % 365)));
+            linha.put("hora", Time.valueOf(LocalTime.of(8 + id % 10, 0)));
+            linha.put("descricao", "Retorno para avaliação clínica e renovação de receita");
+            linha.put("status", "Realizada");
+            linha.put("criadoPor", "funcionario");
+            linha.put("cliente_id", clienteId);
+            linha.put("clienteid", clienteId);
+            linha.put("cliente_nome", "Cliente " + clienteId);
+            linha.put("cliente_email", "cliente" + clienteId + "@exemplo.com");
+            linha.put("cliente_telefone", "(11) 90000-" + String.format("%04d", clienteId));
+            linha.put("cliente_senha", "$2a$10$abcdefghijklmnopqrstuvCliente" + clienteId);
+            linha.put("cliente_endereco", "Rua das Flores, " + clienteId + " - Centro");
+            linha.put("cliente_cpf", String.format("000.000.%03d-00", clienteId % 1000));
+            linha.put("animal_id", clienteId);
+            linha.put("animal_nome", "Animal " + clienteId);
+            linha.put("animal_idade", 1 + clienteId % 15);
+            linha.put("animal_raca", "Sem raça definida");
+            linha.put("animal_especie", clienteId % 2 == 0 ? "Cão" : "Gato");
+            linha.put("veterinario_id", veterinarioId);
+            linha.put("veterinarioid", veterinarioId);
+            linha.put("veterinario_nome", "Dr(a). Veterinário " + veterinarioId);
+            linha.put("veterinario_cpf", String.format("111.111.%03d-11", veterinarioId));
+            linha.put("veterinario_email", "vet" + veterinarioId + "@clinicavet.com");
+            linha.put("veterinario_telefone", "(11) 3000-" + String.format("%04d", veterinarioId));
+            linha.put("veterinario_senha", "$2a$10$abcdefghijklmnopqrstuvVet" + veterinarioId);
+            linhas.add(linha);
+        }
+        return linhas;
+    }
+
+    /**
+     * Fonte de conexões simulada: qualquer SELECT devolve todas as linhas, ou apenas a do ID informado
+     * no primeiro parâmetro quando ele é definido (como em {@code findById}).
+     */
+    private static DataSource dataSource(List<Map<String, Object>> linhas) {
+        return proxy(DataSource.class, (name, args) -> {
+            if (name.equals("getConnection")) {
+                return connection(linhas);
+            }
+            throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private static Connection connection(List<Map<String, Object>> linhas) {
+        return proxy(Connection.class, (name, args) -> {
+            switch (name) {
+                case "prepareStatement":
+                    return statement(linhas);
+                case "close":
+                    return null;
+                case "getAutoCommit":
+                case "isClosed":
+                    return name.equals("getAutoCommit");
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    private static PreparedStatement statement(List<Map<String, Object>> linhas) {
+        Integer[] filtroId = new Integer[1];
+        return proxy(PreparedStatement.class, (name, args) -> {
+            switch (name) {
+                case "setInt":
+                    if ((Integer) args[0] == 1) {
+                        filtroId[0] = (Integer) args[1];
+                    }
+                    return null;
+                case "executeQuery":
+                    List<Map<String, Object>> resultado = filtroId[0] == null ? linhas
+                            : filtroId[0] >= 1 && filtroId[0] <= linhas.size()
+                                    ? List.of(linhas.get(filtroId[0] - 1)) : List.of();
+                    return resultSet(resultado);
+                case "close":
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> linhas) {
+        int[] posicao = { -1 };
+        boolean[] nulo = { false };
+        return proxy(ResultSet.class, (name, args) -> {
+            switch (name) {
+                case "next":
+                    return ++posicao[0] < linhas.size();
+                case "close":
+                    return null;
+                case "wasNull":
+                    return nulo[0];
+                case "getInt":
+                case "getString":
+                case "getDate":
+                case "getTime":
+                    Object valor = linhas.get(posicao[0]).get(args[0]);
+                    nulo[0] = valor == null;
+                    if (name.equals("getInt")) {
+                        return valor == null ? 0 : valor;
+                    }
+                    if (name.equals("getString") && valor != null) {
+                        return new String((String) valor); // O driver cria uma String por linha lida
+                    }
+                    return valor;
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(String name, Object[] args) throws SQLException;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> handler.handle(method.getName(), args)));
+    }
+}
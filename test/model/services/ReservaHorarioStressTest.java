@@ -0,0 +1,207 @@
+package model.services;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import db.DB;
+import model.entities.Animal;
+import model.entities.Cliente;
+import model.entities.Consulta;
+import model.entities.Veterinario;
+import model.exceptions.HorarioIndisponivelException;
+
+/**
+ * Teste de carga da reserva de horário: várias threads gravam, ao mesmo tempo, uma consulta para o mesmo
+ * veterinário, data e hora, e apenas uma delas pode vencer.
+ * <p>
+ * As threads são liberadas juntas por um {@link CountDownLatch} e chamam
+ * {@link ConsultaService#salvarOuAtualizar(Consulta)}. O teste verifica que houve exatamente um sucesso, que
+ * todas as outras threads receberam {@link HorarioIndisponivelException} e que o banco tem uma única consulta
+ * no horário. As consultas criadas são removidas ao final.
+ * <p>
+ * Usa o banco configurado em {@code db.properties}, com ao menos um veterinário e um animal cadastrados. O
+ * horário reservado fica um ano à frente, para não colidir com a agenda real. O número padrão de threads é
+ * o dobro do {@code pool.maxSize}: parte delas espera por uma conexão enquanto as outras disputam o bloqueio
+ * do veterinário, e uma rodada que só termina com erro de tempo de espera do pool indica que alguma thread
+ * reteve a sua conexão além da transação de reserva.
+ * <p>
+ * Execução (a partir da raiz do projeto, com o driver do MySQL e o JavaFX no classpath):
+ *
+ * <pre>
+ * javac -d bin $(find src/db src/model -name '*.java') test/model/services/ReservaHorarioStressTest.java
+ * java -cp bin:mysql-connector-j.jar model.services.ReservaHorarioStressTest [threads] [rodadas]
+ * </pre>
+ *
+ * Termina com código 1 se alguma rodada tiver mais de um vencedor, nenhum vencedor ou um erro inesperado.
+ */
+public final class ReservaHorarioStressTest {
+
+    private static final String DESCRICAO = "Teste de carga da reserva de horário";
+
+    private ReservaHorarioStressTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0])
+                : 2 * DB.getDataSource().getMaxSize();
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        Consulta modelo = modelo();
+        boolean ok = true;
+        try {
+            for (int rodada = 0; rodada < rodadas; rodada++) {
+                LocalTime hora = LocalTime.of(8 + rodada % 10, 0);
+                ok &= rodada(threads, modelo, modelo.getData().plusDays(rodada / 10), hora);
+            }
+        } finally {
+            limpar(modelo);
+            DB.closeConnection();
+        }
+        if (!ok) {
+            System.err.println("FALHA: a reserva de horário permitiu agendamento duplo ou falhou.");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Executa uma rodada: todas as threads tentam reservar o mesmo horário ao mesmo tempo.
+     *
+     * @return {@code true} se houve exatamente um vencedor e uma única consulta gravada.
+     */
+    private static boolean rodada(int threads, Consulta modelo, LocalDate data, LocalTime hora)
+            throws InterruptedException, SQLException {
+        ConsultaService service = new ConsultaService();
+        CountDownLatch pronto = new CountDownLatch(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger vencedores = new AtomicInteger();
+        AtomicInteger recusadas = new AtomicInteger();
+        List<Throwable> erros = new ArrayList<>();
+
+        List<Thread> lista = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Consulta consulta = new Consulta(null, modelo.getCliente(), modelo.getVeterinario(), data, hora,
+                    DESCRICAO, "Agendada", "Funcionário", modelo.getAnimal());
+            Thread thread = new Thread(() -> {
+                pronto.countDown();
+                try {
+                    largada.await();
+                    service.salvarOuAtualizar(consulta);
+                    vencedores.incrementAndGet();
+                } catch (HorarioIndisponivelException e) {
+                    recusadas.incrementAndGet();
+                } catch (Throwable e) {
+                    synchronized (erros) {
+                        erros.add(e);
+                    }
+                }
+            }, "reserva-" + i);
+            lista.add(thread);
+            thread.start();
+        }
+        pronto.await();
+        largada.countDown();
+        for (Thread thread : lista) {
+            thread.join();
+        }
+
+        int gravadas = contar(modelo.getVeterinario().getId(), data, hora);
+        System.out.printf("%s %s: %d vencedor(es), %d recusada(s), %d erro(s), %d consulta(s) gravada(s)%n",
+                data, hora, vencedores.get(), recusadas.get(), erros.size(), gravadas);
+        for (Throwable erro : erros) {
+            erro.printStackTrace();
+        }
+        return vencedores.get() == 1 && recusadas.get() == threads - 1 && erros.isEmpty() && gravadas == 1;
+    }
+
+    /**
+     * Monta a consulta base com o primeiro veterinário e o primeiro animal cadastrados, em uma data em que
+     * o veterinário ainda não tem consultas de teste.
+     */
+    private static Consulta modelo() throws SQLException {
+        Connection conn = DB.getConnection();
+        try {
+            Veterinario veterinario = new Veterinario();
+            try (PreparedStatement st = conn.prepareStatement("SELECT MIN(id) AS id FROM veterinario");
+                 ResultSet rs = st.executeQuery()) {
+                rs.next();
+                veterinario.setId(rs.getInt("id"));
+                if (rs.wasNull()) {
+                    throw new IllegalStateException("Cadastre ao menos um veterinário antes do teste.");
+                }
+            }
+            Animal animal = new Animal();
+            Cliente cliente = new Cliente();
+            try (PreparedStatement st = conn.prepareStatement(
+                    "SELECT id, cliente_id FROM animais ORDER BY id LIMIT 1");
+                 ResultSet rs = st.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("Cadastre ao menos um animal antes do teste.");
+                }
+                animal.setId(rs.getInt("id"));
+                cliente.setId(rs.getInt("cliente_id"));
+            }
+            animal.setCliente(cliente);
+            return new Consulta(null, cliente, veterinario, LocalDate.now().plusYears(1), null, DESCRICAO,
+                    "Agendada", "Funcionário", animal);
+        } finally {
+            DB.closeConnection(conn);
+        }
+    }
+
+    private static int contar(Integer veterinarioId, LocalDate data, LocalTime hora) throws SQLException {
+        Connection conn = DB.getConnection();
+        String sql = "SELECT COUNT(*) FROM consulta WHERE veterinarioId = ? AND data = ? AND hora = ? AND descricao = ?";
+        try (PreparedStatement st = conn.prepareStatement(sql)) {
+            st.setInt(1, veterinarioId);
+            st.setDate(2, Date.valueOf(data));
+            st.setTime(3, Time.valueOf(hora));
+            st.setString(4, DESCRICAO);
+            try (ResultSet rs = st.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        } finally {
+            DB.closeConnection(conn);
+        }
+    }
+
+    /**
+     * Remove as consultas criadas pelo teste, no banco e na agenda em memória.
+     */
+    private static void limpar(Consulta modelo) throws SQLException {
+        Connection conn = DB.getConnection();
+        try {
+            List<Integer> ids = new ArrayList<>();
+            String sql = "SELECT id FROM consulta WHERE veterinarioId = ? AND data >= ? AND descricao = ?";
+            try (PreparedStatement st = conn.prepareStatement(sql)) {
+                st.setInt(1, modelo.getVeterinario().getId());
+                st.setDate(2, Date.valueOf(modelo.getData()));
+                st.setString(3, DESCRICAO);
+                try (ResultSet rs = st.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt("id"));
+                    }
+                }
+            }
+            try (PreparedStatement st = conn.prepareStatement("DELETE FROM consulta WHERE id = ?")) {
+                for (Integer id : ids) {
+                    st.setInt(1, id);
+                    st.executeUpdate();
+                    DisponibilidadeService.liberar(id);
+                }
+            }
+        } finally {
+            DB.closeConnection(conn);
+        }
+    }
+}